@@ -1,12 +1,16 @@
 package com.unilag.algorithm;
 
 import com.unilag.comparator.CDASComparator;
+import com.unilag.comparator.SCDASComparator;
 import com.unilag.fitness.ShiftBasedDensityEvaluator;
+import com.unilag.helper.PolynomialMutation;
 import org.moeaframework.algorithm.pso.AbstractPSOAlgorithm;
+import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.comparator.CrowdingComparator;
+import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
 import org.moeaframework.core.fitness.CrowdingDistanceFitnessEvaluator;
 import org.moeaframework.core.fitness.FitnessBasedArchive;
@@ -33,9 +37,29 @@ public class CDASPSO extends AbstractPSOAlgorithm {
     private double[] maximumVelocity;
 
     public CDASPSO(Problem problem, int swarmSize, int leaderSize, double mutationProbability, double distributionIndex, double userDefinedParameter) {
+        this(problem, swarmSize, leaderSize, mutationProbability, distributionIndex, userDefinedParameter,
+                new ShiftBasedDensityEvaluator());
+    }
+
+    /**
+     * Constructs a CDASPSO whose leaders are truncated with the supplied shift-based density evaluator,
+     * for example an {@link com.unilag.fitness.IncrementalShiftBasedDensityEvaluator}
+     */
+    public CDASPSO(Problem problem, int swarmSize, int leaderSize, double mutationProbability, double distributionIndex,
+                   double userDefinedParameter, FitnessEvaluator leaderEvaluator) {
+        this(problem, swarmSize, leaderSize, mutationProbability, distributionIndex,
+                new CDASComparator(userDefinedParameter), leaderEvaluator);
+    }
+
+    /**
+     * Constructs a CDASPSO whose leaders are compared with the supplied dominance comparator,
+     * for example a {@link SCDASComparator} whose geometry is refreshed every generation
+     */
+    public CDASPSO(Problem problem, int swarmSize, int leaderSize, double mutationProbability, double distributionIndex,
+                   DominanceComparator leaderDominance, FitnessEvaluator leaderEvaluator) {
         super(problem, swarmSize, leaderSize, new CrowdingComparator(),
                 new ParetoDominanceComparator(),
-                new FitnessBasedArchive(new ShiftBasedDensityEvaluator(), leaderSize, new CDASComparator(userDefinedParameter)),
+                new FitnessBasedArchive(leaderEvaluator, leaderSize, leaderDominance),
                 null,
                 new PM(mutationProbability, distributionIndex));
 
@@ -107,7 +131,22 @@ public class CDASPSO extends AbstractPSOAlgorithm {
         // but the JMetal implementation applies to every 6th particle.  Should
         // the application of mutation be random instead?
         if (i % 6 == 0) {
-            particles[i] = mutation.evolve(new Solution[] { particles[i] })[0];
+            if (mutation instanceof PM) {
+                // the particle is the copy made by updatePosition, not yet in any archive
+                PM pm = (PM)mutation;
+                PolynomialMutation.mutate(particles[i], pm.getProbability(), pm.getDistributionIndex());
+            } else {
+                particles[i] = mutation.evolve(new Solution[] { particles[i] })[0];
+            }
+        }
+    }
+
+    @Override
+    public void evaluateAll(Solution[] solutions) {
+        super.evaluateAll(solutions);
+
+        if (leaders.getComparator() instanceof SCDASComparator) {
+            ((SCDASComparator) leaders.getComparator()).update(leaders, solutions);
         }
     }
 }
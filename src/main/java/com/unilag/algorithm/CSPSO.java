@@ -1,24 +1,23 @@
 package com.unilag.algorithm;
 
 import com.unilag.comparator.CDASComparator;
+import com.unilag.comparator.SCDASComparator;
+import com.unilag.comparator.ShiftBasedDensityComparator;
 import com.unilag.comparator.WSumComparator;
 import com.unilag.fitness.DoubleComparatorArchive;
+import com.unilag.fitness.IncrementalShiftBasedDensityEvaluator;
+import com.unilag.fitness.NDTreeArchive;
 import com.unilag.fitness.ShiftBasedDensityEvaluator;
-import com.unilag.fitness.WSumFitnessEvaluator;
 import com.unilag.interfaces.AbstractPSO;
-import org.moeaframework.core.PRNG;
-import org.moeaframework.core.Population;
+import com.unilag.interfaces.LeaderSnapshot;
+import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
-import org.moeaframework.core.comparator.FitnessComparator;
+import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.operator.real.PM;
 import org.moeaframework.core.variable.EncodingUtils;
 import org.moeaframework.core.variable.RealVariable;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-
 /**
  * Extension of {@link org.moeaframework.algorithm.pso.SMPSO}, the speed-constrained multi-objective particle
  * swarm optimizer.
@@ -56,6 +55,21 @@ public class CSPSO extends AbstractPSO {
      */
     private double[] maximumVelocity;
 
+    /**
+     * The leaders sampled by each particle during a batch selection.
+     */
+    private int[] sampledLeaders;
+
+    /**
+     * The objectives of every particle, packed for a batch selection.
+     */
+    private double[] particleObjectives;
+
+    /**
+     * The weighted sums of the sampled leaders during a batch selection.
+     */
+    private double[] sampledScores;
+
     /**
      * @param problem the multi-objective problem to be optimized
      * @param swarmSize the size of the swarm
@@ -72,10 +86,56 @@ public class CSPSO extends AbstractPSO {
      * @see PM
      */
     public CSPSO(Problem problem, int swarmSize, int leaderSize, double mutationProbability, double distributionIndex, double userDefinedParameter) {
+        this(problem, swarmSize, leaderSize, mutationProbability, distributionIndex, userDefinedParameter,
+                new ShiftBasedDensityEvaluator());
+    }
+
+    /**
+     * @param problem the multi-objective problem to be optimized
+     * @param swarmSize the size of the swarm
+     * @param leaderSize the size of the leader's archive
+     * @param mutationProbability the probability this operator is applied to each solution particle
+     * @param distributionIndex The distribution index controls the shape of the offspring distribution.
+     * @param userDefinedParameter the CDAS user defined parameter
+     * @param leaderEvaluator the shift-based density evaluator used to truncate the leader's archive,
+     *                        for example an {@link IncrementalShiftBasedDensityEvaluator}
+     */
+    public CSPSO(Problem problem, int swarmSize, int leaderSize, double mutationProbability, double distributionIndex,
+                 double userDefinedParameter, FitnessEvaluator leaderEvaluator) {
+        this(problem, swarmSize, leaderSize, mutationProbability, distributionIndex,
+                new CDASComparator(userDefinedParameter), leaderEvaluator);
+    }
+
+    /**
+     * @param problem the multi-objective problem to be optimized
+     * @param swarmSize the size of the swarm
+     * @param leaderSize the size of the leader's archive
+     * @param mutationProbability the probability this operator is applied to each solution particle
+     * @param distributionIndex The distribution index controls the shape of the offspring distribution.
+     * @param leaderDominance the dominance comparator of the leader's archive, for example a
+     *                        {@link SCDASComparator} whose geometry is refreshed every generation
+     * @param leaderEvaluator the shift-based density evaluator used to truncate the leader's archive
+     */
+    public CSPSO(Problem problem, int swarmSize, int leaderSize, double mutationProbability, double distributionIndex,
+                 DominanceComparator leaderDominance, FitnessEvaluator leaderEvaluator) {
+        this(problem, swarmSize, leaderSize, mutationProbability, distributionIndex,
+                newLeaders(problem, leaderSize, leaderDominance, leaderEvaluator));
+    }
+
+    /**
+     * @param problem the multi-objective problem to be optimized
+     * @param swarmSize the size of the swarm
+     * @param leaderSize the size of the leader's archive
+     * @param mutationProbability the probability this operator is applied to each solution particle
+     * @param distributionIndex The distribution index controls the shape of the offspring distribution.
+     * @param leaders the empty leader's archive, truncated to {@code leaderSize} with
+     *                {@code ShiftBasedDensityComparator(true)}, for example an {@link NDTreeArchive}
+     */
+    public CSPSO(Problem problem, int swarmSize, int leaderSize, double mutationProbability, double distributionIndex,
+                 DoubleComparatorArchive leaders) {
         super(problem, swarmSize, leaderSize, new WSumComparator(true),
                 new WSumComparator(false),
-                new DoubleComparatorArchive(new ShiftBasedDensityEvaluator(),
-                        leaderSize, new CDASComparator(userDefinedParameter), new FitnessComparator(true)),
+                leaders,
                 null,
                 new PM(mutationProbability, distributionIndex));
 
@@ -92,31 +152,48 @@ public class CSPSO extends AbstractPSO {
         }
     }
 
+    /**
+     * Returns an empty leader's archive. Two-objective leaders are kept in an
+     * {@link NDTreeArchive}, whose sorted front finds the leaders a new leader
+     * must be compared with by binary search, and which keeps the same leaders
+     * as the linear scan of a {@link DoubleComparatorArchive}.
+     *
+     * @param problem the multi-objective problem to be optimized
+     * @param leaderSize the size of the leader's archive
+     * @param leaderDominance the dominance comparator of the leader's archive
+     * @param leaderEvaluator the shift-based density evaluator used to truncate the leader's archive
+     * @return an empty leader's archive
+     */
+    public static DoubleComparatorArchive newLeaders(Problem problem, int leaderSize,
+                                                     DominanceComparator leaderDominance,
+                                                     FitnessEvaluator leaderEvaluator) {
+        if (problem.getNumberOfObjectives() == 2) {
+            return new NDTreeArchive(leaderEvaluator, leaderSize, leaderDominance, new ShiftBasedDensityComparator(true));
+        } else {
+            return new DoubleComparatorArchive(leaderEvaluator, leaderSize, leaderDominance, new ShiftBasedDensityComparator(true));
+        }
+    }
+
     @Override
     public void initializePersonalBestArchive(int index) {
-        DoubleComparatorArchive doubleComparatorArchive = new DoubleComparatorArchive(new WSumFitnessEvaluator(particles[index]), 5);
-        localBestParticles.put(index, doubleComparatorArchive);
+        localBestParticles.reset(index, particles[index]);
     }
 
     @Override
-    protected void updateVelocity(int i) {
-        Solution particle = particles[i];
-        Solution localBestParticle = localBestParticles.get(i).getBest();
-        Solution leader = selectLeader(i);
-
-        double r1 = PRNG.nextDouble();
-        double r2 = PRNG.nextDouble();
-        double C1 = PRNG.nextDouble(1.5, 2.5);
-        double C2 = PRNG.nextDouble(1.5, 2.5);
-        double W = PRNG.nextDouble(0.1, 0.1);
+    protected void updateVelocity(int i, Solution localBestParticle, Solution leader) {
+        double r1 = nextDouble(i);
+        double r2 = nextDouble(i);
+        double C1 = nextDouble(i, 1.5, 2.5);
+        double C2 = nextDouble(i, 1.5, 2.5);
+        double W = nextDouble(i, 0.1, 0.1);
 
         for (int j = 0; j < problem.getNumberOfVariables(); j++) {
-            double particleValue = EncodingUtils.getReal(particle.getVariable(j));
+            double particleValue = getPosition(i, j);
             double localBestValue = EncodingUtils.getReal(localBestParticle.getVariable(j));
             double leaderValue = EncodingUtils.getReal(leader.getVariable(j));
 
             double velocity = constrictionCoefficient(C1, C2) *
-                    (W * velocities[i][j] +
+                    (W * getVelocity(i, j) +
                             C1*r1*(localBestValue - particleValue) +
                             C2*r2*(leaderValue - particleValue));
 
@@ -126,7 +203,7 @@ public class CSPSO extends AbstractPSO {
                 velocity = minimumVelocity[j];
             }
 
-            velocities[i][j] = velocity;
+            setVelocity(i, j, velocity);
         }
     }
 
@@ -153,32 +230,86 @@ public class CSPSO extends AbstractPSO {
         // but the JMetal implementation applies to every 6th particle.  Should
         // the application of mutation be random instead?
         if (i % 6 == 0) {
-            particles[i] = mutation.evolve(new Solution[] { particles[i] })[0];
+            super.mutate(i);
         }
     }
 
     /**
-     * Randomly select a leader.
+     * Randomly samples three leaders and selects the one with the largest
+     * weighted sum with respect to the particle, the first sampled on ties,
+     * as sorting them with {@code WSumComparator(true)} would. The weighted
+     * sums are read from the last {@link LeaderSnapshot} of the leaders and
+     * kept in local variables, so the selection takes no lock, allocates
+     * nothing and leaves the attributes of the shared leaders untouched.
      *
      * @param index the particle whose leader is being selected
      * @return the selected leader
      */
     @Override
     protected Solution selectLeader(int index) {
-        Solution leaderOne = leaders.get(PRNG.nextInt(leaders.size()));
-        Solution leaderTwo = leaders.get(PRNG.nextInt(leaders.size()));
-        Solution leaderThree = leaders.get(PRNG.nextInt(leaders.size()));
+        LeaderSnapshot snapshot = leaders.getSnapshot();
 
-        Solution[] solutions = {leaderOne, leaderTwo, leaderThree};
-        Population population = new Population(solutions);
+        int leaderOne = nextInt(index, snapshot.size());
+        int leaderTwo = nextInt(index, snapshot.size());
+        int leaderThree = nextInt(index, snapshot.size());
 
-        WSumFitnessEvaluator wSumFitnessEvaluator = new WSumFitnessEvaluator(particles[index]);
-        wSumFitnessEvaluator.evaluate(population);
+        Solution particle = particles[index];
+        int leader = leaderOne;
+        double weightedSum = snapshot.score(leaderOne, particle);
 
-        List<Solution> leadersList = new ArrayList<>(Arrays.asList(solutions));
-        leadersList.sort(leaderComparator::compare);
+        double weightedSumTwo = snapshot.score(leaderTwo, particle);
+        if (Double.compare(weightedSumTwo, weightedSum) > 0) {
+            leader = leaderTwo;
+            weightedSum = weightedSumTwo;
+        }
+
+        double weightedSumThree = snapshot.score(leaderThree, particle);
+        if (Double.compare(weightedSumThree, weightedSum) > 0) {
+            leader = leaderThree;
+        }
 
-        return leadersList.get(0);
+        return snapshot.get(leader);
+    }
+
+    /**
+     * Selects the leader of every particle as {@link #selectLeader(int)}
+     * does, drawing the same numbers, from a single snapshot of the leaders
+     * taken for the whole swarm. The sampled leaders of all the particles are
+     * scored in one pass over the normalized objectives of the snapshot.
+     *
+     * @param selected the array receiving the leader of each particle
+     */
+    @Override
+    protected void selectLeaders(Solution[] selected) {
+        LeaderSnapshot snapshot = leaders.getSnapshot();
+
+        int numberOfObjectives = problem.getNumberOfObjectives();
+        if (sampledLeaders == null || sampledLeaders.length < 3 * swarmSize) {
+            sampledLeaders = new int[3 * swarmSize];
+            sampledScores = new double[3 * swarmSize];
+            particleObjectives = new double[swarmSize * numberOfObjectives];
+        }
+
+        for (int i = 0; i < swarmSize; i++) {
+            for (int s = 3 * i; s < 3 * i + 3; s++) {
+                sampledLeaders[s] = nextInt(i, snapshot.size());
+            }
+            for (int j = 0; j < numberOfObjectives; j++) {
+                particleObjectives[i * numberOfObjectives + j] = particles[i].getObjective(j);
+            }
+        }
+
+        snapshot.scoreSampled(particleObjectives, swarmSize, sampledLeaders, 3, sampledScores);
+
+        for (int i = 0; i < swarmSize; i++) {
+            int leader = 3 * i;
+            for (int s = 3 * i + 1; s < 3 * i + 3; s++) {
+                if (Double.compare(sampledScores[s], sampledScores[leader]) > 0) {
+                    leader = s;
+                }
+            }
+            selected[i] = snapshot.get(sampledLeaders[leader]);
+        }
     }
 
     /**
@@ -199,4 +330,20 @@ public class CSPSO extends AbstractPSO {
         leaders.update();
         super.evaluateAll(solutions);
     }
+
+    /**
+     * Refreshes the geometry of an {@link SCDASComparator} from the leaders
+     * and the evaluated particles before merging them, once per generation or
+     * once per particle when evaluating asynchronously.
+     *
+     * @param solutions the evaluated particles
+     */
+    @Override
+    protected void updateArchives(Solution[] solutions) {
+        if (leaders.getComparator() instanceof SCDASComparator) {
+            ((SCDASComparator) leaders.getComparator()).update(leaders, solutions);
+        }
+
+        super.updateArchives(solutions);
+    }
 }
@@ -0,0 +1,475 @@
+package com.unilag.algorithm;
+
+import com.unilag.comparator.ShiftBasedDensityComparator;
+import org.moeaframework.algorithm.AbstractAlgorithm;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An island model of {@link CSPSO}: several independent swarms run on their
+ * own threads and exchange their best leaders every few generations over a
+ * {@link Topology}, and the result merges the leaders of all the swarms.
+ *
+ * Every swarm runs epochs of {@code migrationInterval} generations. At the
+ * end of an epoch, it sends copies of its least crowded leaders, on the
+ * shift-based density, to the inboxes of its neighbours; at the start of
+ * every generation, it merges the leaders waiting in its own inbox. Neither
+ * sending nor receiving waits for another swarm, so a fast swarm runs ahead
+ * of the others and merges their migrants whenever they arrive.
+ *
+ * The swarms draw from a shared evaluation budget: a swarm claims the
+ * evaluations of a generation from the budget before running it, and stops
+ * once the budget cannot cover a generation. The algorithm terminates when
+ * every swarm has stopped. A step waits for the next epoch of any swarm to
+ * complete, and {@link #getNumberOfEvaluations()} counts the evaluations of
+ * all the swarms.
+ *
+ * As the swarms run concurrently and migrants arrive at any time, seeded runs
+ * are not reproducible. The swarms must evaluate a generation at a time, so
+ * asynchronous swarms are not supported.
+ */
+public class CSPSOIslands extends AbstractAlgorithm {
+
+    /**
+     * The swarms a swarm sends its migrants to.
+     */
+    public enum Topology {
+
+        /**
+         * Each swarm sends its migrants to the next swarm.
+         */
+        RING,
+
+        /**
+         * Each swarm sends its migrants to all the other swarms.
+         */
+        FULL,
+
+        /**
+         * Each swarm sends its migrants to another swarm drawn at random at
+         * every migration.
+         */
+        RANDOM
+    }
+
+    /**
+     * The default number of generations between two migrations.
+     */
+    public static final int DEFAULT_MIGRATION_INTERVAL = 10;
+
+    /**
+     * The default number of leaders sent by a swarm at every migration.
+     */
+    public static final int DEFAULT_MIGRATION_SIZE = 5;
+
+    /**
+     * The swarms.
+     */
+    private final CSPSO[] islands;
+
+    /**
+     * The swarms a swarm sends its migrants to.
+     */
+    private final Topology topology;
+
+    /**
+     * The number of generations between two migrations.
+     */
+    private final int migrationInterval;
+
+    /**
+     * The number of leaders sent by a swarm at every migration.
+     */
+    private final int migrationSize;
+
+    /**
+     * The migrants waiting to be merged by each swarm.
+     */
+    private final List<Queue<Solution[]>> inboxes;
+
+    /**
+     * The random numbers drawing the neighbours of each swarm in a random topology.
+     */
+    private final Random[] randoms;
+
+    /**
+     * The evaluations left in the shared budget.
+     */
+    private final AtomicLong remainingEvaluations;
+
+    /**
+     * The evaluations of all the swarms.
+     */
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    /**
+     * The number of migrants merged by all the swarms.
+     */
+    private final AtomicLong immigrants = new AtomicLong();
+
+    /**
+     * {@code true} for the swarms running an epoch.
+     */
+    private final boolean[] running;
+
+    /**
+     * {@code true} for the swarms stopped by the budget.
+     */
+    private final boolean[] exhausted;
+
+    /**
+     * The number of swarms running an epoch.
+     */
+    private int runningCount;
+
+    /**
+     * {@code true} once every swarm is stopped by the budget.
+     */
+    private boolean budgetExhausted;
+
+    /**
+     * The threads running the swarms, created on the first step.
+     */
+    private ExecutorService executor;
+
+    /**
+     * The epochs of the swarms, in their order of completion.
+     */
+    private ExecutorCompletionService<Integer> completions;
+
+    /**
+     * Constructs an island model of the swarms without an evaluation budget.
+     *
+     * @param problem the multi-objective problem to be optimized
+     * @param islands the swarms, each with its own instance of the problem
+     *        unless the problem may be evaluated concurrently
+     * @param topology the swarms a swarm sends its migrants to
+     * @param migrationInterval the number of generations between two migrations
+     * @param migrationSize the number of leaders sent by a swarm at every migration
+     */
+    public CSPSOIslands(Problem problem, CSPSO[] islands, Topology topology, int migrationInterval,
+                        int migrationSize) {
+        this(problem, islands, topology, migrationInterval, migrationSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructs an island model of the swarms sharing an evaluation budget.
+     *
+     * @param problem the multi-objective problem to be optimized
+     * @param islands the swarms, each with its own instance of the problem
+     *        unless the problem may be evaluated concurrently
+     * @param topology the swarms a swarm sends its migrants to
+     * @param migrationInterval the number of generations between two migrations
+     * @param migrationSize the number of leaders sent by a swarm at every migration
+     * @param maxEvaluations the evaluation budget shared by the swarms
+     * @throws IllegalArgumentException if there is no swarm, a swarm is
+     *         asynchronous, or the migration interval is not positive
+     */
+    public CSPSOIslands(Problem problem, CSPSO[] islands, Topology topology, int migrationInterval,
+                        int migrationSize, long maxEvaluations) {
+        super(problem);
+
+        if (islands.length == 0) {
+            throw new IllegalArgumentException("no island");
+        }
+        for (CSPSO island : islands) {
+            if (island.isAsynchronous()) {
+                throw new IllegalArgumentException("asynchronous islands are not supported");
+            }
+        }
+        if (topology == null) {
+            throw new IllegalArgumentException("topology is null");
+        }
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("migration interval must be positive");
+        }
+        if (migrationSize < 0) {
+            throw new IllegalArgumentException("migration size is negative");
+        }
+
+        this.islands = islands.clone();
+        this.topology = topology;
+        this.migrationInterval = migrationInterval;
+        this.migrationSize = migrationSize;
+        this.remainingEvaluations = new AtomicLong(maxEvaluations);
+
+        inboxes = new ArrayList<>();
+        randoms = new Random[islands.length];
+        for (int k = 0; k < islands.length; k++) {
+            inboxes.add(new ConcurrentLinkedQueue<>());
+            randoms[k] = new Random(PRNG.getRandom().nextLong());
+        }
+
+        running = new boolean[islands.length];
+        exhausted = new boolean[islands.length];
+    }
+
+    public int getNumberOfIslands() {
+        return islands.length;
+    }
+
+    public CSPSO getIsland(int k) {
+        return islands[k];
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Returns the number of migrants merged by all the swarms.
+     *
+     * @return the number of migrants merged by all the swarms
+     */
+    public long getNumberOfImmigrants() {
+        return immigrants.get();
+    }
+
+    @Override
+    public int getNumberOfEvaluations() {
+        return evaluations.get();
+    }
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(islands.length, runnable -> {
+            Thread thread = new Thread(runnable, "cspso-island-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        completions = new ExecutorCompletionService<>(executor);
+
+        iterate();
+    }
+
+    /**
+     * Starts the next epoch of the swarms not running one, then waits for
+     * the epoch of any swarm to complete.
+     */
+    @Override
+    protected void iterate() {
+        for (int k = 0; k < islands.length; k++) {
+            if (!running[k] && !exhausted[k]) {
+                int island = k;
+                running[k] = true;
+                runningCount++;
+                completions.submit(() -> runEpoch(island));
+            }
+        }
+
+        if (runningCount == 0) {
+            budgetExhausted = true;
+        } else {
+            awaitEpoch();
+        }
+    }
+
+    /**
+     * Runs an epoch of swarm k on the thread of the swarm.
+     *
+     * @param k the index of the swarm
+     * @return the index of the swarm
+     */
+    private Integer runEpoch(int k) {
+        CSPSO island = islands[k];
+
+        for (int generation = 0; generation < migrationInterval; generation++) {
+            if (!claim(island.getSwarmSize())) {
+                exhausted[k] = true;
+                break;
+            }
+
+            if (island.isInitialized()) {
+                immigrate(k);
+            }
+
+            int islandEvaluations = island.getNumberOfEvaluations();
+            island.step();
+            evaluations.addAndGet(island.getNumberOfEvaluations() - islandEvaluations);
+        }
+
+        if (island.isInitialized()) {
+            emigrate(k);
+        }
+        return k;
+    }
+
+    /**
+     * Claims the evaluations of a generation from the shared budget.
+     */
+    private boolean claim(int generationEvaluations) {
+        while (true) {
+            long remaining = remainingEvaluations.get();
+            if (remaining < generationEvaluations) {
+                return false;
+            }
+            if (remainingEvaluations.compareAndSet(remaining, remaining - generationEvaluations)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Merges the migrants waiting in the inbox of swarm k into its leaders.
+     */
+    private void immigrate(int k) {
+        List<Solution> migrants = new ArrayList<>();
+        for (Solution[] batch = inboxes.get(k).poll(); batch != null; batch = inboxes.get(k).poll()) {
+            for (Solution migrant : batch) {
+                migrants.add(migrant);
+            }
+        }
+
+        if (!migrants.isEmpty()) {
+            islands[k].addLeaders(migrants.toArray(new Solution[migrants.size()]));
+            immigrants.addAndGet(migrants.size());
+        }
+    }
+
+    /**
+     * Sends copies of the least crowded leaders of swarm k to its neighbours.
+     */
+    private void emigrate(int k) {
+        int[] neighbours = getNeighbours(k);
+        if (migrationSize == 0 || neighbours.length == 0 || islands[k].getLeaderArchive().isEmpty()) {
+            return;
+        }
+
+        Population leaders = new Population(islands[k].getLeaderArchive());
+        leaders.sort(new ShiftBasedDensityComparator(true));
+        int size = Math.min(migrationSize, leaders.size());
+
+        for (int neighbour : neighbours) {
+            Solution[] migrants = new Solution[size];
+            for (int m = 0; m < size; m++) {
+                migrants[m] = leaders.get(m).copy();
+            }
+            inboxes.get(neighbour).offer(migrants);
+        }
+    }
+
+    /**
+     * Returns the swarms swarm k sends its migrants to, drawing them at
+     * random in a random topology.
+     *
+     * @param k the index of the swarm
+     * @return the swarms swarm k sends its migrants to
+     */
+    int[] getNeighbours(int k) {
+        int numberOfIslands = islands.length;
+        if (numberOfIslands == 1) {
+            return new int[0];
+        }
+
+        switch (topology) {
+            case RING:
+                return new int[] {(k + 1) % numberOfIslands};
+            case FULL:
+                int[] neighbours = new int[numberOfIslands - 1];
+                for (int j = 0; j < neighbours.length; j++) {
+                    neighbours[j] = j < k ? j : j + 1;
+                }
+                return neighbours;
+            default:
+                int neighbour = randoms[k].nextInt(numberOfIslands - 1);
+                return new int[] {neighbour < k ? neighbour : neighbour + 1};
+        }
+    }
+
+    /**
+     * Waits for the epoch of any swarm to complete.
+     */
+    private void awaitEpoch() {
+        try {
+            Future<Integer> future = completions.take();
+            runningCount--;
+            running[future.get()] = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("interrupted while waiting for an island", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new FrameworkException(e.getCause());
+        }
+    }
+
+    /**
+     * Waits for the epochs of all the swarms to complete.
+     */
+    private void drainEpochs() {
+        while (runningCount > 0) {
+            awaitEpoch();
+        }
+    }
+
+    /**
+     * Returns the non-dominated leaders of all the swarms, once their
+     * running epochs complete.
+     */
+    @Override
+    public NondominatedPopulation getResult() {
+        drainEpochs();
+
+        NondominatedPopulation result = new NondominatedPopulation();
+        for (CSPSO island : islands) {
+            if (island.isInitialized()) {
+                result.addAll(island.getResult());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@code true} once terminated or once every swarm is stopped
+     * by the budget.
+     */
+    @Override
+    public boolean isTerminated() {
+        return super.isTerminated() || budgetExhausted;
+    }
+
+    @Override
+    public void terminate() {
+        drainEpochs();
+
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+
+        for (CSPSO island : islands) {
+            if (!island.isTerminated()) {
+                island.terminate();
+            }
+            if (island.getProblem() != problem) {
+                island.getProblem().close();
+            }
+        }
+
+        super.terminate();
+    }
+}
@@ -1,5 +1,6 @@
 package com.unilag.comparator;
 
+import org.moeaframework.core.Solution;
 import org.moeaframework.core.comparator.AggregateConstraintComparator;
 import org.moeaframework.core.comparator.ChainedComparator;
 
@@ -39,13 +40,49 @@ public class CDASComparator extends ChainedComparator {
      */
     private double delta;
 
+    /**
+     * The CDAS objective comparator.
+     */
+    private final CDASObjectiveComparator objectiveComparator;
+
     /**
      * Constructs a CDAS dominance comparator.
      * @param delta CDAS requires a user defined parameter
      */
     public CDASComparator(double delta) {
-        super(new AggregateConstraintComparator(), new CDASObjectiveComparator(delta));
+        this(delta, new CDASObjectiveComparator(delta));
+    }
+
+    private CDASComparator(double delta, CDASObjectiveComparator objectiveComparator) {
+        super(new AggregateConstraintComparator(), objectiveComparator);
         this.delta = delta;
+        this.objectiveComparator = objectiveComparator;
+    }
+
+    /**
+     * Returns the CDAS-transformed objectives of a solution. Feasible
+     * solutions are compared by Pareto dominance on these values, which lets
+     * archives index them spatially. The returned array may be cached on the
+     * solution and must not be modified. Unlike
+     * {@link #cacheModifiedObjectives(Solution)}, the solution is not changed.
+     *
+     * @param solution the solution
+     * @return the CDAS-transformed objectives of the solution
+     */
+    public double[] getModifiedObjectives(Solution solution) {
+        return objectiveComparator.getModifiedFitnessValue(solution);
+    }
+
+    /**
+     * Caches the CDAS-transformed objectives on the solution, so later
+     * comparisons do not compute them again. Archives call this when a
+     * solution is added, before it is compared from several threads.
+     *
+     * @param solution the solution
+     * @return the CDAS-transformed objectives of the solution
+     */
+    public double[] cacheModifiedObjectives(Solution solution) {
+        return objectiveComparator.cacheModifiedFitnessValue(solution);
     }
 
     public double getDelta() {
@@ -55,4 +92,8 @@ public class CDASComparator extends ChainedComparator {
     public void setDelta(double delta) {
         this.delta = delta;
     }
+
+    public CDASObjectiveComparator getObjectiveComparator() {
+        return objectiveComparator;
+    }
 }
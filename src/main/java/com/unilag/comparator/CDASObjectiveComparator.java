@@ -10,13 +10,25 @@ public class CDASObjectiveComparator implements DominanceComparator, Comparator<
 
     private static final long serialVersionUID = 7572746976131192952L;
 
+    /**
+     * Attribute key for the cached CDAS-transformed objectives of a solution.
+     */
+    public static final String CDAS_OBJECTIVES_ATTRIBUTE = "cdasObjectives";
+
     private double userDefinedParameter;
 
+    /**
+     * cot(φ) where φ = π * userDefinedParameter.
+     */
+    private final double cotangentPhi;
+
     public CDASObjectiveComparator (double userDefinedParameter) {
         if(userDefinedParameter <= 0 || userDefinedParameter >=1) {
             throw new IllegalArgumentException("Illegal arguments supplied");
         }
         this.userDefinedParameter = userDefinedParameter;
+        double phiAngle = Math.PI * userDefinedParameter;
+        this.cotangentPhi = Math.cos(phiAngle) / Math.sin(phiAngle);
     }
 
     /**
@@ -63,28 +75,108 @@ public class CDASObjectiveComparator implements DominanceComparator, Comparator<
     }
 
     /**
-     * Compares the two solutions using a CDAS dominance relation, returning
-     * {@code -1} if {@code firstSolution} dominates {@code secondSolution}, {@code 1} if
-     * {@code secondSolution} dominates {@code firstSolution}, and {@code 0} if the
-     * solutions are non-dominated.
+     * Returns the CDAS-transformed objectives of a particle, computing them
+     * only if the cached ones were made for another user defined parameter
+     * or for other objective values. Nothing is stored on the particle, so
+     * this can be called from several threads; use
+     * {@link #cacheModifiedFitnessValue(Solution)} to cache the values.
+     *
+     * The transformation of Sato et al. is
+     * f′(j) = r * sin(ω(j) + φ) / sin(φ), where r is the norm of the objective
+     * vector, ω(j) = acos(f(j) / r) and φ = π * S. Expanding the sine gives the
+     * trig-free closed form f′(j) = f(j) + cot(φ) * sqrt(r² - f(j)²), which
+     * only needs one square root per objective.
      *
-     * @param particle the first solution
-     * @return {@link Double[]}, the modified fitness values for this particle with
-     *                           {@link CDASObjectiveComparator#userDefinedParameter} parameter
+     * @param particle the particle
+     * @return the modified fitness values for this particle with
+     *         {@link CDASObjectiveComparator#userDefinedParameter} parameter
+     */
+    double[] getModifiedFitnessValue(Solution particle) {
+        Object cached = particle.getAttribute(CDAS_OBJECTIVES_ATTRIBUTE);
+        if (cached instanceof CDASObjectives && ((CDASObjectives) cached).isFor(particle, userDefinedParameter)) {
+            return ((CDASObjectives) cached).modified;
+        }
+
+        return computeModifiedFitnessValue(particle).modified;
+    }
+
+    /**
+     * Caches the CDAS-transformed objectives of a particle as its
+     * {@link #CDAS_OBJECTIVES_ATTRIBUTE} attribute, unless the cached ones
+     * are still valid. This modifies the particle, so it must not run while
+     * another thread compares the particle.
+     *
+     * @param particle the particle
+     * @return the modified fitness values for this particle
+     */
+    public double[] cacheModifiedFitnessValue(Solution particle) {
+        Object cached = particle.getAttribute(CDAS_OBJECTIVES_ATTRIBUTE);
+        if (cached instanceof CDASObjectives && ((CDASObjectives) cached).isFor(particle, userDefinedParameter)) {
+            return ((CDASObjectives) cached).modified;
+        }
+
+        // a new cache entry is set since solution copies share their attribute values
+        CDASObjectives computed = computeModifiedFitnessValue(particle);
+        particle.setAttribute(CDAS_OBJECTIVES_ATTRIBUTE, computed);
+        return computed.modified;
+    }
+
+    /**
+     * Computes the CDAS-transformed objectives of a particle.
      */
-    private double[] getModifiedFitnessValue(Solution particle) {
+    private CDASObjectives computeModifiedFitnessValue(Solution particle) {
         int objectiveCount = particle.getNumberOfObjectives();
-        double vectorSum = 0;
+        double[] objectives = new double[objectiveCount];
         double[] cdasFitnessAttribute = new double[objectiveCount];
+        double vectorSum = 0;
         for (int i = 0; i < objectiveCount; i++) {
-            vectorSum += Math.pow(particle.getObjective(i), 2);
+            objectives[i] = particle.getObjective(i);
+            vectorSum += objectives[i] * objectives[i];
+        }
+        for (int j = 0; j < objectiveCount; j++) {
+            double orthogonalSum = Math.max(0, vectorSum - objectives[j] * objectives[j]);
+            cdasFitnessAttribute[j] = objectives[j] + cotangentPhi * Math.sqrt(orthogonalSum);
         }
-        double vectorNorm = Math.sqrt(vectorSum);
-        for(int j = 0; j < objectiveCount; j++) {
-            double omegaAngle = Math.acos(particle.getObjective(j)/vectorNorm);
-            double phiAngle = Math.PI * userDefinedParameter;
-            cdasFitnessAttribute[j] =  (vectorNorm * Math.sin(phiAngle + omegaAngle))/Math.sin(phiAngle);
+
+        return new CDASObjectives(userDefinedParameter, objectives, cdasFitnessAttribute);
+    }
+
+    /**
+     * The CDAS-transformed objectives of a solution, along with the user
+     * defined parameter and the objective values they were computed from.
+     * Instances are never modified once cached.
+     */
+    private static class CDASObjectives implements Serializable {
+
+        private static final long serialVersionUID = -2385174929046719154L;
+
+        private final double userDefinedParameter;
+
+        private final double[] objectives;
+
+        private final double[] modified;
+
+        CDASObjectives(double userDefinedParameter, double[] objectives, double[] modified) {
+            this.userDefinedParameter = userDefinedParameter;
+            this.objectives = objectives;
+            this.modified = modified;
+        }
+
+        /**
+         * Returns {@code true} if these values were computed for the
+         * particle's current objectives and the user defined parameter.
+         */
+        boolean isFor(Solution particle, double parameter) {
+            if (Double.compare(userDefinedParameter, parameter) != 0
+                    || objectives.length != particle.getNumberOfObjectives()) {
+                return false;
+            }
+            for (int i = 0; i < objectives.length; i++) {
+                if (Double.compare(objectives[i], particle.getObjective(i)) != 0) {
+                    return false;
+                }
+            }
+            return true;
         }
-        return  cdasFitnessAttribute;
     }
 }
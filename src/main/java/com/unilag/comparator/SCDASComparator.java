@@ -0,0 +1,77 @@
+package com.unilag.comparator;
+
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
+import org.moeaframework.core.comparator.ChainedComparator;
+
+/**
+ * "The self-controlling dominance area of solutions chooses an appropriate
+ * degree of expansion or contraction of the dominance area for each solution
+ * without a user-defined parameter S, based on the locations of the extreme
+ * solutions of the current population."
+ *
+ * References:
+ * <ol>
+ *   <li>Sato, H., Aguirre, H. E., & Tanaka, K. (2010).
+ *       Self-Controlling Dominance Area of Solutions in Evolutionary Many-Objective Optimization.
+ *       In Simulated Evolution and Learning (pp. 455-465). Berlin Heidelberg: Springer.
+ *   </li>
+ * </ol>
+ *
+ * Extend ChainedDominance, as {@link CDASComparator} does, to incorporate the
+ * ConstraintViolation comparison. The geometry of the
+ * {@link SCDASObjectiveComparator} must be refreshed once per generation with
+ * {@link #update(Iterable)}, before the new particles are added to the leaders.
+ */
+public class SCDASComparator extends ChainedComparator {
+
+    private static final long serialVersionUID = -3364226870283651893L;
+
+    /**
+     * The S-CDAS objective comparator.
+     */
+    private final SCDASObjectiveComparator objectiveComparator;
+
+    /**
+     * Constructs an S-CDAS dominance comparator.
+     * @param delta small value in calculating the origin and the landmarks
+     */
+    public SCDASComparator(double delta) {
+        this(new SCDASObjectiveComparator(delta));
+    }
+
+    private SCDASComparator(SCDASObjectiveComparator objectiveComparator) {
+        super(new AggregateConstraintComparator(), objectiveComparator);
+        this.objectiveComparator = objectiveComparator;
+    }
+
+    /**
+     * Refreshes the geometry from the population.
+     *
+     * @param population the solutions compared until the next update
+     */
+    public void update(Iterable<? extends Solution> population) {
+        objectiveComparator.update(population);
+    }
+
+    /**
+     * Refreshes the geometry from the leaders and the newly evaluated particles.
+     *
+     * @param leaders the current leaders
+     * @param particles the newly evaluated particles
+     */
+    public void update(Iterable<? extends Solution> leaders, Solution[] particles) {
+        Population population = new Population(leaders);
+        population.addAll(particles);
+        objectiveComparator.update(population);
+    }
+
+    public double getDelta() {
+        return objectiveComparator.getDelta();
+    }
+
+    public SCDASObjectiveComparator getObjectiveComparator() {
+        return objectiveComparator;
+    }
+}
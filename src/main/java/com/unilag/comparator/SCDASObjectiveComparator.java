@@ -4,140 +4,184 @@ import org.moeaframework.core.Solution;
 import org.moeaframework.core.comparator.DominanceComparator;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 
+/**
+ * Self-controlling dominance area of solutions (S-CDAS). Unlike CDAS, whose
+ * angle φ is fixed by a user-defined parameter, every solution x controls its
+ * own dominance area with one angle φ(i, x) per objective, chosen so that the
+ * boundary of the area passes through the landmark of that objective.
+ *
+ * References:
+ * <ol>
+ *   <li>Sato, H., Aguirre, H. E., & Tanaka, K. (2010).
+ *       Self-Controlling Dominance Area of Solutions in Evolutionary Many-Objective Optimization.
+ *       In Simulated Evolution and Learning (pp. 455-465). Berlin Heidelberg: Springer.
+ *   </li>
+ * </ol>
+ *
+ * Geometry, refreshed once per generation by {@link #update(Iterable)} in O(N·M):
+ * <ol>
+ *   <li>Modified origin: o(i) = min(i) - delta</li>
+ *   <li>Landmark of objective i: the point on axis i at max(i) - delta,
+ *       that is at distance l(i) = max(i) - min(i) from the modified origin</li>
+ *   <li>For each solution, relative to the modified origin: x(i) = f(i) - o(i),
+ *       r = |x| and h(i) = sqrt(r² - x(i)²), its distance to axis i</li>
+ *   <li>The law of sines in the triangle (origin, x, landmark) gives
+ *       cot(φ(i, x)) = (l(i) - x(i)) / h(i)</li>
+ * </ol>
+ *
+ * The CDAS transformation of y under the angles of x is
+ * f′(i) = y(i) + cot(φ(i, x)) * h(i, y), so x dominates y when
+ * x(i) + cot(φ(i, x)) * h(i, x) ≤ y(i) + cot(φ(i, x)) * h(i, y) for every
+ * objective and strictly for one. Solutions on an axis or a degenerate
+ * objective keep φ = 90°, that is Pareto dominance on that objective.
+ *
+ * The per-solution values are stored in primitive arrays, so {@link #compare}
+ * runs in O(M) without trigonometry or allocation. Solutions not seen by the
+ * last {@link #update(Iterable)} are measured on the fly against the current
+ * geometry. Instances are not thread-safe.
+ */
 public class SCDASObjectiveComparator implements DominanceComparator, Comparator<Solution>, Serializable {
 
     private static final long serialVersionUID = 7786775961720339760L;
 
+    /**
+     * Small value in calculating the origin and the landmarks.
+     */
+    private final double delta;
+
+    private double[] modifiedOrigin = new double[0];
+
+    private double[][] landmarkVectors = new double[0][0];
+
+    /**
+     * The distance l(i) of each landmark from the modified origin.
+     */
+    private double[] landmarkDistances = new double[0];
+
+    private int numberOfObjectives;
 
     /**
-     * Attribute key for the CDAS value of a solution.
+     * The row of each solution seen by the last update.
      */
-    public static final String SCDAS_FITNESS_ATTRIBUTE = "scdas";
+    private transient IdentityHashMap<Solution, Integer> rows = new IdentityHashMap<>();
 
-    private double[] modifiedOrigin;
+    /**
+     * x(i), h(i) and cot(φ(i, x)) of each solution, {@code numberOfObjectives} values per row.
+     */
+    private double[] shifted = new double[0];
 
-    private double[][] landmarkVectors;
+    private double[] heights = new double[0];
 
-    private double[][] phiAngle;
+    private double[] cotangents = new double[0];
 
-    SCDASObjectiveComparator(Solution[] particles, double delta) {
-        /**
-         * STEP ONE
-         * */
-        int objectiveCount = particles[0].getNumberOfObjectives();
-        modifiedOrigin = new double[objectiveCount];
-        for(int i = 0; i < objectiveCount; i++) {
-            double minValue = particles[0].getObjective(i);
-            for(Solution particle : particles) {
-                if(particle.getObjective(i) < minValue) {
-                    minValue = particle.getObjective(i);
-                }
+    /**
+     * Two rows of scratch space for solutions not seen by the last update.
+     */
+    private double[] scratchShifted = new double[0];
+
+    private double[] scratchHeights = new double[0];
+
+    private double[] scratchCotangents = new double[0];
+
+    /**
+     * Constructs an S-CDAS dominance comparator. Until {@link #update(Iterable)}
+     * is called, it behaves as Pareto dominance.
+     *
+     * @param delta small value in calculating the origin and the landmarks
+     */
+    public SCDASObjectiveComparator(double delta) {
+        this.delta = delta;
+    }
+
+    /**
+     * Constructs an S-CDAS dominance comparator for the particles.
+     *
+     * @param particles the particles defining the geometry
+     * @param delta small value in calculating the origin and the landmarks
+     */
+    public SCDASObjectiveComparator(Solution[] particles, double delta) {
+        this(delta);
+        update(Arrays.asList(particles));
+    }
+
+    /**
+     * Refreshes the modified origin, the landmarks and the angles of every
+     * solution of the population in O(N·M).
+     *
+     * @param population the solutions compared until the next update
+     */
+    public void update(Iterable<? extends Solution> population) {
+        rows().clear();
+        numberOfObjectives = 0;
+
+        int size = 0;
+        for (Solution solution : population) {
+            if (size == 0) {
+                numberOfObjectives = solution.getNumberOfObjectives();
+                modifiedOrigin = new double[numberOfObjectives];
+                landmarkDistances = new double[numberOfObjectives];
+                Arrays.fill(modifiedOrigin, Double.POSITIVE_INFINITY);
+                Arrays.fill(landmarkDistances, Double.NEGATIVE_INFINITY);
+            }
+            for (int i = 0; i < numberOfObjectives; i++) {
+                modifiedOrigin[i] = Math.min(modifiedOrigin[i], solution.getObjective(i));
+                landmarkDistances[i] = Math.max(landmarkDistances[i], solution.getObjective(i));
             }
-            modifiedOrigin[i] = minValue - delta;
+            size++;
         }
-        /**
-         * STEP TWO
+
+        /*
+         * STEP ONE and TWO
          * */
-        landmarkVectors = new double[objectiveCount][objectiveCount];
-        for(int i = 0; i < objectiveCount; i++) {
-            double maxValue = particles[0].getObjective(i);
-            for(Solution particle : particles) {
-                if(particle.getObjective(i) > maxValue) {
-                    maxValue = particle.getObjective(i);
-                }
-            }
-            for(int j = 0; j < objectiveCount; j++){
-                if(j != i) {
-                    landmarkVectors[i][j] = 0;
-                } else {
-                    landmarkVectors[i][j] = maxValue - delta;
-                }
-            }
+        landmarkVectors = new double[numberOfObjectives][numberOfObjectives];
+        for (int i = 0; i < numberOfObjectives; i++) {
+            landmarkVectors[i][i] = landmarkDistances[i] - delta;
+            landmarkDistances[i] = landmarkDistances[i] - modifiedOrigin[i];
+            modifiedOrigin[i] = modifiedOrigin[i] - delta;
         }
-        /**
+
+        /*
          * STEP THREE
          * */
-        phiAngle = new double[particles.length][objectiveCount];
-        for(int z = 0; z < particles.length; z++) {
-            Solution particle = particles[z];
-            for(int i = 0; i < objectiveCount; i++) {
-                //log.info("Phi angle for Particle:Objective - " + z + ":" +i);
-                double x = particle.getObjective(i);
-                //log.info("Objective value: " +x);
-                double lsum = 0;
-                for(int j = 0; j < objectiveCount; j++) {
-                    lsum += Math.pow(particle.getObjective(i) - landmarkVectors[i][j], 2);
-                }
-                double distanceToLandmarkVector = Math.sqrt(lsum);
-                //log.info("Distance to landmark vector: " + distanceToLandmarkVector);
-                double rsum = 0;
-                for(int k = 0; k < objectiveCount; k++) {
-                    rsum += Math.pow(particle.getObjective(k), 2);
-                }
-                double distanceFromOrigin = Math.sqrt(rsum);
-                //log.info("Distance from origin: " + distanceFromOrigin);
-                double omegaAngle = Math.toDegrees(Math.acos(x/distanceFromOrigin));
-                //log.info("Omega angle: " + omegaAngle);
-                double radianOmegaAngle = Math.toRadians(omegaAngle);
-                double sineOmega = Math.sin(radianOmegaAngle);
-                double radianPhi = Math.asin((distanceFromOrigin * sineOmega)/distanceToLandmarkVector);
-                phiAngle[z][i] = Math.toDegrees(radianPhi);
-                //log.info("Phi angle: " + phiAngle[z][i]);
-            }
-            for(Solution innerParticle : particles) {
-                if(innerParticle != particle) {
-                    double[] cdasFitnessAttribute = new double[objectiveCount];
-                    double innerRsum = 0;
-                    for(int l = 0; l < objectiveCount; l++) {
-                        innerRsum += Math.pow(particle.getObjective(l), 2);
-                    }
-                    double innerDistanceFromOrigin = Math.sqrt(innerRsum);
-                    for(int m = 0; m < objectiveCount; m++) {
-                        double y = innerParticle.getObjective(m);
-                        double innerOmegaAngle = Math.acos(y/innerDistanceFromOrigin);
-                        double innerCdas;
-                        if(Double.isNaN(innerOmegaAngle) || Double.isNaN(phiAngle[z][m]) || phiAngle[z][m] == 0) {
-                            innerCdas = y;
-                        } else {
-                            innerCdas = (y * Math.sin(innerOmegaAngle + phiAngle[z][m])) / Math.sin(phiAngle[z][m]);
-                        }
-                        cdasFitnessAttribute[m] = innerCdas;
-                    }
-                    innerParticle.setAttribute(SCDAS_FITNESS_ATTRIBUTE, cdasFitnessAttribute);
-                }
-            }
+        int length = size * numberOfObjectives;
+        if (shifted.length < length) {
+            shifted = new double[length];
+            heights = new double[length];
+            cotangents = new double[length];
+        }
+        if (scratchShifted.length < 2 * numberOfObjectives) {
+            scratchShifted = new double[2 * numberOfObjectives];
+            scratchHeights = new double[2 * numberOfObjectives];
+            scratchCotangents = new double[2 * numberOfObjectives];
         }
 
+        int row = 0;
+        for (Solution solution : population) {
+            if (!rows.containsKey(solution)) {
+                measure(solution, shifted, heights, cotangents, row * numberOfObjectives);
+                rows.put(solution, row++);
+            }
+        }
     }
 
     public double[] getModifiedOrigin() {
         return modifiedOrigin;
     }
 
-    public void setModifiedOrigin(double[] modifiedOrigin) {
-        this.modifiedOrigin = modifiedOrigin;
-    }
-
     public double[][] getLandmarkVectors() {
         return landmarkVectors;
     }
 
-    public void setLandmarkVectors(double[][] landmarkVectors) {
-        this.landmarkVectors = landmarkVectors;
-    }
-
-    public double[][] getPhiAngle() {
-        return phiAngle;
-    }
-
-    public void setPhiAngle(double[][] phiAngle) {
-        this.phiAngle = phiAngle;
+    public double getDelta() {
+        return delta;
     }
 
     /**
-     * Compares the two solutions using a CDAS dominance relation, returning
+     * Compares the two solutions using an S-CDAS dominance relation, returning
      * {@code -1} if {@code firstSolution} dominates {@code secondSolution}, {@code 1} if
      * {@code secondSolution} dominates {@code firstSolution}, and {@code 0} if the
      * solutions are non-dominated.
@@ -150,6 +194,142 @@ public class SCDASObjectiveComparator implements DominanceComparator, Comparator
      */
     @Override
     public int compare(Solution firstSolution, Solution secondSolution) {
-        return 0;
+        if (numberOfObjectives == 0) {
+            return paretoCompare(firstSolution, secondSolution);
+        }
+
+        double[] firstShifted = shifted, firstHeights = heights, firstCotangents = cotangents;
+        double[] secondShifted = shifted, secondHeights = heights, secondCotangents = cotangents;
+        int first = offsetOf(firstSolution, 0);
+        int second = offsetOf(secondSolution, numberOfObjectives);
+        if (first < 0) {
+            first = 0;
+            firstShifted = scratchShifted;
+            firstHeights = scratchHeights;
+            firstCotangents = scratchCotangents;
+        }
+        if (second < 0) {
+            second = numberOfObjectives;
+            secondShifted = scratchShifted;
+            secondHeights = scratchHeights;
+            secondCotangents = scratchCotangents;
+        }
+
+        boolean firstDominates = true;
+        boolean firstStrictly = false;
+        boolean secondDominates = true;
+        boolean secondStrictly = false;
+
+        for (int i = 0; i < numberOfObjectives; i++) {
+            double x = firstShifted[first + i];
+            double hx = firstHeights[first + i];
+            double y = secondShifted[second + i];
+            double hy = secondHeights[second + i];
+
+            if (firstDominates) {
+                double cotangent = firstCotangents[first + i];
+                double own = x + cotangent * hx;
+                double other = y + cotangent * hy;
+                if (own > other) {
+                    firstDominates = false;
+                } else if (own < other) {
+                    firstStrictly = true;
+                }
+            }
+
+            if (secondDominates) {
+                double cotangent = secondCotangents[second + i];
+                double own = y + cotangent * hy;
+                double other = x + cotangent * hx;
+                if (own > other) {
+                    secondDominates = false;
+                } else if (own < other) {
+                    secondStrictly = true;
+                }
+            }
+
+            if (!firstDominates && !secondDominates) {
+                return 0;
+            }
+        }
+
+        firstDominates &= firstStrictly;
+        secondDominates &= secondStrictly;
+
+        if (firstDominates == secondDominates) {
+            return 0;
+        } else if (firstDominates) {
+            return -1;
+        } else {
+            return 1;
+        }
+    }
+
+    /**
+     * Returns the offset of the solution's values, measuring it into the
+     * scratch row at {@code scratchOffset} if it was not seen by the last
+     * update, in which case {@code -1} is returned.
+     */
+    private int offsetOf(Solution solution, int scratchOffset) {
+        Integer row = rows().get(solution);
+        if (row != null) {
+            return row * numberOfObjectives;
+        }
+        measure(solution, scratchShifted, scratchHeights, scratchCotangents, scratchOffset);
+        return -1;
+    }
+
+    /**
+     * Computes x(i), h(i) and cot(φ(i, x)) of a solution.
+     */
+    private void measure(Solution solution, double[] shiftedValues, double[] heightValues,
+                         double[] cotangentValues, int offset) {
+        double vectorSum = 0;
+        for (int i = 0; i < numberOfObjectives; i++) {
+            double x = solution.getObjective(i) - modifiedOrigin[i];
+            shiftedValues[offset + i] = x;
+            vectorSum += x * x;
+        }
+        for (int i = 0; i < numberOfObjectives; i++) {
+            double x = shiftedValues[offset + i];
+            double height = Math.sqrt(Math.max(0, vectorSum - x * x));
+            heightValues[offset + i] = height;
+            cotangentValues[offset + i] = height > 0 && landmarkDistances[i] > 0 ?
+                    (landmarkDistances[i] - x) / height : 0;
+        }
+    }
+
+    private IdentityHashMap<Solution, Integer> rows() {
+        if (rows == null) {
+            rows = new IdentityHashMap<>();
+        }
+        return rows;
+    }
+
+    private static int paretoCompare(Solution firstSolution, Solution secondSolution) {
+        boolean dominateOne = false;
+        boolean dominateTwo = false;
+
+        for (int i = 0; i < firstSolution.getNumberOfObjectives(); i++) {
+            if (firstSolution.getObjective(i) < secondSolution.getObjective(i)) {
+                dominateOne = true;
+                if (dominateTwo) {
+                    return 0;
+                }
+            } else if (firstSolution.getObjective(i) > secondSolution.getObjective(i)) {
+                dominateTwo = true;
+                if (dominateOne) {
+                    return 0;
+                }
+            }
+        }
+
+        if (dominateOne == dominateTwo) {
+            return 0;
+        } else if (dominateOne) {
+            return -1;
+        } else {
+            return 1;
+        }
     }
 }
@@ -1,13 +1,12 @@
 package com.unilag.comparator;
 
+import com.unilag.interfaces.FitnessSolution;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.comparator.DominanceComparator;
 
 import java.io.Serializable;
 import java.util.Comparator;
 
-import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
-
 /**
  * Compares two solutions based on their {@code FITNESS_ATTRIBUTE} value.
  * Follows the model of {@link org.moeaframework.core.comparator.FitnessComparator}
@@ -32,10 +31,20 @@ public class ShiftBasedDensityComparator implements DominanceComparator, Compara
         this.largerValuesPreferred = largerValuesPreferred;
     }
 
+    /**
+     * Returns {@code true} if larger fitness values are preferred; otherwise
+     * smaller fitness values are preferred.
+     *
+     * @return {@code true} if larger fitness values are preferred
+     */
+    public boolean areLargerValuesPreferred() {
+        return largerValuesPreferred;
+    }
+
     @Override
     public int compare(Solution firstSolution, Solution secondSolution) {
         return (largerValuesPreferred ? -1 : 1) * Double.compare(
-                (Double)firstSolution.getAttribute(FITNESS_ATTRIBUTE),
-                (Double)secondSolution.getAttribute(FITNESS_ATTRIBUTE));
+                FitnessSolution.getFitness(firstSolution),
+                FitnessSolution.getFitness(secondSolution));
     }
 }
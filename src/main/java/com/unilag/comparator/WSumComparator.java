@@ -1,13 +1,12 @@
 package com.unilag.comparator;
 
+import com.unilag.interfaces.FitnessSolution;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.comparator.DominanceComparator;
 
 import java.io.Serializable;
 import java.util.Comparator;
 
-import static com.unilag.interfaces.SumFitnessEvaluator.WSUM_FITNESS_ATTRIBUTE;
-
 /**
  * Compares two solutions based on their {@code WSUM_FITNESS_ATTRIBUTE} value.
  * Follows the model of {@link org.moeaframework.core.comparator.FitnessComparator}
@@ -33,10 +32,20 @@ public class WSumComparator implements DominanceComparator, Comparator<Solution>
         this.largerValuesPreferred = largerValuesPreferred;
     }
 
+    /**
+     * Returns {@code true} if larger fitness values are preferred; otherwise
+     * smaller fitness values are preferred.
+     *
+     * @return {@code true} if larger fitness values are preferred
+     */
+    public boolean areLargerValuesPreferred() {
+        return largerValuesPreferred;
+    }
+
     @Override
     public int compare(Solution firstSolution, Solution secondSolution) {
         return (largerValuesPreferred ? -1 : 1) * Double.compare(
-                (Double)firstSolution.getAttribute(WSUM_FITNESS_ATTRIBUTE),
-                (Double)secondSolution.getAttribute(WSUM_FITNESS_ATTRIBUTE));
+                FitnessSolution.getWSumFitness(firstSolution),
+                FitnessSolution.getWSumFitness(secondSolution));
     }
 }
@@ -0,0 +1,228 @@
+package com.unilag.fitness;
+
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Index of a two-objective non-dominated archive. With two objectives, the
+ * keys of mutually non-dominated solutions sorted on the first key have
+ * decreasing second keys, so the front is kept in primitive arrays sorted on
+ * the first key and:
+ * <ul>
+ *   <li>a solution can only be dominated by the solutions just before its
+ *       position, which have the smallest second keys among those with a
+ *       smaller first key;</li>
+ *   <li>the solutions it dominates form the run starting at its position
+ *       whose second keys are not smaller than its own.</li>
+ * </ul>
+ * A query therefore takes a binary search and as many comparisons as there
+ * are solutions dominated by or duplicating the queried solution. Duplicates
+ * lie within {@link Settings#EPS} of the first objective, so they are found
+ * in the same arrays when the keys are the objectives, and in a second array
+ * sorted on the first objective otherwise.
+ */
+final class BiObjectiveFront implements NondominatedIndex {
+
+    /**
+     * The function returning the key of a solution.
+     */
+    private final Function<Solution, double[]> keyFunction;
+
+    /**
+     * The solutions sorted on their first key.
+     */
+    private final SortedSolutions front = new SortedSolutions();
+
+    /**
+     * The solutions sorted on their first objective, or {@code null} if the
+     * keys are the objectives.
+     */
+    private final SortedSolutions objectives;
+
+    /**
+     * Constructs an empty front.
+     *
+     * @param keyFunction the function returning the key of a solution
+     * @param objectiveKeys {@code true} if the keys are the objectives
+     */
+    BiObjectiveFront(Function<Solution, double[]> keyFunction, boolean objectiveKeys) {
+        this.keyFunction = keyFunction;
+        this.objectives = objectiveKeys ? null : new SortedSolutions();
+    }
+
+    @Override
+    public void add(Solution solution) {
+        double[] key = keyFunction.apply(solution);
+        front.insert(front.upperBound(key[0]), key[0], key[1], solution);
+
+        if (objectives != null) {
+            double objective = solution.getObjective(0);
+            objectives.insert(objectives.upperBound(objective), objective, 0.0, solution);
+        }
+    }
+
+    @Override
+    public boolean remove(Solution solution) {
+        int index = front.indexOf(keyFunction.apply(solution)[0], solution);
+        if (index < 0) {
+            return false;
+        }
+        front.remove(index);
+
+        if (objectives != null) {
+            objectives.remove(objectives.indexOf(solution.getObjective(0), solution));
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        front.clear();
+        if (objectives != null) {
+            objectives.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        return front.size;
+    }
+
+    @Override
+    public boolean query(Solution solution, DominanceComparator comparator, BiPredicate<Solution, Solution> duplicate,
+                         List<Solution> dominated, List<Solution> duplicates) {
+        double[] key = keyFunction.apply(solution);
+
+        // the solutions with a smaller or equal first key and a smaller or equal second key
+        for (int i = front.upperBound(key[0]) - 1; i >= 0 && front.values[i] <= key[1]; i--) {
+            if (comparator.compare(solution, front.solutions[i]) > 0) {
+                return false;
+            }
+        }
+
+        // the solutions with a larger or equal first key and a larger or equal second key
+        for (int i = front.lowerBound(key[0]); i < front.size && front.values[i] >= key[1]; i++) {
+            if (comparator.compare(solution, front.solutions[i]) < 0) {
+                dominated.add(front.solutions[i]);
+            }
+        }
+
+        SortedSolutions candidates = objectives == null ? front : objectives;
+        double objective = solution.getObjective(0);
+        int end = candidates.upperBound(objective + Settings.EPS);
+
+        for (int i = candidates.lowerBound(objective - Settings.EPS); i < end; i++) {
+            Solution candidate = candidates.solutions[i];
+            if (comparator.compare(solution, candidate) == 0 && duplicate.test(solution, candidate)) {
+                duplicates.add(candidate);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the solutions in the order of their first key.
+     *
+     * @return the solutions in the order of their first key
+     */
+    Solution[] toArray() {
+        return Arrays.copyOf(front.solutions, front.size);
+    }
+
+    /**
+     * Solutions sorted on a primitive key, each carrying a second value.
+     */
+    private static final class SortedSolutions {
+
+        private double[] keys = new double[16];
+
+        private double[] values = new double[16];
+
+        private Solution[] solutions = new Solution[16];
+
+        private int size;
+
+        /**
+         * Returns the index of the first key greater or equal to the key.
+         */
+        int lowerBound(double key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the first key greater than the key.
+         */
+        int upperBound(double key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle] <= key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the solution, whose key is given, or {@code -1}.
+         */
+        int indexOf(double key, Solution solution) {
+            for (int i = lowerBound(key); i < size && keys[i] == key; i++) {
+                if (solutions[i] == solution) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void insert(int index, double key, double value, Solution solution) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+                solutions = Arrays.copyOf(solutions, size * 2);
+            }
+
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            System.arraycopy(solutions, index, solutions, index + 1, size - index);
+
+            keys[index] = key;
+            values[index] = value;
+            solutions[index] = solution;
+            size++;
+        }
+
+        void remove(int index) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            System.arraycopy(solutions, index + 1, solutions, index, size - index - 1);
+
+            size--;
+            solutions[size] = null;
+        }
+
+        void clear() {
+            Arrays.fill(solutions, 0, size, null);
+            size = 0;
+        }
+    }
+}
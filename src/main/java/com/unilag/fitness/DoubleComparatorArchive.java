@@ -1,13 +1,18 @@
 package com.unilag.fitness;
 
+import com.unilag.comparator.CDASComparator;
 import com.unilag.comparator.WSumComparator;
+import com.unilag.helper.NondominatedFilter;
 import com.unilag.interfaces.AbstractNonDominatedPopulation;
+import com.unilag.interfaces.LeaderSnapshot;
+import com.unilag.interfaces.VersionedFitnessEvaluator;
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
 
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
   * Maintains a non-dominated archive of solutions with a maximum capacity.
@@ -16,10 +21,57 @@ import java.util.Comparator;
   * a secondary fitness calculation. The fitness calculation only occurs when the
   * addition of a solution exceeds the capacity.
   *
+  * The archive counts its modifications, and remembers the modification count
+  * and the {@link VersionedFitnessEvaluator#getVersion() evaluator version} of
+  * the last fitness calculation. {@link #update()} and {@link #getBest()} only
+  * evaluate the archive again when its contents or the evaluator inputs changed
+  * since then, and repeated calls to {@link #getBest()} return a cached index.
+  * The archive counts the fitness calculations and best solution searches it
+  * performed and skipped, which tells how often the leaders are refreshed for
+  * nothing.
+  *
+  * {@link #update()} commits the archive: when the archive changed since the
+  * last commit, it publishes an immutable {@link LeaderSnapshot} through an
+  * atomic reference. Any number of threads may sample leaders from
+  * {@link #getSnapshot()} without locks, while a single writer adds
+  * solutions and commits them; the truncations and the searches of the best
+  * solution between two commits are not published.
+  *
+  * By default the archive is truncated as a {@link org.moeaframework.core.Population}
+  * is, by sorting it on fitness and removing the last solutions.
+  * {@link #setTruncation(Truncation)} selects the removed solutions without
+  * sorting instead, which only costs a pass over the archive when few
+  * solutions are removed.
+  *
   * @see org.moeaframework.core.fitness.FitnessBasedArchive
   */
 public class DoubleComparatorArchive extends AbstractNonDominatedPopulation {
 
+    /**
+     * How the solutions removed by a truncation are selected.
+     */
+    public enum Truncation {
+
+        /**
+         * Sorts the archive on fitness and removes the last solutions, leaving
+         * the archive sorted.
+         */
+        SORT,
+
+        /**
+         * Selects the same solutions as {@link #SORT} with a heap on the
+         * fitness values, leaving the remaining solutions in their order.
+         */
+        SELECT,
+
+        /**
+         * Removes the solution with the lowest shift-based density one at a
+         * time, subtracting its shifted distance from the density of the
+         * remaining solutions, which keep their order. Requires a shift-based
+         * density evaluator and a fitness comparator preferring larger values.
+         */
+        ITERATIVE
+    }
 
     /**
      * The maximum capacity of this archive.
@@ -36,6 +88,64 @@ public class DoubleComparatorArchive extends AbstractNonDominatedPopulation {
      */
     private final Comparator<Solution> fitnessComparator;
 
+    /**
+     * The number of modifications of this archive.
+     */
+    private long modifications;
+
+    /**
+     * The number of modifications at the last fitness calculation, or {@code -1}
+     * if the fitness was never calculated.
+     */
+    private long evaluatedModifications = -1;
+
+    /**
+     * The evaluator version at the last fitness calculation.
+     */
+    private long evaluatedVersion;
+
+    /**
+     * The index of the best solution, or {@code -1} if it must be found again.
+     */
+    private int bestIndex = -1;
+
+    /**
+     * The number of fitness calculations.
+     */
+    private long evaluations;
+
+    /**
+     * The number of calls to {@link #update()} skipped as the archive was not stale.
+     */
+    private long skippedEvaluations;
+
+    /**
+     * The number of searches of the best solution.
+     */
+    private long bestSearches;
+
+    /**
+     * The number of calls to {@link #getBest()} answered by the cached index.
+     */
+    private long skippedBestSearches;
+
+    /**
+     * How the solutions removed by a truncation are selected.
+     */
+    private Truncation truncation = Truncation.SORT;
+
+    /**
+     * The snapshot published by the last commit.
+     */
+    private final AtomicReference<LeaderSnapshot> snapshot =
+            new AtomicReference<LeaderSnapshot>(LeaderSnapshot.EMPTY);
+
+    /**
+     * The selector of the removed solutions, or {@code null} if the fitness
+     * comparator does not compare a single fitness attribute.
+     */
+    private final TruncationSelector truncationSelector;
+
     /**
      * Constructs an empty fitness-based archive.
      *
@@ -62,16 +172,43 @@ public class DoubleComparatorArchive extends AbstractNonDominatedPopulation {
         this.capacity = capacity;
 
         this.fitnessComparator = fitnessComparator;
+        this.truncationSelector = TruncationSelector.forComparator(fitnessComparator);
+    }
+
+    /**
+     * Sets how the solutions removed by a truncation are selected.
+     *
+     * @param truncation how the removed solutions are selected
+     * @throws IllegalArgumentException if the fitness comparator or the
+     *         fitness evaluator do not support the truncation
+     */
+    public void setTruncation(Truncation truncation) {
+        if (truncation != Truncation.SORT && truncationSelector == null) {
+            throw new IllegalArgumentException(truncation + " truncation requires a comparator of a fitness attribute");
+        }
+        if (truncation == Truncation.ITERATIVE && !(truncationSelector.isDensity() && isShiftBasedDensity())) {
+            throw new IllegalArgumentException("ITERATIVE truncation requires a shift-based density evaluator");
+        }
+        this.truncation = truncation;
+    }
+
+    public Truncation getTruncation() {
+        return truncation;
+    }
+
+    public int getCapacity() {
+        return capacity;
     }
 
     @Override
     public boolean add(Solution solution) {
-        boolean solutionAdded = super.add(solution);
+        cacheComparatorValues(solution);
+        boolean solutionAdded = addNondominated(solution);
 
         if (solutionAdded) {
+            modified();
             if (size() > capacity) {
-                update();
-                truncate(capacity, fitnessComparator);
+                truncateToCapacity();
             }
         }
 
@@ -79,30 +216,293 @@ public class DoubleComparatorArchive extends AbstractNonDominatedPopulation {
     }
 
     /**
-     * Updates the fitness of all solutions in this population.
+     * Adds a batch of solutions in one pass: the solutions not dominated by
+     * another solution of the batch are merged first, and the archive is
+     * then truncated once to its capacity, after a single fitness update.
+     * Unlike {@link #add(Solution)}, the capacity is thus not enforced after
+     * every solution, so solutions that an earlier truncation would have
+     * discarded still take part in the final one.
+     *
+     * @param solutions the solutions being added
+     * @return {@code true} if a solution was added
+     */
+    @Override
+    public boolean addBatch(Solution[] solutions) {
+        boolean solutionAdded = false;
+
+        for (Solution solution : solutions) {
+            cacheComparatorValues(solution);
+        }
+
+        for (Solution solution : NondominatedFilter.filter(solutions, comparator)) {
+            if (addNondominated(solution)) {
+                modified();
+                solutionAdded = true;
+            }
+        }
+
+        if (size() > capacity) {
+            truncateToCapacity();
+        }
+
+        return solutionAdded;
+    }
+
+    /**
+     * Caches on the solution the values the dominance comparator compares,
+     * which {@code compare} itself never stores. Archives call this on the
+     * thread adding the solution, before the solution is compared, and
+     * possibly from several threads.
+     *
+     * @param solution the solution being added
+     */
+    protected void cacheComparatorValues(Solution solution) {
+        if (comparator instanceof CDASComparator) {
+            ((CDASComparator) comparator).cacheModifiedObjectives(solution);
+        }
+    }
+
+    /**
+     * Adds the solution unless a solution of this archive dominates or
+     * duplicates it, removing the solutions it dominates, without enforcing
+     * the capacity. This scans the whole archive, as
+     * {@link org.moeaframework.core.NondominatedPopulation#add(Solution)} does.
+     *
+     * @param solution the solution being added
+     * @return {@code true} if the solution was added
+     */
+    protected boolean addNondominated(Solution solution) {
+        return super.add(solution);
+    }
+
+    @Override
+    public void remove(int index) {
+        super.remove(index);
+        modified();
+    }
+
+    @Override
+    public boolean remove(Solution solution) {
+        boolean solutionRemoved = super.remove(solution);
+
+        if (solutionRemoved) {
+            modified();
+        }
+
+        return solutionRemoved;
+    }
+
+    @Override
+    public void replace(int index, Solution solution) {
+        super.replace(index, solution);
+        modified();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        modified();
+    }
+
+    @Override
+    public void sort(Comparator<? super Solution> comparator) {
+        super.sort(comparator);
+        modified();
+    }
+
+    @Override
+    public void truncate(int size, Comparator<? super Solution> comparator) {
+        super.truncate(size, comparator);
+        modified();
+    }
+
+    /**
+     * Evaluates the archive and removes the solutions beyond its capacity, as
+     * selected by the {@link Truncation}. An iterative truncation leaves the
+     * remaining solutions with their exact densities, so they are not
+     * evaluated again.
      */
+    protected void truncateToCapacity() {
+        evaluate();
+
+        if (truncation == Truncation.SORT) {
+            truncate(capacity, fitnessComparator);
+            return;
+        }
+
+        int[] removed = truncation == Truncation.SELECT
+                ? truncationSelector.selectWorst(this, size() - capacity)
+                : truncationSelector.selectIteratively(this, size() - capacity);
+
+        for (int index : removed) {
+            remove(index);
+        }
+
+        if (truncation == Truncation.ITERATIVE) {
+            evaluatedModifications = modifications;
+            skippedEvaluations++;
+        }
+    }
+
+    /**
+     * Updates the fitness of all solutions in this population, unless neither
+     * the solutions nor the evaluator inputs changed since the last update,
+     * and publishes a snapshot of the solutions if they changed since the
+     * last commit.
+     */
+    @Override
     public void update() {
-        fitnessEvaluator.evaluate(this);
+        evaluate();
+
+        if (snapshot.get().getVersion() != modifications) {
+            snapshot.set(new LeaderSnapshot(this, modifications));
+        }
+    }
+
+    /**
+     * Returns the snapshot published by the last call to {@link #update()}.
+     * The snapshot misses the solutions added and removed since then, and
+     * costs N * M doubles for N solutions with M objectives.
+     *
+     * @return the snapshot published by the last call to {@link #update()}
+     */
+    @Override
+    public LeaderSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Shuts down the pool of a {@link ParallelShiftBasedDensityEvaluator}
+     * created by the evaluator itself; the archive is then evaluated
+     * sequentially.
+     */
+    @Override
+    public void close() {
+        if (fitnessEvaluator instanceof ParallelShiftBasedDensityEvaluator) {
+            ((ParallelShiftBasedDensityEvaluator) fitnessEvaluator).close();
+        }
+    }
+
+    private void evaluate() {
+        if (isStale()) {
+            fitnessEvaluator.evaluate(this);
+            evaluatedModifications = modifications;
+            evaluatedVersion = getEvaluatorVersion();
+            bestIndex = -1;
+            evaluations++;
+        } else {
+            skippedEvaluations++;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the fitness must be calculated again.
+     *
+     * @return {@code true} if the contents or the evaluator inputs changed
+     *         since the last fitness calculation
+     */
+    @Override
+    public boolean isStale() {
+        return evaluatedModifications != modifications || evaluatedVersion != getEvaluatorVersion();
     }
 
     @Override
     public Solution getBest() {
-        update();
+        evaluate();
         if(this.size() == 0) {
             throw new IllegalStateException("Invalid call");
         }
-        Solution pBest = this.get(0);
-        if(this.size() == 1) {
-            return pBest;
+        if (bestIndex < 0) {
+            bestIndex = findBest();
+            bestSearches++;
+        } else {
+            skippedBestSearches++;
         }
+        return this.get(bestIndex);
+    }
+
+    /**
+     * Returns the number of modifications of this archive.
+     *
+     * @return the number of modifications of this archive
+     */
+    @Override
+    public long getModifications() {
+        return modifications;
+    }
+
+    /**
+     * Returns the number of fitness calculations of this archive.
+     *
+     * @return the number of fitness calculations
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns the number of fitness calculations skipped because neither the
+     * archive nor the evaluator inputs had changed, including those made
+     * unnecessary by an iterative truncation.
+     *
+     * @return the number of skipped fitness calculations
+     */
+    public long getSkippedEvaluations() {
+        return skippedEvaluations;
+    }
+
+    /**
+     * Returns the number of searches of the best solution of this archive.
+     *
+     * @return the number of searches of the best solution
+     */
+    public long getBestSearches() {
+        return bestSearches;
+    }
+
+    /**
+     * Returns the number of searches of the best solution skipped because
+     * the cached index was still valid.
+     *
+     * @return the number of skipped searches of the best solution
+     */
+    public long getSkippedBestSearches() {
+        return skippedBestSearches;
+    }
+
+    private int findBest() {
+        int pBest = 0;
         for(int i = 0; i < this.size() - 1; i++) {
             int flag = fitnessComparator.compare(this.get(i + 1),
-                    pBest);
+                    this.get(pBest));
 
             if (flag <= 0) {
-                pBest = this.get(i);
+                pBest = i;
             }
         }
         return pBest;
     }
+
+    private boolean isShiftBasedDensity() {
+        return fitnessEvaluator instanceof ShiftBasedDensityEvaluator
+                || fitnessEvaluator instanceof ParallelShiftBasedDensityEvaluator
+                || fitnessEvaluator instanceof IncrementalShiftBasedDensityEvaluator
+                || fitnessEvaluator instanceof BiObjectiveShiftBasedDensityEvaluator;
+    }
+
+    private long getEvaluatorVersion() {
+        if (fitnessEvaluator instanceof VersionedFitnessEvaluator) {
+            return ((VersionedFitnessEvaluator) fitnessEvaluator).getVersion();
+        }
+        return 0;
+    }
+
+    /**
+     * Records a modification of this archive, for subclasses adding
+     * solutions without going through {@link #addNondominated(Solution)}.
+     */
+    protected void modified() {
+        modifications++;
+        bestIndex = -1;
+    }
 }
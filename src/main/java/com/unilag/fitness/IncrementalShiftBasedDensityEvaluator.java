@@ -0,0 +1,312 @@
+package com.unilag.fitness;
+
+import com.unilag.interfaces.FitnessSolution;
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Shift-based density evaluator that maintains the densities of an archive
+ * incrementally instead of recomputing them from scratch on every call.
+ *
+ * The evaluator keeps a pairwise matrix of shifted distances and the
+ * density of every solution it has seen. On each call to
+ * {@link #evaluate(Population)} the population is compared, by identity,
+ * with the solutions seen on the previous call: solutions that left the
+ * population are removed in O(N) and solutions that joined it are added
+ * in O(N·M). A single insertion into an archive of N solutions therefore
+ * costs O(N·M) instead of the O(N²·M) of {@link ShiftBasedDensityEvaluator}.
+ * A solution whose objectives changed since the previous call is treated as
+ * removed and added again.
+ *
+ * Removals subtract from the running densities, so every time more
+ * solutions have been removed than are currently held the densities are
+ * summed again from the stored distances. Values agree with
+ * {@link ShiftBasedDensityEvaluator} up to floating point rounding.
+ *
+ * An instance keeps the state of one population and must not be shared
+ * between archives. The distance matrix takes O(N²) memory, which makes
+ * this evaluator suited to leader archives of a few hundred solutions.
+ *
+ * @see ShiftBasedDensityEvaluator
+ * @see DoubleComparatorArchive
+ * @see org.moeaframework.core.fitness.FitnessBasedArchive
+ */
+public class IncrementalShiftBasedDensityEvaluator implements FitnessEvaluator {
+
+    /**
+     * The solutions held in each slot, or {@code null} if the slot is free.
+     */
+    private Solution[] slots = new Solution[0];
+
+    /**
+     * The slot of each solution held.
+     */
+    private final IdentityHashMap<Solution, Integer> slotOf = new IdentityHashMap<>();
+
+    /**
+     * The packed objectives, {@code numberOfObjectives} values per slot.
+     */
+    private double[] objectives = new double[0];
+
+    /**
+     * The shifted distances; {@code distances[p * capacity + q]} is the
+     * shifted distance of q from p.
+     */
+    private double[] distances = new double[0];
+
+    /**
+     * The shift-based density of the solution in each slot.
+     */
+    private double[] densities = new double[0];
+
+    /**
+     * The stamp of the last call in which the solution in each slot was seen.
+     */
+    private int[] seen = new int[0];
+
+    /**
+     * The stamp of the current call.
+     */
+    private int stamp;
+
+    /**
+     * The number of slots.
+     */
+    private int capacity;
+
+    /**
+     * The number of objectives of the solutions held.
+     */
+    private int numberOfObjectives;
+
+    /**
+     * The number of removals since the densities were last summed exactly.
+     */
+    private int removalsSinceRefresh;
+
+    /**
+     * Solutions of the current call that are not held yet.
+     */
+    private final List<Solution> additions = new ArrayList<>();
+
+    /**
+     * Constructs a new incremental shift-based density fitness evaluator.
+     */
+    public IncrementalShiftBasedDensityEvaluator() {
+        super();
+    }
+
+    /**
+     * Brings the densities up to date with the population and assigns the
+     * {@code FITNESS_ATTRIBUTE} attribute of every solution.
+     *
+     * @param population the population to be evaluated
+     */
+    @Override
+    public void evaluate(Population population) {
+        if (population.isEmpty()) {
+            clear();
+            return;
+        }
+
+        int objectiveCount = population.get(0).getNumberOfObjectives();
+        if (objectiveCount != numberOfObjectives) {
+            clear();
+            numberOfObjectives = objectiveCount;
+            objectives = new double[capacity * numberOfObjectives];
+        }
+
+        stamp++;
+        additions.clear();
+
+        for (Solution solution : population) {
+            Integer slot = slotOf.get(solution);
+            if (slot == null) {
+                additions.add(solution);
+            } else if (!hasObjectives(slot, solution)) {
+                remove(slot);
+                additions.add(solution);
+            } else {
+                seen[slot] = stamp;
+            }
+        }
+
+        for (int slot = 0; slot < capacity; slot++) {
+            if (slots[slot] != null && seen[slot] != stamp) {
+                remove(slot);
+            }
+        }
+
+        for (Solution solution : additions) {
+            if (!slotOf.containsKey(solution)) {
+                add(solution);
+            }
+        }
+        additions.clear();
+
+        if (removalsSinceRefresh > slotOf.size()) {
+            refresh();
+        }
+
+        for (Solution solution : population) {
+            FitnessSolution.setFitness(solution, densities[slotOf.get(solution)]);
+        }
+    }
+
+    /**
+     * Returns the number of solutions held.
+     *
+     * @return the number of solutions held
+     */
+    public int size() {
+        return slotOf.size();
+    }
+
+    /**
+     * Forgets every solution held.
+     */
+    public void clear() {
+        for (int slot = 0; slot < capacity; slot++) {
+            slots[slot] = null;
+        }
+        slotOf.clear();
+        removalsSinceRefresh = 0;
+    }
+
+    /**
+     * Adds a solution, computing its shifted distances to and from every
+     * solution held.
+     *
+     * @param solution the solution to be added
+     */
+    private void add(Solution solution) {
+        int slot = freeSlot();
+        int offset = slot * numberOfObjectives;
+        for (int i = 0; i < numberOfObjectives; i++) {
+            objectives[offset + i] = solution.getObjective(i);
+        }
+
+        double density = 0;
+        for (int q = 0; q < capacity; q++) {
+            if (slots[q] != null) {
+                int qOffset = q * numberOfObjectives;
+                double from = ShiftBasedDensityKernel.shiftedDistance(objectives, offset, qOffset, numberOfObjectives);
+                double to = ShiftBasedDensityKernel.shiftedDistance(objectives, qOffset, offset, numberOfObjectives);
+                distances[slot * capacity + q] = from;
+                distances[q * capacity + slot] = to;
+                density += from;
+                densities[q] += to;
+            }
+        }
+
+        slots[slot] = solution;
+        slotOf.put(solution, slot);
+        seen[slot] = stamp;
+        densities[slot] = density;
+    }
+
+    /**
+     * Removes the solution in a slot, subtracting its shifted distance from
+     * the density of every solution held.
+     *
+     * @param slot the slot to be freed
+     */
+    private void remove(int slot) {
+        slotOf.remove(slots[slot]);
+        slots[slot] = null;
+
+        for (int p = 0; p < capacity; p++) {
+            if (slots[p] != null) {
+                densities[p] -= distances[p * capacity + slot];
+            }
+        }
+        removalsSinceRefresh++;
+    }
+
+    /**
+     * Sums the densities again from the stored shifted distances.
+     */
+    private void refresh() {
+        for (int p = 0; p < capacity; p++) {
+            if (slots[p] != null) {
+                double density = 0;
+                for (int q = 0; q < capacity; q++) {
+                    if (q != p && slots[q] != null) {
+                        density += distances[p * capacity + q];
+                    }
+                }
+                densities[p] = density;
+            }
+        }
+        removalsSinceRefresh = 0;
+    }
+
+    private boolean hasObjectives(int slot, Solution solution) {
+        int offset = slot * numberOfObjectives;
+        for (int i = 0; i < numberOfObjectives; i++) {
+            if (Double.compare(objectives[offset + i], solution.getObjective(i)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a free slot, doubling the number of slots when all are taken.
+     *
+     * @return a free slot
+     */
+    private int freeSlot() {
+        for (int slot = 0; slot < capacity; slot++) {
+            if (slots[slot] == null) {
+                return slot;
+            }
+        }
+
+        int oldCapacity = capacity;
+        int newCapacity = Math.max(8, capacity * 2);
+
+        double[] newDistances = new double[newCapacity * newCapacity];
+        for (int p = 0; p < oldCapacity; p++) {
+            System.arraycopy(distances, p * oldCapacity, newDistances, p * newCapacity, oldCapacity);
+        }
+
+        double[] newObjectives = new double[newCapacity * numberOfObjectives];
+        System.arraycopy(objectives, 0, newObjectives, 0, oldCapacity * numberOfObjectives);
+
+        Solution[] newSlots = new Solution[newCapacity];
+        System.arraycopy(slots, 0, newSlots, 0, oldCapacity);
+
+        double[] newDensities = new double[newCapacity];
+        System.arraycopy(densities, 0, newDensities, 0, oldCapacity);
+
+        int[] newSeen = new int[newCapacity];
+        System.arraycopy(seen, 0, newSeen, 0, oldCapacity);
+
+        distances = newDistances;
+        objectives = newObjectives;
+        slots = newSlots;
+        densities = newDensities;
+        seen = newSeen;
+        capacity = newCapacity;
+
+        return oldCapacity;
+    }
+
+    /**
+     * Returns {@code true} if larger fitness values are preferred; otherwise
+     * smaller fitness values are preferred.
+     *
+     * @return {@code true} if larger fitness values are preferred; otherwise
+     *         smaller fitness values are preferred
+     */
+    @Override
+    public boolean areLargerValuesPreferred() {
+        return true;
+    }
+}
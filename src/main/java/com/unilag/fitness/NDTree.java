@@ -0,0 +1,403 @@
+package com.unilag.fitness;
+
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Spatial index of the solutions of a non-dominated archive, after the
+ * ND-tree of Jaszkiewicz and Lust. Every node keeps the bounding box of the
+ * keys below it, whose lower corner approximates the ideal point and whose
+ * upper corner approximates the nadir point of its solutions, along with the
+ * bounding box of their objectives.
+ *
+ * A solution can only be dominated by solutions whose keys are all lower or
+ * equal to its own, and can only dominate solutions whose keys are all
+ * greater or equal, so {@link #query} skips every node whose box rules out
+ * both and holds no duplicate candidate. This requires the dominance relation
+ * to be Pareto dominance on the keys, which holds for the objectives under
+ * Pareto dominance and for the transformed objectives under CDAS.
+ *
+ * Leaves are split in two along the key with the largest spread once they
+ * hold more than {@code maxLeafSize} solutions, and the boxes are shrunk
+ * again when solutions are removed.
+ *
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Jaszkiewicz, A., and T. Lust (2018).  ND-Tree-Based Update: A Fast
+ *       Algorithm for the Dynamic Nondominance Problem.  IEEE Transactions on
+ *       Evolutionary Computation, 22(5), pp. 778-791.
+ * </ol>
+ */
+final class NDTree implements NondominatedIndex {
+
+    /**
+     * The default maximum number of solutions in a leaf.
+     */
+    static final int DEFAULT_MAX_LEAF_SIZE = 16;
+
+    /**
+     * The function returning the key of a solution.
+     */
+    private final Function<Solution, double[]> keyFunction;
+
+    /**
+     * The maximum number of solutions in a leaf.
+     */
+    private final int maxLeafSize;
+
+    /**
+     * The leaf holding each solution.
+     */
+    private final IdentityHashMap<Solution, Node> leaves = new IdentityHashMap<>();
+
+    /**
+     * The root node, or {@code null} if the tree is empty.
+     */
+    private Node root;
+
+    /**
+     * Constructs an empty tree.
+     *
+     * @param keyFunction the function returning the key of a solution
+     * @param maxLeafSize the maximum number of solutions in a leaf
+     */
+    NDTree(Function<Solution, double[]> keyFunction, int maxLeafSize) {
+        if (maxLeafSize < 2) {
+            throw new IllegalArgumentException("maxLeafSize must be at least 2");
+        }
+        this.keyFunction = keyFunction;
+        this.maxLeafSize = maxLeafSize;
+    }
+
+    /**
+     * Adds a solution, descending into the child whose box centre is closest
+     * to its key.
+     */
+    @Override
+    public void add(Solution solution) {
+        Entry entry = new Entry(solution, keyFunction.apply(solution), solution.getObjectives());
+
+        if (root == null) {
+            root = new Node(null, entry.key.length);
+        }
+
+        Node node = root;
+        node.expand(entry);
+        while (!node.isLeaf()) {
+            node = node.closestChild(entry.key);
+            node.expand(entry);
+        }
+
+        node.entries.add(entry);
+        leaves.put(solution, node);
+
+        if (node.entries.size() > maxLeafSize) {
+            split(node);
+        }
+    }
+
+    @Override
+    public boolean remove(Solution solution) {
+        Node leaf = leaves.remove(solution);
+        if (leaf == null) {
+            return false;
+        }
+
+        for (int i = 0; i < leaf.entries.size(); i++) {
+            if (leaf.entries.get(i).solution == solution) {
+                leaf.entries.remove(i);
+                break;
+            }
+        }
+
+        Node node = leaf;
+        if (leaf.entries.isEmpty()) {
+            node = detach(leaf);
+        }
+
+        for (; node != null; node = node.parent) {
+            node.shrink();
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        leaves.clear();
+    }
+
+    @Override
+    public int size() {
+        return leaves.size();
+    }
+
+    @Override
+    public boolean query(Solution solution, DominanceComparator comparator, BiPredicate<Solution, Solution> duplicate,
+                         List<Solution> dominated, List<Solution> duplicates) {
+        if (root == null) {
+            return true;
+        }
+        return query(root, solution, keyFunction.apply(solution), solution.getObjectives(),
+                comparator, duplicate, dominated, duplicates);
+    }
+
+    private boolean query(Node node, Solution solution, double[] key, double[] objectives,
+                          DominanceComparator comparator, BiPredicate<Solution, Solution> duplicate,
+                          List<Solution> dominated, List<Solution> duplicates) {
+        if (!node.mayDominate(key) && !node.mayBeDominated(key) && !node.mayDuplicate(objectives)) {
+            return true;
+        }
+
+        if (node.isLeaf()) {
+            for (Entry entry : node.entries) {
+                int flag = comparator.compare(solution, entry.solution);
+
+                if (flag < 0) {
+                    dominated.add(entry.solution);
+                } else if (flag > 0) {
+                    return false;
+                } else if (duplicate.test(solution, entry.solution)) {
+                    duplicates.add(entry.solution);
+                }
+            }
+            return true;
+        }
+
+        for (Node child : node.children) {
+            if (!query(child, solution, key, objectives, comparator, duplicate, dominated, duplicates)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a full leaf in two at the median of the key with the largest spread.
+     */
+    private void split(Node leaf) {
+        int dimension = 0;
+        for (int j = 1; j < leaf.lower.length; j++) {
+            if (leaf.upper[j] - leaf.lower[j] > leaf.upper[dimension] - leaf.lower[dimension]) {
+                dimension = j;
+            }
+        }
+
+        final int d = dimension;
+        List<Entry> entries = leaf.entries;
+        entries.sort(Comparator.comparingDouble(entry -> entry.key[d]));
+
+        Node left = new Node(leaf, leaf.lower.length);
+        Node right = new Node(leaf, leaf.lower.length);
+        for (int i = 0; i < entries.size(); i++) {
+            Node child = i < entries.size() / 2 ? left : right;
+            child.entries.add(entries.get(i));
+            child.expand(entries.get(i));
+            leaves.put(entries.get(i).solution, child);
+        }
+
+        leaf.entries = null;
+        leaf.children = new ArrayList<>(2);
+        leaf.children.add(left);
+        leaf.children.add(right);
+    }
+
+    /**
+     * Removes an empty node, replacing its parent by the remaining sibling if
+     * it was one of two children.
+     *
+     * @return the lowest node whose box must be shrunk
+     */
+    private Node detach(Node node) {
+        Node parent = node.parent;
+
+        if (parent == null) {
+            root = null;
+            return null;
+        }
+
+        parent.children.remove(node);
+
+        if (parent.children.size() == 1) {
+            Node sibling = parent.children.get(0);
+            Node grandparent = parent.parent;
+            sibling.parent = grandparent;
+
+            if (grandparent == null) {
+                root = sibling;
+            } else {
+                grandparent.children.set(grandparent.children.indexOf(parent), sibling);
+            }
+            return grandparent;
+        }
+        return parent;
+    }
+
+    /**
+     * A solution along with its key and objectives.
+     */
+    private static class Entry {
+
+        private final Solution solution;
+
+        private final double[] key;
+
+        private final double[] objectives;
+
+        Entry(Solution solution, double[] key, double[] objectives) {
+            this.solution = solution;
+            this.key = key;
+            this.objectives = objectives;
+        }
+    }
+
+    /**
+     * A node of the tree, either a leaf holding entries or an internal node
+     * holding children.
+     */
+    private static class Node {
+
+        private Node parent;
+
+        private List<Node> children;
+
+        private List<Entry> entries = new ArrayList<>();
+
+        /**
+         * The lower and upper corners of the box of the keys.
+         */
+        private final double[] lower;
+        private final double[] upper;
+
+        /**
+         * The lower and upper corners of the box of the objectives.
+         */
+        private final double[] objectivesLower;
+        private final double[] objectivesUpper;
+
+        Node(Node parent, int numberOfObjectives) {
+            this.parent = parent;
+            lower = new double[numberOfObjectives];
+            upper = new double[numberOfObjectives];
+            objectivesLower = new double[numberOfObjectives];
+            objectivesUpper = new double[numberOfObjectives];
+            reset();
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        /**
+         * Returns {@code true} if a solution below may dominate the key.
+         */
+        boolean mayDominate(double[] key) {
+            for (int j = 0; j < key.length; j++) {
+                if (lower[j] > key[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns {@code true} if a solution below may be dominated by the key.
+         */
+        boolean mayBeDominated(double[] key) {
+            for (int j = 0; j < key.length; j++) {
+                if (upper[j] < key[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns {@code true} if the objectives of a solution below may lie
+         * within {@link Settings#EPS} of the objectives.
+         */
+        boolean mayDuplicate(double[] objectives) {
+            for (int j = 0; j < objectives.length; j++) {
+                if (objectives[j] < objectivesLower[j] - Settings.EPS
+                        || objectives[j] > objectivesUpper[j] + Settings.EPS) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the child whose box centre is closest to the key.
+         */
+        Node closestChild(double[] key) {
+            Node closest = null;
+            double closestDistance = Double.POSITIVE_INFINITY;
+
+            for (Node child : children) {
+                double distance = 0;
+                for (int j = 0; j < key.length; j++) {
+                    double difference = key[j] - (child.lower[j] + child.upper[j]) / 2.0;
+                    distance += difference * difference;
+                }
+
+                if (distance < closestDistance) {
+                    closest = child;
+                    closestDistance = distance;
+                }
+            }
+            return closest;
+        }
+
+        /**
+         * Grows the boxes to contain the entry.
+         */
+        void expand(Entry entry) {
+            for (int j = 0; j < lower.length; j++) {
+                lower[j] = Math.min(lower[j], entry.key[j]);
+                upper[j] = Math.max(upper[j], entry.key[j]);
+                objectivesLower[j] = Math.min(objectivesLower[j], entry.objectives[j]);
+                objectivesUpper[j] = Math.max(objectivesUpper[j], entry.objectives[j]);
+            }
+        }
+
+        /**
+         * Recomputes the boxes from the entries or the children.
+         */
+        void shrink() {
+            reset();
+
+            if (isLeaf()) {
+                for (Entry entry : entries) {
+                    expand(entry);
+                }
+            } else {
+                for (Node child : children) {
+                    for (int j = 0; j < lower.length; j++) {
+                        lower[j] = Math.min(lower[j], child.lower[j]);
+                        upper[j] = Math.max(upper[j], child.upper[j]);
+                        objectivesLower[j] = Math.min(objectivesLower[j], child.objectivesLower[j]);
+                        objectivesUpper[j] = Math.max(objectivesUpper[j], child.objectivesUpper[j]);
+                    }
+                }
+            }
+        }
+
+        private void reset() {
+            for (int j = 0; j < lower.length; j++) {
+                lower[j] = Double.POSITIVE_INFINITY;
+                upper[j] = Double.NEGATIVE_INFINITY;
+                objectivesLower[j] = Double.POSITIVE_INFINITY;
+                objectivesUpper[j] = Double.NEGATIVE_INFINITY;
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.unilag.fitness;
+
+import com.unilag.comparator.CDASComparator;
+import com.unilag.comparator.WSumComparator;
+import com.unilag.helper.NondominatedFilter;
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.comparator.ParetoObjectiveComparator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A {@link DoubleComparatorArchive} whose solutions are indexed by an
+ * {@link NDTree}, so that adding a solution only compares it with the
+ * solutions that may dominate it, be dominated by it or duplicate it,
+ * instead of scanning the whole archive. Two-objective solutions are
+ * indexed by a {@link BiObjectiveFront} instead, which finds them with a
+ * binary search.
+ *
+ * The index is used when the dominance comparator is Pareto dominance on
+ * some key of the solutions: a {@link ParetoDominanceComparator} or a
+ * {@link ParetoObjectiveComparator}, indexed by the objectives, or a
+ * {@link CDASComparator}, indexed by the CDAS-transformed objectives. Other
+ * comparators, and archives holding solutions that violate constraints,
+ * fall back to the linear scan. Either way the archive holds the same
+ * solutions, in the same order, as a {@link DoubleComparatorArchive}
+ * receiving the same additions and removals.
+ */
+public class NDTreeArchive extends DoubleComparatorArchive {
+
+    /**
+     * The function returning the key of a solution, or {@code null} if the
+     * comparator has no spatial key.
+     */
+    private final Function<Solution, double[]> keyFunction;
+
+    /**
+     * {@code true} if the keys are the objectives.
+     */
+    private final boolean objectiveKeys;
+
+    /**
+     * The index of the solutions, created once the number of objectives is known.
+     */
+    private NondominatedIndex index;
+
+    /**
+     * The number of solutions violating constraints.
+     */
+    private int infeasible;
+
+    /**
+     * The solutions dominated by the solution being added.
+     */
+    private final List<Solution> dominated = new ArrayList<>();
+
+    /**
+     * The solutions duplicating the solution being added.
+     */
+    private final List<Solution> duplicates = new ArrayList<>();
+
+    /**
+     * Constructs an empty archive indexed by the objectives.
+     *
+     * @param evaluator the fitness evaluator for computing the fitness of
+     *        solutions
+     * @param capacity the maximum capacity of this archive
+     */
+    public NDTreeArchive(FitnessEvaluator evaluator, int capacity) {
+        this(evaluator, capacity, new ParetoDominanceComparator(), new WSumComparator(evaluator.areLargerValuesPreferred()));
+    }
+
+    /**
+     * Constructs an empty archive, indexed if the comparator allows it.
+     *
+     * @param evaluator the fitness evaluator for computing the fitness of
+     *        solutions
+     * @param capacity the maximum capacity of this archive
+     * @param comparator the dominance comparator
+     * @param fitnessComparator the fitness comparator used to truncate this archive
+     */
+    public NDTreeArchive(FitnessEvaluator evaluator, int capacity, DominanceComparator comparator, Comparator<Solution> fitnessComparator) {
+        super(evaluator, capacity, comparator, fitnessComparator);
+
+        keyFunction = NondominatedFilter.getKeyFunction(comparator);
+        objectiveKeys = comparator.getClass() != CDASComparator.class;
+    }
+
+    /**
+     * Returns {@code true} if the solutions are indexed.
+     *
+     * @return {@code true} if the solutions are indexed
+     */
+    public boolean isIndexed() {
+        return keyFunction != null;
+    }
+
+    /**
+     * Adds the solution as the linear scan would. When no solution dominates
+     * it, the scan removes the solutions it dominates up to the first
+     * duplicate, and adds it only if there is none.
+     */
+    @Override
+    protected boolean addNondominated(Solution solution) {
+        if (keyFunction == null) {
+            return super.addNondominated(solution);
+        }
+
+        if (infeasible > 0 || solution.violatesConstraints()) {
+            if (super.addNondominated(solution)) {
+                index(solution);
+                return true;
+            }
+            return false;
+        }
+
+        dominated.clear();
+        duplicates.clear();
+
+        try {
+            if (!getIndex(solution).query(solution, comparator, this::isDuplicate, dominated, duplicates)) {
+                return false;
+            }
+
+            int firstDuplicate = size();
+            for (Solution duplicate : duplicates) {
+                firstDuplicate = Math.min(firstDuplicate, indexOf(duplicate));
+            }
+
+            for (Solution dominatedSolution : dominated) {
+                int index = indexOf(dominatedSolution);
+                if (index < firstDuplicate) {
+                    remove(index);
+                    firstDuplicate--;
+                }
+            }
+
+            if (!duplicates.isEmpty()) {
+                return false;
+            }
+
+            forceAddWithoutCheck(solution);
+            index(solution);
+            return true;
+        } finally {
+            dominated.clear();
+            duplicates.clear();
+        }
+    }
+
+    @Override
+    public void remove(int index) {
+        Solution solution = get(index);
+        super.remove(index);
+        unindex(solution);
+    }
+
+    @Override
+    public boolean remove(Solution solution) {
+        boolean solutionRemoved = super.remove(solution);
+
+        if (solutionRemoved) {
+            unindex(solution);
+        }
+
+        return solutionRemoved;
+    }
+
+    @Override
+    public void replace(int index, Solution solution) {
+        super.replace(index, solution);
+        reindex();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        reindex();
+    }
+
+    /**
+     * Returns the index, creating it for the number of objectives of the solution.
+     */
+    private NondominatedIndex getIndex(Solution solution) {
+        if (index == null) {
+            if (solution.getNumberOfObjectives() == 2) {
+                index = new BiObjectiveFront(keyFunction, objectiveKeys);
+            } else {
+                index = new NDTree(keyFunction, NDTree.DEFAULT_MAX_LEAF_SIZE);
+            }
+        }
+        return index;
+    }
+
+    private void index(Solution solution) {
+        if (keyFunction != null) {
+            getIndex(solution).add(solution);
+
+            if (solution.violatesConstraints()) {
+                infeasible++;
+            }
+        }
+    }
+
+    private void unindex(Solution solution) {
+        if (index != null && index.remove(solution) && solution.violatesConstraints()) {
+            infeasible--;
+        }
+    }
+
+    /**
+     * Indexes the solutions again from scratch.
+     */
+    private void reindex() {
+        if (index != null) {
+            index.clear();
+        }
+        infeasible = 0;
+
+        for (int i = 0; i < size(); i++) {
+            index(get(i));
+        }
+    }
+}
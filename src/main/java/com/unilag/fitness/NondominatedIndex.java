@@ -0,0 +1,59 @@
+package com.unilag.fitness;
+
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Index of the solutions of a non-dominated archive, finding the solutions
+ * a new solution must be compared with without scanning the whole archive.
+ * The dominance relation must be Pareto dominance on the keys of the index.
+ *
+ * @see NDTreeArchive
+ */
+interface NondominatedIndex {
+
+    /**
+     * Adds a solution.
+     *
+     * @param solution the solution
+     */
+    void add(Solution solution);
+
+    /**
+     * Removes a solution.
+     *
+     * @param solution the solution
+     * @return {@code true} if the solution was in this index
+     */
+    boolean remove(Solution solution);
+
+    /**
+     * Removes all solutions.
+     */
+    void clear();
+
+    /**
+     * Returns the number of solutions in this index.
+     *
+     * @return the number of solutions in this index
+     */
+    int size();
+
+    /**
+     * Compares a solution with the solutions that may dominate it, be
+     * dominated by it or duplicate it.
+     *
+     * @param solution the solution
+     * @param comparator the dominance comparator, Pareto dominance on the keys
+     * @param duplicate returns {@code true} if two non-dominated solutions are duplicates
+     * @param dominated receives the solutions dominated by the solution
+     * @param duplicates receives the solutions duplicating the solution
+     * @return {@code false} as soon as a solution dominating the solution is
+     *         found, {@code true} otherwise
+     */
+    boolean query(Solution solution, DominanceComparator comparator, BiPredicate<Solution, Solution> duplicate,
+                  List<Solution> dominated, List<Solution> duplicates);
+}
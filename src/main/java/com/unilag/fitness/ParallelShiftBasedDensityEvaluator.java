@@ -0,0 +1,192 @@
+package com.unilag.fitness;
+
+import com.unilag.interfaces.FitnessSolution;
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.Population;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Shift-based density evaluator that splits the per-individual density loop
+ * of {@link ShiftBasedDensityKernel} across a {@link ForkJoinPool}.
+ *
+ * The population is packed once, then each task computes the densities of a
+ * contiguous range of individuals. Every density is summed in the same order
+ * as in {@link ShiftBasedDensityEvaluator}, so the fitness values are
+ * identical to the sequential path whatever the parallelism. Populations
+ * smaller than the threshold are evaluated sequentially, as the cost of
+ * forking would outweigh the O(N·M) work per individual.
+ *
+ * An evaluator constructed with a parallelism creates its own pool, which
+ * {@link #close()} shuts down; a pool supplied by the caller is left to the
+ * caller.
+ *
+ * @see ShiftBasedDensityEvaluator
+ */
+public class ParallelShiftBasedDensityEvaluator implements FitnessEvaluator {
+
+    /**
+     * The default population size from which the parallel path is used.
+     */
+    public static final int DEFAULT_THRESHOLD = 128;
+
+    /**
+     * The number of individuals below which a task is not split further.
+     */
+    private static final int MINIMUM_TASK_SIZE = 16;
+
+    /**
+     * The pool running the density tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * {@code true} if the pool was created by this evaluator, and is shut
+     * down by {@link #close()}.
+     */
+    private final boolean ownsPool;
+
+    /**
+     * The population size from which the parallel path is used.
+     */
+    private final int threshold;
+
+    /**
+     * The packed objective matrix reused across calls to {@link #evaluate(Population)}.
+     */
+    private final ShiftBasedDensityKernel kernel = new ShiftBasedDensityKernel();
+
+    /**
+     * The densities computed by the tasks, reused across calls.
+     */
+    private double[] densities = new double[0];
+
+    /**
+     * Constructs a parallel shift-based density evaluator with its own pool.
+     *
+     * @param parallelism the number of worker threads
+     */
+    public ParallelShiftBasedDensityEvaluator(int parallelism) {
+        this(parallelism, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructs a parallel shift-based density evaluator with its own pool.
+     *
+     * @param parallelism the number of worker threads
+     * @param threshold the population size from which the parallel path is used
+     */
+    public ParallelShiftBasedDensityEvaluator(int parallelism, int threshold) {
+        this(new ForkJoinPool(parallelism), threshold, true);
+    }
+
+    /**
+     * Constructs a parallel shift-based density evaluator running on a pool
+     * owned by the caller.
+     *
+     * @param pool the pool running the density tasks
+     * @param threshold the population size from which the parallel path is used
+     */
+    public ParallelShiftBasedDensityEvaluator(ForkJoinPool pool, int threshold) {
+        this(pool, threshold, false);
+    }
+
+    private ParallelShiftBasedDensityEvaluator(ForkJoinPool pool, int threshold, boolean ownsPool) {
+        super();
+        this.pool = pool;
+        this.threshold = threshold;
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * Evaluates the solutions in the specified population assigning the
+     * {@code FITNESS_ATTRIBUTE} attribute, as
+     * {@link ShiftBasedDensityEvaluator#evaluate(Population)} does.
+     *
+     * @param population the population to be evaluated
+     */
+    @Override
+    public void evaluate(Population population) {
+        kernel.load(population);
+        int size = kernel.size();
+
+        if (densities.length < size) {
+            densities = new double[size];
+        }
+
+        if (size < threshold || pool.isShutdown()) {
+            for (int p = 0; p < size; p++) {
+                densities[p] = kernel.density(p);
+            }
+        } else {
+            pool.invoke(new DensityTask(0, size));
+        }
+
+        for (int p = 0; p < size; p++) {
+            FitnessSolution.setFitness(population.get(p), densities[p]);
+        }
+    }
+
+    /**
+     * Shuts down the pool if it was created by this evaluator. The populations
+     * evaluated afterwards are evaluated sequentially.
+     */
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the pool running the density tasks.
+     *
+     * @return the pool running the density tasks
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the population size from which the parallel path is used.
+     *
+     * @return the population size from which the parallel path is used
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public boolean areLargerValuesPreferred() {
+        return true;
+    }
+
+    /**
+     * Computes the densities of the individuals in {@code [from, to)}.
+     */
+    private class DensityTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 2817446389511723407L;
+
+        private final int from;
+
+        private final int to;
+
+        DensityTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MINIMUM_TASK_SIZE) {
+                for (int p = from; p < to; p++) {
+                    densities[p] = kernel.density(p);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new DensityTask(from, middle), new DensityTask(middle, to));
+            }
+        }
+    }
+}
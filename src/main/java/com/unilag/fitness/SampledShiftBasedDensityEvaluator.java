@@ -0,0 +1,156 @@
+package com.unilag.fitness;
+
+import com.unilag.interfaces.FitnessSolution;
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Population;
+
+/**
+ * Approximate shift-based density evaluator for very large archives.
+ *
+ * Instead of summing the shifted distances to all N - 1 other individuals,
+ * the density of each individual is estimated from a uniform random sample,
+ * drawn without replacement, of {@code sampleSize} other individuals:
+ *
+ *     D̂(p, P) = (N - 1) / s * Σ dist(p, q′) over the sampled q
+ *
+ * The estimate is unbiased. As every shifted distance lies in [0, Dmax],
+ * where Dmax is the diagonal of the bounding box of the population, Hoeffding's
+ * inequality (which also holds when sampling without replacement) bounds the
+ * error of each estimate: with probability at least 1 - δ,
+ *
+ *     |D̂(p, P) - D(p, P)| ≤ (N - 1) · Dmax · sqrt(ln(2 / δ) / (2s))
+ *
+ * {@link #getSampleSize(double, double)} returns the sample size that keeps this
+ * relative error below a given ε. Evaluation costs O(N·s·M) instead of
+ * O(N²·M); populations with no more than {@code sampleSize + 1} individuals
+ * are evaluated exactly.
+ *
+ * Samples are drawn from {@link PRNG}, so runs remain reproducible for a seed.
+ *
+ * @see ShiftBasedDensityEvaluator
+ */
+public class SampledShiftBasedDensityEvaluator implements FitnessEvaluator {
+
+    /**
+     * The default number of individuals sampled per estimate.
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 64;
+
+    /**
+     * The number of individuals sampled per estimate.
+     */
+    private final int sampleSize;
+
+    /**
+     * The packed objective matrix reused across calls to {@link #evaluate(Population)}.
+     */
+    private final ShiftBasedDensityKernel kernel = new ShiftBasedDensityKernel();
+
+    /**
+     * The indices shuffled to draw samples, reused across calls.
+     */
+    private int[] indices = new int[0];
+
+    /**
+     * Constructs a sampled shift-based density evaluator with the default sample size.
+     */
+    public SampledShiftBasedDensityEvaluator() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Constructs a sampled shift-based density evaluator.
+     *
+     * @param sampleSize the number of individuals sampled per estimate
+     */
+    public SampledShiftBasedDensityEvaluator(int sampleSize) {
+        super();
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("sampleSize must be positive");
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Returns the sample size for which, with probability at least
+     * {@code 1 - delta}, an estimate is within {@code epsilon · (N - 1) · Dmax}
+     * of the exact density.
+     *
+     * @param epsilon the relative error
+     * @param delta the probability of exceeding the relative error
+     * @return the sample size
+     */
+    public static int getSampleSize(double epsilon, double delta) {
+        return (int)Math.ceil(Math.log(2.0 / delta) / (2.0 * epsilon * epsilon));
+    }
+
+    /**
+     * Evaluates the solutions in the specified population assigning an
+     * estimate of the shift-based density to the {@code FITNESS_ATTRIBUTE}
+     * attribute.
+     *
+     * @param population the population to be evaluated
+     */
+    @Override
+    public void evaluate(Population population) {
+        kernel.load(population);
+        int size = kernel.size();
+
+        if (size - 1 <= sampleSize) {
+            for (int p = 0; p < size; p++) {
+                FitnessSolution.setFitness(population.get(p), kernel.density(p));
+            }
+            return;
+        }
+
+        if (indices.length < size) {
+            indices = new int[size];
+        }
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+
+        double scale = (double)(size - 1) / sampleSize;
+
+        for (int p = 0; p < size; p++) {
+            double shiftValue = 0;
+            int drawn = 0;
+            int remaining = size;
+
+            // partial Fisher-Yates shuffle; indices stays a permutation of [0, size)
+            while (drawn < sampleSize) {
+                int pick = drawn + PRNG.nextInt(remaining - drawn);
+                int q = indices[pick];
+                indices[pick] = indices[drawn];
+                indices[drawn] = q;
+
+                if (q == p) {
+                    // exclude p by moving it past the sampled range
+                    remaining--;
+                    indices[drawn] = indices[remaining];
+                    indices[remaining] = q;
+                } else {
+                    shiftValue += kernel.shiftedDistance(p, q);
+                    drawn++;
+                }
+            }
+
+            FitnessSolution.setFitness(population.get(p), shiftValue * scale);
+        }
+    }
+
+    /**
+     * Returns the number of individuals sampled per estimate.
+     *
+     * @return the number of individuals sampled per estimate
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    @Override
+    public boolean areLargerValuesPreferred() {
+        return true;
+    }
+}
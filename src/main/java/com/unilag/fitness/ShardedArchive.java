@@ -0,0 +1,588 @@
+package com.unilag.fitness;
+
+import com.unilag.comparator.SCDASComparator;
+import com.unilag.helper.NondominatedFilter;
+import com.unilag.interfaces.ExecutionStrategy;
+import com.unilag.interfaces.SequentialExecution;
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link DoubleComparatorArchive} whose solutions are partitioned into
+ * shards by reference directions of the objective space, so that a batch of
+ * solutions is merged into the shards in parallel.
+ *
+ * Every solution of a batch is assigned to the shard whose reference
+ * direction is closest to its objectives, normalized by the ideal and nadir
+ * points of the archive and the batch. Each shard is an unbounded
+ * {@link NDTreeArchive} with its own dominance index, into which the
+ * solutions assigned to it are merged independently of the other shards. A
+ * reconciliation then compares the solutions that entered a shard with the
+ * solutions of the other shards, one shard at a time in parallel, and removes
+ * the solutions dominated or duplicated across shards. The solutions of the
+ * shards are thus non-dominated as a whole, and the capacity of the archive is
+ * enforced once over all of them by the {@link Truncation} of the
+ * shift-based density, as in a {@link DoubleComparatorArchive}.
+ *
+ * The shards only hold the solutions of the archive; solutions stay in the
+ * shard they were assigned to even when the normalization later changes, which
+ * only affects how well the shards are balanced. The archive keeps the same
+ * non-dominated solutions as the linear scan before truncation, but the
+ * solutions surviving the truncation of a batch may differ from those of an
+ * archive truncated after every solution.
+ *
+ * Comparators caching values in the attributes of the solutions, such as the
+ * {@link com.unilag.comparator.CDASComparator}, fill their caches on the
+ * calling thread before the shards are run, so that the shards only read
+ * them. The {@link SCDASComparator} keeps scratch arrays and cannot be shared
+ * by shards run in parallel, so it requires a {@link SequentialExecution}.
+ *
+ * A single solution is checked against the archive and added to its shard
+ * on the calling thread, so the shards pay off when the swarm is merged at
+ * once, see
+ * {@link com.unilag.interfaces.AbstractPSO#setBatchLeaderUpdates(boolean)}.
+ */
+public class ShardedArchive extends DoubleComparatorArchive {
+
+    /**
+     * The default number of shards.
+     */
+    public static final int DEFAULT_NUMBER_OF_SHARDS = 4;
+
+    /**
+     * The unit reference directions of the shards.
+     */
+    private final double[][] directions;
+
+    /**
+     * The shards.
+     */
+    private final NDTreeArchive[] shards;
+
+    /**
+     * The shard holding each solution of this archive.
+     */
+    private final Map<Solution, Integer> shardOf = new IdentityHashMap<>();
+
+    /**
+     * The strategy running the shards.
+     */
+    private final ExecutionStrategy execution;
+
+    /**
+     * Constructs an empty archive with a shard per reference direction, run
+     * in turn.
+     *
+     * @param evaluator the fitness evaluator for computing the fitness of
+     *        solutions
+     * @param capacity the maximum capacity of this archive
+     * @param comparator the dominance comparator
+     * @param fitnessComparator the fitness comparator used to truncate this archive
+     * @param directions the reference directions of the shards, with one
+     *        value per objective
+     */
+    public ShardedArchive(FitnessEvaluator evaluator, int capacity, DominanceComparator comparator,
+                          Comparator<Solution> fitnessComparator, double[][] directions) {
+        this(evaluator, capacity, comparator, fitnessComparator, directions, new SequentialExecution());
+    }
+
+    /**
+     * Constructs an empty archive with a shard per reference direction.
+     *
+     * @param evaluator the fitness evaluator for computing the fitness of
+     *        solutions
+     * @param capacity the maximum capacity of this archive
+     * @param comparator the dominance comparator
+     * @param fitnessComparator the fitness comparator used to truncate this archive
+     * @param directions the reference directions of the shards, with one
+     *        value per objective
+     * @param execution the strategy running the shards, for example a
+     *        {@link com.unilag.interfaces.ForkJoinExecution}, closed by
+     *        {@link #close()}
+     * @throws IllegalArgumentException if there is no reference direction,
+     *         if a reference direction is not positive, or if an
+     *         {@link SCDASComparator} would be run by another strategy than
+     *         a {@link SequentialExecution}
+     */
+    public ShardedArchive(FitnessEvaluator evaluator, int capacity, DominanceComparator comparator,
+                          Comparator<Solution> fitnessComparator, double[][] directions,
+                          ExecutionStrategy execution) {
+        super(evaluator, capacity, comparator, fitnessComparator);
+
+        if (directions.length == 0) {
+            throw new IllegalArgumentException("no reference direction");
+        }
+        if (execution == null) {
+            throw new IllegalArgumentException("execution is null");
+        }
+        if (comparator instanceof SCDASComparator && !(execution instanceof SequentialExecution)) {
+            throw new IllegalArgumentException("SCDAS comparators cannot be shared by shards run in parallel");
+        }
+
+        this.directions = new double[directions.length][];
+        this.shards = new NDTreeArchive[directions.length];
+        this.execution = execution;
+
+        for (int s = 0; s < directions.length; s++) {
+            double norm = 0.0;
+            for (double value : directions[s]) {
+                if (value < 0.0) {
+                    throw new IllegalArgumentException("reference direction " + s + " is negative");
+                }
+                norm += value * value;
+            }
+            if (norm == 0.0) {
+                throw new IllegalArgumentException("reference direction " + s + " is zero");
+            }
+
+            this.directions[s] = new double[directions[s].length];
+            for (int j = 0; j < directions[s].length; j++) {
+                this.directions[s][j] = directions[s][j] / Math.sqrt(norm);
+            }
+
+            shards[s] = new NDTreeArchive(evaluator, Integer.MAX_VALUE, comparator, fitnessComparator);
+        }
+    }
+
+    /**
+     * Returns reference directions spread evenly over the objective space:
+     * the points of the simplex lattice of Das and Dennis with the fewest
+     * divisions giving at least {@code numberOfShards} points, of which
+     * {@code numberOfShards} are taken at regular intervals. With a single
+     * objective, all the shards share the same direction.
+     *
+     * @param numberOfObjectives the number of objectives
+     * @param numberOfShards the number of shards
+     * @return the reference directions of the shards
+     */
+    public static double[][] referenceDirections(int numberOfObjectives, int numberOfShards) {
+        if (numberOfObjectives < 1 || numberOfShards < 1) {
+            throw new IllegalArgumentException("at least one objective and one shard are required");
+        }
+
+        List<double[]> lattice = new ArrayList<>();
+        if (numberOfObjectives == 1) {
+            lattice.add(new double[] {1.0});
+        }
+        for (int divisions = 0; lattice.size() < numberOfShards && numberOfObjectives > 1; divisions++) {
+            lattice.clear();
+            addLatticePoints(lattice, new double[numberOfObjectives], 0, divisions, divisions);
+        }
+
+        double[][] directions = new double[numberOfShards][];
+        for (int s = 0; s < numberOfShards; s++) {
+            directions[s] = lattice.get((int) ((long) s * lattice.size() / numberOfShards));
+        }
+        return directions;
+    }
+
+    private static void addLatticePoints(List<double[]> lattice, double[] point, int j, int left, int divisions) {
+        if (j == point.length - 1) {
+            double[] latticePoint = point.clone();
+            latticePoint[j] = divisions == 0 ? 1.0 : (double) left / divisions;
+            lattice.add(latticePoint);
+            return;
+        }
+
+        for (int k = 0; k <= left; k++) {
+            point[j] = divisions == 0 ? 1.0 : (double) k / divisions;
+            addLatticePoints(lattice, point, j + 1, left - k, divisions);
+        }
+    }
+
+    public int getNumberOfShards() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the number of solutions of a shard.
+     *
+     * @param shard the index of the shard
+     * @return the number of solutions of the shard
+     */
+    public int getShardSize(int shard) {
+        return shards[shard].size();
+    }
+
+    /**
+     * Adds the solution to the shard it is assigned to unless a solution of
+     * this archive dominates or duplicates it, removing the solutions it
+     * dominates, then truncates this archive to its capacity. The archive is
+     * scanned once on the calling thread, as in a
+     * {@link DoubleComparatorArchive}, instead of running the shards for a
+     * batch of one.
+     *
+     * @param solution the solution being added
+     * @return {@code true} if the solution was added
+     */
+    @Override
+    public boolean add(Solution solution) {
+        cacheComparatorValues(solution);
+
+        List<Solution> dominated = new ArrayList<>();
+        for (Solution member : this) {
+            int flag = comparator.compare(solution, member);
+
+            if (flag > 0 || (flag == 0 && isDuplicate(solution, member))) {
+                return false;
+            } else if (flag < 0) {
+                dominated.add(member);
+            }
+        }
+
+        for (Solution member : dominated) {
+            remove(member);
+        }
+
+        int shard = assign(solution, getBounds(Collections.singletonList(solution)));
+        shards[shard].add(solution);
+        shardOf.put(solution, shard);
+        forceAddWithoutCheck(solution);
+        modified();
+
+        if (size() > getCapacity()) {
+            truncateToCapacity();
+        }
+
+        return true;
+    }
+
+    /**
+     * Merges the solutions of the batch not dominated by another solution of
+     * the batch into the shards, reconciles the shards and truncates this
+     * archive once to its capacity.
+     *
+     * @param solutions the solutions being added
+     * @return {@code true} if a solution was added
+     */
+    @Override
+    public boolean addBatch(Solution[] solutions) {
+        List<Solution> batch = NondominatedFilter.filter(solutions, comparator);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        fillComparatorCaches(batch);
+
+        Map<Solution, Integer> batchOrder = new IdentityHashMap<>();
+        List<Solution> unique = new ArrayList<>();
+        for (Solution solution : batch) {
+            if (!batchOrder.containsKey(solution)) {
+                batchOrder.put(solution, unique.size());
+                unique.add(solution);
+            }
+        }
+
+        double[][] bounds = getBounds(unique);
+        int[] assignment = new int[unique.size()];
+        List<List<Solution>> assigned = new ArrayList<>();
+        for (int s = 0; s < shards.length; s++) {
+            assigned.add(new ArrayList<>());
+        }
+        for (int k = 0; k < unique.size(); k++) {
+            assignment[k] = assign(unique.get(k), bounds);
+            assigned.get(assignment[k]).add(unique.get(k));
+        }
+
+        // merges the solutions assigned to each shard into the shard
+        List<List<Solution>> entered = new ArrayList<>(Collections.nCopies(shards.length, null));
+        execution.forEach(shards.length, s -> entered.set(s, merge(shards[s], assigned.get(s))));
+
+        int[] offsets = new int[shards.length + 1];
+        for (int s = 0; s < shards.length; s++) {
+            offsets[s + 1] = offsets[s] + entered.get(s).size();
+        }
+
+        // removes from each shard the solutions dominated by a solution that
+        // entered another shard, and flags the entered solutions dominated
+        // or duplicated by a solution of the shard
+        boolean[][] flagged = new boolean[shards.length][];
+        execution.forEach(shards.length, t -> flagged[t] = reconcile(t, entered, offsets, batchOrder));
+
+        for (int s = 0; s < shards.length; s++) {
+            for (int k = 0; k < entered.get(s).size(); k++) {
+                for (int t = 0; t < shards.length; t++) {
+                    if (flagged[t][offsets[s] + k]) {
+                        shards[s].remove(entered.get(s).get(k));
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean solutionAdded = synchronizeWithShards(unique, assignment);
+
+        if (size() > getCapacity()) {
+            truncateToCapacity();
+        }
+
+        return solutionAdded;
+    }
+
+    /**
+     * Caches the values the comparator compares on the solutions of the
+     * batch and of this archive, before the shards compare them concurrently.
+     */
+    private void fillComparatorCaches(List<Solution> batch) {
+        for (Solution solution : batch) {
+            cacheComparatorValues(solution);
+        }
+        for (Solution solution : this) {
+            cacheComparatorValues(solution);
+        }
+    }
+
+    /**
+     * Returns the ideal and nadir points of this archive and the batch.
+     */
+    private double[][] getBounds(List<Solution> batch) {
+        int numberOfObjectives = batch.get(0).getNumberOfObjectives();
+        double[] ideal = new double[numberOfObjectives];
+        double[] nadir = new double[numberOfObjectives];
+        Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+        Arrays.fill(nadir, Double.NEGATIVE_INFINITY);
+
+        for (Solution solution : batch) {
+            includeInBounds(solution, ideal, nadir);
+        }
+        for (Solution solution : this) {
+            includeInBounds(solution, ideal, nadir);
+        }
+        return new double[][] {ideal, nadir};
+    }
+
+    private static void includeInBounds(Solution solution, double[] ideal, double[] nadir) {
+        for (int j = 0; j < ideal.length; j++) {
+            ideal[j] = Math.min(ideal[j], solution.getObjective(j));
+            nadir[j] = Math.max(nadir[j], solution.getObjective(j));
+        }
+    }
+
+    /**
+     * Returns the shard whose reference direction makes the smallest angle
+     * with the normalized objectives of the solution.
+     */
+    private int assign(Solution solution, double[][] bounds) {
+        int shard = 0;
+        double bestProjection = Double.NEGATIVE_INFINITY;
+
+        for (int s = 0; s < shards.length; s++) {
+            double projection = 0.0;
+            for (int j = 0; j < directions[s].length; j++) {
+                double range = bounds[1][j] - bounds[0][j];
+                double normalized = range > 0.0 ? (solution.getObjective(j) - bounds[0][j]) / range : 0.0;
+                projection += normalized * directions[s][j];
+            }
+            if (projection > bestProjection) {
+                shard = s;
+                bestProjection = projection;
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * Merges the solutions into the shard and returns those still in the shard.
+     */
+    private static List<Solution> merge(NDTreeArchive shard, List<Solution> solutions) {
+        boolean solutionAdded = false;
+        for (Solution solution : solutions) {
+            solutionAdded |= shard.add(solution);
+        }
+
+        List<Solution> entered = new ArrayList<>();
+        if (solutionAdded) {
+            Set<Solution> members = identitySet(shard);
+            for (Solution solution : solutions) {
+                if (members.contains(solution)) {
+                    entered.add(solution);
+                }
+            }
+        }
+        return entered;
+    }
+
+    /**
+     * Compares the solutions of shard t with the solutions that entered the
+     * other shards. Removes the solutions of shard t they dominate, and
+     * returns the entered solutions that a solution of shard t dominates or
+     * duplicates; of two duplicates that entered with the batch, the first
+     * one is kept.
+     */
+    private boolean[] reconcile(int t, List<List<Solution>> entered, int[] offsets,
+                                Map<Solution, Integer> batchOrder) {
+        boolean[] flagged = new boolean[offsets[shards.length]];
+        List<Solution> dominated = new ArrayList<>();
+
+        for (Solution member : shards[t]) {
+            Integer memberOrder = batchOrder.get(member);
+            boolean memberDominated = false;
+
+            for (int s = 0; s < shards.length; s++) {
+                if (s == t) {
+                    continue;
+                }
+
+                for (int k = 0; k < entered.get(s).size(); k++) {
+                    Solution solution = entered.get(s).get(k);
+                    int flag = comparator.compare(solution, member);
+
+                    if (flag < 0) {
+                        memberDominated = true;
+                    } else if (flag > 0 || (isDuplicate(solution, member)
+                            && (memberOrder == null || memberOrder < batchOrder.get(solution)))) {
+                        flagged[offsets[s] + k] = true;
+                    }
+                }
+            }
+
+            if (memberDominated) {
+                dominated.add(member);
+            }
+        }
+
+        for (Solution member : dominated) {
+            shards[t].remove(member);
+        }
+        return flagged;
+    }
+
+    /**
+     * Removes the solutions of this archive no longer in their shard, then
+     * adds the solutions of the batch that stayed in their shard, in the
+     * order of the batch.
+     */
+    private boolean synchronizeWithShards(List<Solution> batch, int[] assignment) {
+        for (int i = size() - 1; i >= 0; i--) {
+            Solution solution = get(i);
+            if (!shards[shardOf.get(solution)].contains(solution)) {
+                shardOf.remove(solution);
+                super.remove(i);
+            }
+        }
+
+        List<Set<Solution>> members = new ArrayList<>();
+        for (NDTreeArchive shard : shards) {
+            members.add(identitySet(shard));
+        }
+
+        boolean solutionAdded = false;
+        for (int k = 0; k < batch.size(); k++) {
+            Solution solution = batch.get(k);
+            if (members.get(assignment[k]).contains(solution)) {
+                shardOf.put(solution, assignment[k]);
+                forceAddWithoutCheck(solution);
+                solutionAdded = true;
+            }
+        }
+
+        if (solutionAdded) {
+            modified();
+        }
+        return solutionAdded;
+    }
+
+    private static Set<Solution> identitySet(Iterable<Solution> solutions) {
+        Set<Solution> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Solution solution : solutions) {
+            set.add(solution);
+        }
+        return set;
+    }
+
+    @Override
+    public void remove(int index) {
+        Solution solution = get(index);
+        super.remove(index);
+        unshard(solution);
+    }
+
+    @Override
+    public boolean remove(Solution solution) {
+        boolean solutionRemoved = super.remove(solution);
+
+        if (solutionRemoved) {
+            unshard(solution);
+        }
+
+        return solutionRemoved;
+    }
+
+    @Override
+    public void replace(int index, Solution solution) {
+        super.replace(index, solution);
+        reshard();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        reshard();
+    }
+
+    /**
+     * Closes the fitness evaluator and the strategy running the shards, which
+     * shuts down the pools they created.
+     */
+    @Override
+    public void close() {
+        super.close();
+        execution.close();
+    }
+
+    @Override
+    public void truncate(int size, Comparator<? super Solution> comparator) {
+        super.truncate(size, comparator);
+
+        Set<Solution> members = identitySet(this);
+        for (Solution solution : new ArrayList<>(shardOf.keySet())) {
+            if (!members.contains(solution)) {
+                unshard(solution);
+            }
+        }
+    }
+
+    private void unshard(Solution solution) {
+        Integer shard = shardOf.remove(solution);
+        if (shard != null) {
+            shards[shard].remove(solution);
+        }
+    }
+
+    /**
+     * Distributes the solutions of this archive over the shards again from
+     * scratch.
+     */
+    private void reshard() {
+        shardOf.clear();
+        for (NDTreeArchive shard : shards) {
+            shard.clear();
+        }
+
+        if (isEmpty()) {
+            return;
+        }
+
+        List<Solution> solutions = new ArrayList<>();
+        for (Solution solution : this) {
+            solutions.add(solution);
+        }
+
+        double[][] bounds = getBounds(solutions);
+        for (Solution solution : solutions) {
+            int shard = assign(solution, bounds);
+            shardOf.put(solution, shard);
+            shards[shard].add(solution);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.unilag.fitness;
 
-import com.unilag.helper.Utils;
+import com.unilag.interfaces.FitnessSolution;
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Solution;
@@ -11,6 +11,11 @@ import java.util.List;
 
 public class ShiftBasedDensityEvaluator implements FitnessEvaluator {
 
+    /**
+     * The packed objective matrix reused across calls to {@link #evaluate(Population)}.
+     */
+    private final ShiftBasedDensityKernel kernel = new ShiftBasedDensityKernel();
+
     /**
      * Constructs a new shift-based density fitness evaluator.
      */
@@ -56,21 +61,30 @@ public class ShiftBasedDensityEvaluator implements FitnessEvaluator {
      *   </li>
      * </ol>
      *
+     * The shifted distances are computed by a {@link ShiftBasedDensityKernel}
+     * over a packed objective matrix, so only the fitness attribute of each
+     * solution is written. This evaluator is therefore not thread-safe.
+     *
      * @param population the population to be evaluated
      */
     @Override
     public void evaluate(Population population) {
+        kernel.load(population);
 
-        for(Solution individual : population) {
-            List<Solution> solutionList = getShiftedPopulationForIndividual(individual, copy(population));
-            double shiftValue = 0;
-            for(Solution shiftIndividual : solutionList) {
-                shiftValue += Utils.euclideanDistance(individual, shiftIndividual);
-            }
-            individual.setAttribute(FITNESS_ATTRIBUTE, shiftValue);
+        for(int p = 0; p < kernel.size(); p++) {
+            FitnessSolution.setFitness(population.get(p), kernel.density(p));
         }
     }
 
+    /**
+     * Returns the shifted versions q′ of every other individual in the
+     * population with respect to the current individual. This is the
+     * solution based reference for {@link ShiftBasedDensityKernel}.
+     *
+     * @param current the individual whose density is being estimated
+     * @param population the population
+     * @return the shifted copies of the other individuals
+     */
     List<Solution> getShiftedPopulationForIndividual(Solution current, Population population) {
         Population truncatedPopulation = copy(population);
         truncatedPopulation.remove(current);
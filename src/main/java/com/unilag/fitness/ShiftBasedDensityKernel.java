@@ -0,0 +1,136 @@
+package com.unilag.fitness;
+
+import org.moeaframework.core.Population;
+
+/**
+ * Primitive engine behind the shift-based density estimation (SDE).
+ * The objectives of a population are packed row by row into a single
+ * {@code double[]} so that the shifted distance between two individuals
+ * can be computed in place, without copying solutions or creating
+ * comparators.
+ *
+ * The packed matrix is kept between calls and only grows when a larger
+ * population is loaded, so repeated evaluations of an archive of bounded
+ * size allocate nothing after the first call.
+ *
+ * The summation order matches {@link ShiftBasedDensityEvaluator#getShiftedPopulationForIndividual}
+ * followed by {@link com.unilag.helper.Utils#euclideanDistance}, so the
+ * values produced are bit-identical to the solution based implementation.
+ *
+ * Instances are not thread-safe; the loaded matrix may however be read
+ * concurrently once {@link #load(Population)} has returned.
+ */
+public final class ShiftBasedDensityKernel {
+
+    /**
+     * The packed objectives, {@code numberOfObjectives} values per individual.
+     */
+    private double[] objectives = new double[0];
+
+    /**
+     * The number of individuals currently loaded.
+     */
+    private int size;
+
+    /**
+     * The number of objectives of the loaded individuals.
+     */
+    private int numberOfObjectives;
+
+    /**
+     * Packs the objectives of the population into the matrix, growing the
+     * matrix only when it is too small.
+     *
+     * @param population the population to be loaded
+     */
+    public void load(Population population) {
+        size = population.size();
+        numberOfObjectives = size == 0 ? 0 : population.get(0).getNumberOfObjectives();
+        ensureCapacity(size * numberOfObjectives);
+
+        for (int p = 0; p < size; p++) {
+            int offset = p * numberOfObjectives;
+            for (int i = 0; i < numberOfObjectives; i++) {
+                objectives[offset + i] = population.get(p).getObjective(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the shifted distance dist(p, q′) where q′ is q shifted
+     * towards p on every objective in which q is better than p.
+     *
+     * @param p the row of the individual being estimated
+     * @param q the row of the other individual
+     * @return the shifted distance of q from p
+     */
+    public double shiftedDistance(int p, int q) {
+        return shiftedDistance(objectives, p * numberOfObjectives, q * numberOfObjectives, numberOfObjectives);
+    }
+
+    /**
+     * Returns the shift-based density D(p, P) of the individual in row p,
+     * that is the sum of the shifted distances to every other individual.
+     *
+     * @param p the row of the individual being estimated
+     * @return the shift-based density of the individual
+     */
+    public double density(int p) {
+        double shiftValue = 0;
+        int pOffset = p * numberOfObjectives;
+        for (int q = 0; q < size; q++) {
+            if (q != p) {
+                shiftValue += shiftedDistance(objectives, pOffset, q * numberOfObjectives, numberOfObjectives);
+            }
+        }
+        return shiftValue;
+    }
+
+    /**
+     * Returns the number of individuals currently loaded.
+     *
+     * @return the number of individuals currently loaded
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of objectives of the loaded individuals.
+     *
+     * @return the number of objectives of the loaded individuals
+     */
+    public int getNumberOfObjectives() {
+        return numberOfObjectives;
+    }
+
+    /**
+     * Returns the shifted distance between two packed objective vectors.
+     * A value of q that is smaller than the corresponding value of p is
+     * shifted onto p; {@code d * d} is used as it is exactly what
+     * {@code Math.pow(d, 2)} returns.
+     *
+     * @param objectives the packed objectives
+     * @param pOffset the offset of the individual being estimated
+     * @param qOffset the offset of the other individual
+     * @param numberOfObjectives the number of objectives per individual
+     * @return the shifted distance of q from p
+     */
+    static double shiftedDistance(double[] objectives, int pOffset, int qOffset, int numberOfObjectives) {
+        double sum = 0;
+        for (int i = 0; i < numberOfObjectives; i++) {
+            double pValue = objectives[pOffset + i];
+            double qValue = objectives[qOffset + i];
+            double shiftedValue = qValue < pValue ? pValue : qValue;
+            double difference = pValue - shiftedValue;
+            sum += difference * difference;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private void ensureCapacity(int length) {
+        if (objectives.length < length) {
+            objectives = new double[Math.max(length, objectives.length * 2)];
+        }
+    }
+}
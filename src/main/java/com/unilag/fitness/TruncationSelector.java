@@ -0,0 +1,261 @@
+package com.unilag.fitness;
+
+import com.unilag.comparator.ShiftBasedDensityComparator;
+import com.unilag.comparator.WSumComparator;
+import com.unilag.interfaces.FitnessSolution;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.FitnessComparator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static com.unilag.interfaces.SumFitnessEvaluator.WSUM_FITNESS_ATTRIBUTE;
+import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
+
+/**
+ * Selects the solutions removed when an archive is truncated, reading the
+ * fitness attribute of every solution once into a primitive array instead
+ * of sorting the archive with a comparator that unboxes two attributes per
+ * comparison.
+ *
+ * {@link #selectWorst} keeps the {@code count} worst solutions in a binary
+ * heap, in O(N log count). Ties are broken as a stable sort followed by the
+ * removal of the last solutions would break them, so it selects the same
+ * solutions as {@link Population#truncate(int, Comparator)}.
+ *
+ * {@link #selectIteratively} repeatedly removes the solution with the
+ * lowest shift-based density and subtracts its shifted distance from the
+ * density of every remaining solution, in O(count·N·M). Unlike a single
+ * selection, the densities of the survivors then never account for removed
+ * solutions.
+ *
+ * Instances reuse their arrays between calls and are not thread-safe.
+ */
+final class TruncationSelector {
+
+    /**
+     * The attribute holding the fitness.
+     */
+    private final String attribute;
+
+    /**
+     * {@code true} if larger fitness values are preferred.
+     */
+    private final boolean largerValuesPreferred;
+
+    /**
+     * The fitness of each solution.
+     */
+    private double[] keys = new double[0];
+
+    /**
+     * The packed objectives used by the iterative selection.
+     */
+    private final ShiftBasedDensityKernel kernel = new ShiftBasedDensityKernel();
+
+    /**
+     * Constructs a selector reading the fitness from an attribute.
+     *
+     * @param attribute the attribute holding the fitness
+     * @param largerValuesPreferred {@code true} if larger fitness values are preferred
+     */
+    TruncationSelector(String attribute, boolean largerValuesPreferred) {
+        this.attribute = attribute;
+        this.largerValuesPreferred = largerValuesPreferred;
+    }
+
+    /**
+     * Returns a selector ordering the solutions as the fitness comparator
+     * does, or {@code null} if the comparator does not compare a single
+     * fitness attribute.
+     *
+     * @param comparator the fitness comparator
+     * @return a selector, or {@code null}
+     */
+    static TruncationSelector forComparator(Comparator<? super Solution> comparator) {
+        if (comparator.getClass() == ShiftBasedDensityComparator.class) {
+            return new TruncationSelector(FITNESS_ATTRIBUTE,
+                    ((ShiftBasedDensityComparator) comparator).areLargerValuesPreferred());
+        } else if (comparator.getClass() == WSumComparator.class) {
+            return new TruncationSelector(WSUM_FITNESS_ATTRIBUTE,
+                    ((WSumComparator) comparator).areLargerValuesPreferred());
+        } else if (comparator.getClass() == FitnessComparator.class) {
+            // the framework's comparator does not expose its direction, so ask it
+            Solution smaller = new Solution(0, 0);
+            smaller.setAttribute(FITNESS_ATTRIBUTE, 0.0);
+            Solution larger = new Solution(0, 0);
+            larger.setAttribute(FITNESS_ATTRIBUTE, 1.0);
+
+            return new TruncationSelector(FITNESS_ATTRIBUTE, comparator.compare(larger, smaller) < 0);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the selector reads shift-based densities,
+     * where larger values are preferred.
+     *
+     * @return {@code true} if the selector reads shift-based densities
+     */
+    boolean isDensity() {
+        return attribute.equals(FITNESS_ATTRIBUTE) && largerValuesPreferred;
+    }
+
+    /**
+     * Returns the indices of the {@code count} solutions with the worst
+     * fitness, in decreasing order so that they can be removed in turn.
+     *
+     * @param population the evaluated population
+     * @param count the number of solutions to remove
+     * @return the indices of the solutions to remove, in decreasing order
+     */
+    int[] selectWorst(Population population, int count) {
+        int size = load(population);
+        int[] heap = new int[count];
+
+        // the heap holds the worst solutions found so far, the best of them at the root
+        for (int i = 0; i < size; i++) {
+            if (i < count) {
+                heap[i] = i;
+                siftUp(heap, i);
+            } else if (count > 0 && isWorse(i, heap[0])) {
+                heap[0] = i;
+                siftDown(heap, count);
+            }
+        }
+
+        return descending(heap);
+    }
+
+    /**
+     * Returns the indices of the {@code count} solutions removed one at a
+     * time, each being the one with the lowest shift-based density among
+     * the remaining solutions, in decreasing order. The densities of the
+     * remaining solutions are written to their fitness attribute.
+     *
+     * @param population the population, evaluated by a shift-based density evaluator
+     * @param count the number of solutions to remove
+     * @return the indices of the solutions to remove, in decreasing order
+     */
+    int[] selectIteratively(Population population, int count) {
+        int size = load(population);
+        kernel.load(population);
+
+        boolean[] removed = new boolean[size];
+        int[] selected = new int[count];
+
+        for (int k = 0; k < count; k++) {
+            int worst = -1;
+            for (int i = 0; i < size; i++) {
+                if (!removed[i] && (worst < 0 || isWorse(i, worst))) {
+                    worst = i;
+                }
+            }
+
+            removed[worst] = true;
+            selected[k] = worst;
+
+            for (int p = 0; p < size; p++) {
+                if (!removed[p]) {
+                    keys[p] -= kernel.shiftedDistance(p, worst);
+                }
+            }
+        }
+
+        for (int p = 0; p < size; p++) {
+            if (!removed[p]) {
+                setKey(population.get(p), keys[p]);
+            }
+        }
+
+        return descending(selected);
+    }
+
+    /**
+     * Reads the fitness of every solution.
+     *
+     * @return the number of solutions
+     */
+    private int load(Population population) {
+        int size = population.size();
+        if (keys.length < size) {
+            keys = new double[Math.max(size, keys.length * 2)];
+        }
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = getKey(population.get(i));
+        }
+        return size;
+    }
+
+    private double getKey(Solution solution) {
+        return attribute.equals(FITNESS_ATTRIBUTE)
+                ? FitnessSolution.getFitness(solution)
+                : FitnessSolution.getWSumFitness(solution);
+    }
+
+    private void setKey(Solution solution, double key) {
+        if (attribute.equals(FITNESS_ATTRIBUTE)) {
+            FitnessSolution.setFitness(solution, key);
+        } else {
+            FitnessSolution.setWSumFitness(solution, key);
+        }
+    }
+
+    /**
+     * Returns {@code true} if solution i comes after solution j in a stable
+     * sort on fitness, best first.
+     */
+    private boolean isWorse(int i, int j) {
+        int flag = largerValuesPreferred ? Double.compare(keys[j], keys[i]) : Double.compare(keys[i], keys[j]);
+        return flag > 0 || (flag == 0 && i > j);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isWorse(heap[parent], heap[index])) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int best = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+
+            if (left < size && isWorse(heap[best], heap[left])) {
+                best = left;
+            }
+            if (right < size && isWorse(heap[best], heap[right])) {
+                best = right;
+            }
+            if (best == index) {
+                return;
+            }
+            swap(heap, index, best);
+            index = best;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int value = heap[i];
+        heap[i] = heap[j];
+        heap[j] = value;
+    }
+
+    private static int[] descending(int[] indices) {
+        Arrays.sort(indices);
+        for (int i = 0, j = indices.length - 1; i < j; i++, j--) {
+            swap(indices, i, j);
+        }
+        return indices;
+    }
+}
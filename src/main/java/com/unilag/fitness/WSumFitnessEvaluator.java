@@ -1,6 +1,8 @@
 package com.unilag.fitness;
 
+import com.unilag.interfaces.FitnessSolution;
 import com.unilag.interfaces.SumFitnessEvaluator;
+import com.unilag.interfaces.VersionedFitnessEvaluator;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Solution;
 
@@ -24,12 +26,17 @@ import java.io.Serializable;
  * select personal bests for each particle in the swarm
  *
  */
-public class WSumFitnessEvaluator implements SumFitnessEvaluator, Serializable {
+public class WSumFitnessEvaluator implements SumFitnessEvaluator, VersionedFitnessEvaluator, Serializable {
 
     private static final long serialVersionUID = -1779814832721413540L;
 
     private Solution particle;
 
+    /**
+     * The version of the reference particle, incremented whenever it is replaced.
+     */
+    private long version;
+
     /**
      * Constructs a WSumFitnessEvaluator
      */
@@ -38,19 +45,53 @@ public class WSumFitnessEvaluator implements SumFitnessEvaluator, Serializable {
         this.particle = particle;
     }
 
+    public Solution getParticle() {
+        return particle;
+    }
+
+    /**
+     * Replaces the reference particle the weighted sums are computed against.
+     *
+     * @param particle the new reference particle
+     */
+    public void setParticle(Solution particle) {
+        if (particle != this.particle) {
+            this.particle = particle;
+            version++;
+        }
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public void evaluate(Population population) {
         for(Solution individual : population) {
-            double weightedAggregate = 0;
-            double objectiveSum = 0;
-            for(int i= 0; i < individual.getNumberOfObjectives(); i++) {
-                objectiveSum += individual.getObjective(i);
-            }
-            for(int j = 0; j < individual.getNumberOfObjectives(); j++) {
-                weightedAggregate += (individual.getObjective(j)/objectiveSum) * particle.getObjective(j);
-            }
-            individual.setAttribute(WSUM_FITNESS_ATTRIBUTE, weightedAggregate);
+            FitnessSolution.setWSumFitness(individual, weightedSum(individual, particle));
+        }
+    }
+
+    /**
+     * Returns the weighted sum of an individual with respect to a particle,
+     * the value {@link #evaluate(Population)} assigns, without touching the
+     * attributes of either solution.
+     *
+     * @param individual the individual being weighted
+     * @param particle the reference particle
+     * @return the weighted sum of the individual
+     */
+    public static double weightedSum(Solution individual, Solution particle) {
+        double weightedAggregate = 0;
+        double objectiveSum = 0;
+        for(int i= 0; i < individual.getNumberOfObjectives(); i++) {
+            objectiveSum += individual.getObjective(i);
+        }
+        for(int j = 0; j < individual.getNumberOfObjectives(); j++) {
+            weightedAggregate += (individual.getObjective(j)/objectiveSum) * particle.getObjective(j);
         }
+        return weightedAggregate;
     }
 
     @Override
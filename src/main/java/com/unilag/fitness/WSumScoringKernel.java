@@ -0,0 +1,183 @@
+package com.unilag.fitness;
+
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+
+/**
+ * Batch engine behind weighted sum (WSum) scoring. The objectives of every
+ * candidate, typically the leader archive, are divided once by their sum and
+ * packed row by row into a normalized objective matrix, so that scoring a
+ * candidate against a particle is a single dot product:
+ *
+ *     wsum(k, p) = Σ f(k, j) / Σ f(k, ·) * p(j)
+ *
+ * Scoring a whole swarm against all candidates, or against the candidates
+ * each particle sampled, is then one dense pass over the matrix instead of
+ * one {@link WSumFitnessEvaluator} call per particle. The products are summed
+ * in the same order as {@link WSumFitnessEvaluator#weightedSum}, so the scores
+ * are bit-identical to the solution based implementation.
+ *
+ * The matrix only grows when a larger population is loaded. Instances are not
+ * thread-safe; the loaded matrix may however be read concurrently once
+ * {@link #load(Population)} has returned, which is how every
+ * {@link com.unilag.interfaces.LeaderSnapshot} scores its leaders.
+ */
+public final class WSumScoringKernel {
+
+    /**
+     * The normalized objectives, {@code numberOfObjectives} values per candidate.
+     */
+    private double[] normalized = new double[0];
+
+    /**
+     * The number of candidates currently loaded.
+     */
+    private int size;
+
+    /**
+     * The number of objectives of the loaded candidates.
+     */
+    private int numberOfObjectives;
+
+    /**
+     * Normalizes and packs the objectives of the candidates, growing the
+     * matrix only when it is too small.
+     *
+     * @param candidates the candidates to be loaded
+     */
+    public void load(Population candidates) {
+        resize(candidates.size(), candidates.isEmpty() ? 0 : candidates.get(0).getNumberOfObjectives());
+
+        for (int k = 0; k < size; k++) {
+            loadRow(k, candidates.get(k));
+        }
+    }
+
+    /**
+     * Normalizes and packs the objectives of the candidates, growing the
+     * matrix only when it is too small.
+     *
+     * @param candidates the candidates to be loaded
+     */
+    public void load(Solution[] candidates) {
+        resize(candidates.length, candidates.length == 0 ? 0 : candidates[0].getNumberOfObjectives());
+
+        for (int k = 0; k < size; k++) {
+            loadRow(k, candidates[k]);
+        }
+    }
+
+    private void resize(int size, int numberOfObjectives) {
+        this.size = size;
+        this.numberOfObjectives = numberOfObjectives;
+
+        int length = size * numberOfObjectives;
+        if (normalized.length < length) {
+            normalized = new double[Math.max(length, normalized.length * 2)];
+        }
+    }
+
+    private void loadRow(int k, Solution candidate) {
+        int offset = k * numberOfObjectives;
+
+        double objectiveSum = 0;
+        for (int j = 0; j < numberOfObjectives; j++) {
+            objectiveSum += candidate.getObjective(j);
+        }
+        for (int j = 0; j < numberOfObjectives; j++) {
+            normalized[offset + j] = candidate.getObjective(j) / objectiveSum;
+        }
+    }
+
+    /**
+     * Returns the weighted sum of candidate k with respect to a particle.
+     *
+     * @param k the row of the candidate
+     * @param particle the reference particle
+     * @return the weighted sum of the candidate
+     */
+    public double score(int k, Solution particle) {
+        double weightedAggregate = 0;
+        int offset = k * numberOfObjectives;
+        for (int j = 0; j < numberOfObjectives; j++) {
+            weightedAggregate += normalized[offset + j] * particle.getObjective(j);
+        }
+        return weightedAggregate;
+    }
+
+    /**
+     * Returns the weighted sum of candidate k with respect to a packed particle.
+     *
+     * @param k the row of the candidate
+     * @param particles the packed objectives of the particles
+     * @param particleOffset the offset of the particle
+     * @return the weighted sum of the candidate
+     */
+    public double score(int k, double[] particles, int particleOffset) {
+        double weightedAggregate = 0;
+        int offset = k * numberOfObjectives;
+        for (int j = 0; j < numberOfObjectives; j++) {
+            weightedAggregate += normalized[offset + j] * particles[particleOffset + j];
+        }
+        return weightedAggregate;
+    }
+
+    /**
+     * Scores every candidate against every particle, so that
+     * {@code scores[p * size() + k]} is the weighted sum of candidate k with
+     * respect to particle p.
+     *
+     * @param particles the packed objectives of the particles
+     * @param numberOfParticles the number of particles
+     * @param scores the scores, at least {@code numberOfParticles * size()} long
+     */
+    public void scoreAll(double[] particles, int numberOfParticles, double[] scores) {
+        for (int p = 0; p < numberOfParticles; p++) {
+            int particleOffset = p * numberOfObjectives;
+            int scoreOffset = p * size;
+            for (int k = 0; k < size; k++) {
+                scores[scoreOffset + k] = score(k, particles, particleOffset);
+            }
+        }
+    }
+
+    /**
+     * Scores the candidates sampled by each particle, so that
+     * {@code scores[p * samplesPerParticle + s]} is the weighted sum of
+     * candidate {@code samples[p * samplesPerParticle + s]} with respect to
+     * particle p.
+     *
+     * @param particles the packed objectives of the particles
+     * @param numberOfParticles the number of particles
+     * @param samples the rows of the candidates sampled by each particle
+     * @param samplesPerParticle the number of candidates sampled by each particle
+     * @param scores the scores, at least as long as the samples
+     */
+    public void scoreSampled(double[] particles, int numberOfParticles, int[] samples, int samplesPerParticle,
+                             double[] scores) {
+        for (int p = 0; p < numberOfParticles; p++) {
+            int particleOffset = p * numberOfObjectives;
+            for (int s = p * samplesPerParticle; s < (p + 1) * samplesPerParticle; s++) {
+                scores[s] = score(samples[s], particles, particleOffset);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of candidates currently loaded.
+     *
+     * @return the number of candidates currently loaded
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of objectives of the loaded candidates.
+     *
+     * @return the number of objectives of the loaded candidates
+     */
+    public int getNumberOfObjectives() {
+        return numberOfObjectives;
+    }
+}
@@ -0,0 +1,156 @@
+package com.unilag.helper;
+
+import com.unilag.comparator.CDASComparator;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.comparator.ParetoObjectiveComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Finds the non-dominated subset of a batch of solutions, such as a newly
+ * evaluated swarm, before it is merged into an archive. Solutions dominated
+ * by another solution of the batch cannot survive in the archive, so merging
+ * only the subset spares the archive scans of every dominated solution. For
+ * an unbounded archive, this gives the same archive as merging the whole
+ * batch in turn; a bounded archive may be truncated differently, since a
+ * dominated solution merged in turn can fill the archive and trigger a
+ * truncation before the solution dominating it removes it.
+ *
+ * When the comparator is Pareto dominance on some key of feasible solutions
+ * (see {@link #getKeyFunction(DominanceComparator)}), the first front is
+ * found as the efficient non-dominated sort of Zhang et al. does: the
+ * solutions are sorted
+ * lexicographically on their keys, so a solution can only be dominated by
+ * those before it, and each one is compared with the front found so far,
+ * most recent first. With two keys, the most recent member of the front has
+ * the smallest second key, so it is the only comparison needed, as in the
+ * algorithm of Kung et al. Other comparators are handled by a
+ * {@link NondominatedPopulation}.
+ *
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Kung, H. T., F. Luccio, and F. P. Preparata (1975).  On Finding the
+ *       Maxima of a Set of Vectors.  Journal of the ACM, 22(4), pp. 469-476.
+ *   <li>Zhang, X., Y. Tian, R. Cheng, and Y. Jin (2015).  An Efficient
+ *       Approach to Nondominated Sorting for Evolutionary Multiobjective
+ *       Optimization.  IEEE Transactions on Evolutionary Computation, 19(2),
+ *       pp. 201-213.
+ * </ol>
+ */
+public final class NondominatedFilter {
+
+    private NondominatedFilter() {
+        super();
+    }
+
+    /**
+     * Returns the solutions not dominated by another solution of the batch,
+     * in their order in the batch. Duplicates may be kept; archives reject
+     * them when the subset is merged.
+     *
+     * @param solutions the batch of solutions
+     * @param comparator the dominance comparator
+     * @return the non-dominated solutions of the batch
+     */
+    public static List<Solution> filter(Solution[] solutions, DominanceComparator comparator) {
+        Function<Solution, double[]> keyFunction = getKeyFunction(comparator);
+
+        if (keyFunction == null || solutions.length < 2) {
+            return fallback(solutions, comparator);
+        }
+        for (Solution solution : solutions) {
+            if (solution.violatesConstraints()) {
+                return fallback(solutions, comparator);
+            }
+        }
+
+        double[][] keys = new double[solutions.length][];
+        Integer[] order = new Integer[solutions.length];
+        for (int i = 0; i < solutions.length; i++) {
+            keys[i] = keyFunction.apply(solutions[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> compareLexicographically(keys[i], keys[j]));
+
+        boolean biObjective = keys[0].length == 2;
+        int[] front = new int[solutions.length];
+        int frontSize = 0;
+
+        for (int i : order) {
+            boolean dominated = false;
+
+            for (int f = frontSize - 1; f >= 0; f--) {
+                if (comparator.compare(solutions[i], solutions[front[f]]) > 0) {
+                    dominated = true;
+                    break;
+                }
+                if (biObjective) {
+                    break;
+                }
+            }
+
+            if (!dominated) {
+                front[frontSize++] = i;
+            }
+        }
+
+        Arrays.sort(front, 0, frontSize);
+
+        List<Solution> result = new ArrayList<>(frontSize);
+        for (int f = 0; f < frontSize; f++) {
+            result.add(solutions[front[f]]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the function giving the key on which the comparator is Pareto
+     * dominance for feasible solutions, or {@code null} if there is none: the
+     * objectives for a {@link ParetoDominanceComparator} or a
+     * {@link ParetoObjectiveComparator}, the CDAS-transformed objectives for a
+     * {@link CDASComparator}.
+     *
+     * @param comparator the dominance comparator
+     * @return the key function, or {@code null}
+     */
+    public static Function<Solution, double[]> getKeyFunction(DominanceComparator comparator) {
+        if (comparator.getClass() == ParetoDominanceComparator.class
+                || comparator.getClass() == ParetoObjectiveComparator.class) {
+            return Solution::getObjectives;
+        } else if (comparator.getClass() == CDASComparator.class) {
+            return ((CDASComparator) comparator)::getModifiedObjectives;
+        } else {
+            return null;
+        }
+    }
+
+    private static List<Solution> fallback(Solution[] solutions, DominanceComparator comparator) {
+        NondominatedPopulation population = new NondominatedPopulation(comparator);
+        for (Solution solution : solutions) {
+            population.add(solution);
+        }
+
+        List<Solution> result = new ArrayList<>(population.size());
+        for (Solution solution : population) {
+            result.add(solution);
+        }
+        return result;
+    }
+
+    private static int compareLexicographically(double[] key1, double[] key2) {
+        for (int j = 0; j < key1.length; j++) {
+            int flag = Double.compare(key1[j], key2[j]);
+            if (flag != 0) {
+                return flag;
+            }
+        }
+        return 0;
+    }
+}
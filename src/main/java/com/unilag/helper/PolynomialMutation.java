@@ -0,0 +1,104 @@
+package com.unilag.helper;
+
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.RealVariable;
+
+import java.util.SplittableRandom;
+
+/**
+ * Polynomial mutation applied in place, to the variables of a particle or to
+ * a position buffer, instead of to a copy as
+ * {@link org.moeaframework.core.operator.real.PM#evolve(Solution[])} does.
+ *
+ * The methods drawing from {@link PRNG} draw the same numbers in the same
+ * order as {@code PM}, so they give identical values for a given seed. The
+ * methods drawing from a {@link SplittableRandom} stream follow the same
+ * distribution.
+ */
+public final class PolynomialMutation {
+
+    private PolynomialMutation() {
+    }
+
+    /**
+     * Mutates each real variable of the solution with the given probability,
+     * drawing from {@link PRNG}. The solution must not be shared with an
+     * archive, as its variables are changed in place.
+     *
+     * @param solution the solution being mutated
+     * @param probability the probability of mutating each variable
+     * @param distributionIndex the distribution index
+     */
+    public static void mutate(Solution solution, double probability, double distributionIndex) {
+        for (int j = 0; j < solution.getNumberOfVariables(); j++) {
+            Variable variable = solution.getVariable(j);
+            if (PRNG.nextDouble() <= probability && variable instanceof RealVariable) {
+                mutate((RealVariable) variable, PRNG.nextDouble(), distributionIndex);
+            }
+        }
+    }
+
+    /**
+     * Mutates each real variable of the solution with the given probability,
+     * drawing from the random stream of the particle. The solution must not
+     * be shared with an archive, as its variables are changed in place.
+     *
+     * @param solution the solution being mutated
+     * @param probability the probability of mutating each variable
+     * @param distributionIndex the distribution index
+     * @param random the random stream of the particle
+     */
+    public static void mutate(Solution solution, double probability, double distributionIndex,
+                              SplittableRandom random) {
+        for (int j = 0; j < solution.getNumberOfVariables(); j++) {
+            Variable variable = solution.getVariable(j);
+            if (random.nextDouble() <= probability && variable instanceof RealVariable) {
+                mutate((RealVariable) variable, random.nextDouble(), distributionIndex);
+            }
+        }
+    }
+
+    private static void mutate(RealVariable variable, double u, double distributionIndex) {
+        variable.setValue(mutate(variable.getValue(), variable.getLowerBound(), variable.getUpperBound(),
+                u, distributionIndex));
+    }
+
+    /**
+     * Returns the polynomial mutation of a value, as
+     * {@link org.moeaframework.core.operator.real.PM#evolve(RealVariable, double)}
+     * computes it.
+     *
+     * @param x the value
+     * @param lb the lower bound
+     * @param ub the upper bound
+     * @param u the uniform random number in [0, 1)
+     * @param distributionIndex the distribution index
+     * @return the mutated value
+     */
+    public static double mutate(double x, double lb, double ub, double u, double distributionIndex) {
+        double dx = ub - lb;
+        double delta;
+
+        if (u < 0.5) {
+            double bl = (x - lb) / dx;
+            double b = 2 * u + (1 - 2 * u) * Math.pow(1 - bl, distributionIndex + 1);
+            delta = Math.pow(b, 1.0 / (distributionIndex + 1)) - 1.0;
+        } else {
+            double bu = (ub - x) / dx;
+            double b = 2 * (1 - u) + 2 * (u - 0.5) * Math.pow(1 - bu, distributionIndex + 1);
+            delta = 1.0 - Math.pow(b, 1.0 / (distributionIndex + 1));
+        }
+
+        x = x + delta * dx;
+
+        if (x < lb) {
+            x = lb;
+        } else if (x > ub) {
+            x = ub;
+        }
+
+        return x;
+    }
+}
@@ -1,5 +1,6 @@
 package com.unilag.interfaces;
 
+import com.unilag.helper.NondominatedFilter;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.comparator.DominanceComparator;
@@ -16,4 +17,52 @@ public abstract class AbstractNonDominatedPopulation extends NondominatedPopulat
     public abstract void update();
 
     public abstract Solution getBest();
+
+    /**
+     * Returns the number of modifications of this population, which changes
+     * whenever solutions are added, removed or reordered.
+     *
+     * @return the number of modifications of this population
+     */
+    public abstract long getModifications();
+
+    /**
+     * Returns {@code true} if the fitness of the solutions must be calculated
+     * again, so that the next call to {@link #update()} is not a no-op.
+     *
+     * @return {@code true} if the fitness must be calculated again
+     */
+    public abstract boolean isStale();
+
+    /**
+     * Returns the snapshot of this population published by the last call to
+     * {@link #update()}, which readers on any thread may use without locking
+     * while this population is being modified.
+     *
+     * @return the snapshot published by the last call to {@link #update()}
+     */
+    public abstract LeaderSnapshot getSnapshot();
+
+    /**
+     * Adds a batch of solutions, such as a newly evaluated swarm. Only the
+     * solutions not dominated by another solution of the batch are added,
+     * sparing the comparisons of the others with this population. The result
+     * matches adding every solution in turn up to truncation: a bounded
+     * population may keep other solutions, as the dominated ones no longer
+     * take part in its truncations.
+     *
+     * @param solutions the solutions being added
+     * @return {@code true} if this population was modified
+     */
+    public boolean addBatch(Solution[] solutions) {
+        return addAll(NondominatedFilter.filter(solutions, comparator));
+    }
+
+    /**
+     * Releases the threads held by this population, such as the pool of its
+     * fitness evaluator, once the algorithm using it terminates. Does nothing
+     * by default.
+     */
+    public void close() {
+    }
 }
@@ -1,7 +1,10 @@
 package com.unilag.interfaces;
 
+import com.unilag.helper.NondominatedFilter;
+import com.unilag.helper.PolynomialMutation;
 import org.moeaframework.algorithm.AbstractAlgorithm;
 import org.moeaframework.algorithm.AlgorithmInitializationException;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
@@ -9,6 +12,7 @@ import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.operator.RandomInitialization;
+import org.moeaframework.core.operator.real.PM;
 import org.moeaframework.core.variable.EncodingUtils;
 import org.moeaframework.core.variable.RealVariable;
 
@@ -16,8 +20,20 @@ import java.io.NotSerializableException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
 public abstract class AbstractPSO extends AbstractAlgorithm {
     /**
@@ -48,7 +64,7 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
     /**
      * The local best particles.
      */
-    protected HashMap<Integer, AbstractNonDominatedPopulation> localBestParticles;
+    protected PersonalBestPool localBestParticles;
 
     /**
      * The leaders.
@@ -62,10 +78,102 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
     protected NondominatedPopulation archive;
 
     /**
-     * The speed / velocity of each particle.
+     * The speed / velocity of each particle, or {@code null} if the swarm state is enabled.
      */
     protected double[][] velocities;
 
+    /**
+     * The positions and velocities of the particles stored in flat arrays, or
+     * {@code null} if the particles are stored as {@link Solution} objects.
+     */
+    protected SwarmState swarmState;
+
+    /**
+     * The solution copied to build the particles from the swarm state.
+     */
+    private Solution prototypeSolution;
+
+    /**
+     * The strategy running the particles, or {@code null} if they run
+     * sequentially and draw from {@link PRNG}.
+     */
+    private ExecutionStrategy execution;
+
+    /**
+     * The completion service of the asynchronous evaluations, or {@code null}
+     * if the swarm moves in generations.
+     */
+    private CompletionService<Integer> completions;
+
+    /**
+     * The executor of the asynchronous evaluations if it was created by this
+     * algorithm, and is shut down on termination, or {@code null}.
+     */
+    private ExecutorService ownedExecutor;
+
+    /**
+     * {@code true} if a particle is being evaluated asynchronously.
+     */
+    private boolean[] evaluating;
+
+    /**
+     * The number of particles being evaluated asynchronously.
+     */
+    private int evaluatingCount;
+
+    /**
+     * Creates the problem instances of the workers, or {@code null} if the
+     * problem is shared.
+     */
+    private Supplier<? extends Problem> problemFactory;
+
+    /**
+     * The problem instances of the workers not evaluating a particle. A
+     * worker borrows an instance for each evaluation, so there are no more
+     * instances than concurrent evaluations, whatever threads run them.
+     */
+    private final Queue<Problem> idleWorkerProblems = new ConcurrentLinkedQueue<Problem>();
+
+    /**
+     * The problem instances created for the workers, closed on termination.
+     */
+    private final List<Problem> workerProblemInstances = Collections.synchronizedList(new ArrayList<Problem>());
+
+    /**
+     * The random stream of each particle, or {@code null} if the particles draw from {@link PRNG}.
+     */
+    private SplittableRandom[] streams;
+
+    /**
+     * The local best particle and the leader selected for each particle in parallel mode.
+     */
+    private Solution[] selectedLocalBests;
+
+    private Solution[] selectedLeaders;
+
+    /**
+     * {@code true} if the leaders are updated with one batch per generation.
+     */
+    private boolean batchLeaderUpdates;
+
+    /**
+     * {@code true} if each generation is merged into the archives while the
+     * next one is moved and evaluated.
+     */
+    private boolean pipelinedGenerations;
+
+    /**
+     * The evaluated particles of the last generation, not yet merged into the
+     * archives, or {@code null} if every generation was merged.
+     */
+    private Solution[] pendingParticles;
+
+    /**
+     * The thread merging the pending particles in pipelined mode, created on
+     * first use.
+     */
+    private ExecutorService mergeExecutor;
+
     /**
      * Comparator for selecting leaders.
      */
@@ -112,12 +220,409 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
         this.mutation = mutation;
 
         particles = new Solution[swarmSize];
-        localBestParticles =  new HashMap<>(swarmSize);
+        localBestParticles = new PersonalBestPool(swarmSize, PersonalBestPool.DEFAULT_CAPACITY,
+                problem.getNumberOfObjectives());
         velocities = new double[swarmSize][problem.getNumberOfVariables()];
     }
 
     public abstract void initializePersonalBestArchive(int index);
 
+    /**
+     * Enables or disables the {@link SwarmState}. When enabled, positions and
+     * velocities are stored in flat arrays, the velocity, position and mutation
+     * loops run on those arrays, and the particles are only built as
+     * {@link Solution} objects before they are evaluated. Trajectories are
+     * identical either way.
+     *
+     * @param enabled {@code true} to store the swarm in flat arrays
+     * @throws AlgorithmInitializationException if the algorithm is already initialized
+     */
+    public void setSwarmStateEnabled(boolean enabled) {
+        if (isInitialized()) {
+            throw new AlgorithmInitializationException(this,
+                    "algorithm already initialized");
+        }
+
+        if (enabled) {
+            prototypeSolution = new FitnessSolution(problem.newSolution());
+            swarmState = new SwarmState(swarmSize, prototypeSolution);
+            velocities = null;
+        } else {
+            prototypeSolution = null;
+            swarmState = null;
+            velocities = new double[swarmSize][problem.getNumberOfVariables()];
+        }
+    }
+
+    public boolean isSwarmStateEnabled() {
+        return swarmState != null;
+    }
+
+    /**
+     * Enables or disables batch updates of the leaders. When enabled, the
+     * particles of a generation are merged into the leaders with
+     * {@link AbstractNonDominatedPopulation#addBatch(Solution[])}, which
+     * truncates the leaders once per generation instead of after every
+     * particle exceeding the capacity, so the leaders may differ from those
+     * of sequential additions. The external archive is always updated with
+     * the non-dominated particles of the generation only, which matches
+     * sequential additions up to truncation: a bounded archive may keep other
+     * solutions.
+     *
+     * @param enabled {@code true} to update the leaders with one batch per generation
+     */
+    public void setBatchLeaderUpdates(boolean enabled) {
+        this.batchLeaderUpdates = enabled;
+    }
+
+    public boolean isBatchLeaderUpdates() {
+        return batchLeaderUpdates;
+    }
+
+    public int getSwarmSize() {
+        return swarmSize;
+    }
+
+    /**
+     * Returns the leader's archive, which may only be read between two
+     * steps, on the thread stepping this algorithm.
+     *
+     * @return the leader's archive
+     */
+    public AbstractNonDominatedPopulation getLeaderArchive() {
+        return leaders;
+    }
+
+    /**
+     * Merges evaluated solutions found elsewhere, such as the leaders of
+     * another swarm, into the leaders as the particles of a generation are
+     * merged. It may only be called between two steps, on the thread
+     * stepping this algorithm.
+     *
+     * @param solutions the evaluated solutions
+     */
+    public void addLeaders(Solution[] solutions) {
+        if (batchLeaderUpdates) {
+            leaders.addBatch(solutions);
+        } else {
+            leaders.addAll(solutions);
+        }
+        leaders.update();
+    }
+
+    /**
+     * Runs the particles with an execution strategy. Each generation first
+     * selects the local best particle and the leader of every particle, in
+     * particle order; the velocity update, move, mutation and evaluation of
+     * each particle then run as separate tasks of the strategy, which only
+     * read the selected particles. Every particle draws from its own
+     * {@link SplittableRandom} stream, split in particle order from a seed
+     * drawn from {@link PRNG} on initialization, so a seeded run gives the
+     * same result whatever the strategy and its parallelism. Execution
+     * strategies store the swarm in a {@link SwarmState} and support
+     * polynomial mutation only. The strategy is closed on {@link #terminate()}.
+     *
+     * @param execution the strategy running the particles, or {@code null}
+     *        to run them sequentially, drawing from {@link PRNG}
+     * @param problemFactory creates a problem instance per concurrent evaluation, or
+     *        {@code null} if the problem is thread-safe and can be shared
+     * @throws AlgorithmInitializationException if the algorithm is already initialized
+     * @throws FrameworkException if the mutation operator is not {@link PM}
+     */
+    public void setExecutionStrategy(ExecutionStrategy execution, Supplier<? extends Problem> problemFactory) {
+        if (isInitialized()) {
+            throw new AlgorithmInitializationException(this,
+                    "algorithm already initialized");
+        }
+
+        if (execution != null) {
+            if (mutation != null && !(mutation instanceof PM)) {
+                throw new FrameworkException("parallel execution requires polynomial mutation");
+            }
+            if (completions != null) {
+                throw new FrameworkException("an execution strategy cannot run asynchronous evaluations");
+            }
+
+            setSwarmStateEnabled(true);
+            selectedLocalBests = new Solution[swarmSize];
+            selectedLeaders = new Solution[swarmSize];
+        }
+
+        if (execution == null && pipelinedGenerations) {
+            throw new FrameworkException("pipelined generations require an execution strategy");
+        }
+
+        this.execution = execution;
+        setWorkerProblems(problemFactory);
+    }
+
+    /**
+     * Evaluates the particles asynchronously instead of in generations. Each
+     * particle is moved and submitted to the executor on its own; every call
+     * to {@link #step()} waits for the next evaluation to complete, merges
+     * that particle into its personal best archive, the leaders and the
+     * external archive, then moves the particles waiting to be moved and
+     * submits them again, guided by the leaders as they are at that time.
+     * The swarm thus never waits for its slowest evaluation, which suits
+     * expensive evaluations of uneven duration. The particles are moved and
+     * the archives updated on the thread calling {@link #step()} only, so
+     * they need no synchronization; the executor only evaluates.
+     *
+     * Every step counts one evaluation. The result of a seeded run depends on
+     * the order in which the evaluations complete, so it is not reproducible.
+     * {@link #getState()} and {@link #terminate()} first wait for and merge
+     * the evaluations in progress, so a checkpoint holds no unevaluated
+     * particle and no evaluation is lost.
+     *
+     * The executor is owned by the caller, who shuts it down.
+     *
+     * @param executor the executor evaluating the particles, or {@code null}
+     *        to move the swarm in generations
+     * @param problemFactory creates a problem instance per concurrent evaluation, or
+     *        {@code null} if the problem is thread-safe and can be shared
+     * @throws AlgorithmInitializationException if the algorithm is already initialized
+     * @throws FrameworkException if an execution strategy is set
+     */
+    public void setAsynchronousExecution(ExecutorService executor, Supplier<? extends Problem> problemFactory) {
+        if (isInitialized()) {
+            throw new AlgorithmInitializationException(this,
+                    "algorithm already initialized");
+        }
+
+        if (executor != null && execution != null) {
+            throw new FrameworkException("an execution strategy cannot run asynchronous evaluations");
+        }
+
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            ownedExecutor = null;
+        }
+
+        completions = executor == null ? null : new ExecutorCompletionService<Integer>(executor);
+        evaluating = new boolean[swarmSize];
+        evaluatingCount = 0;
+        setWorkerProblems(problemFactory);
+    }
+
+    /**
+     * Evaluates the particles asynchronously on a fork/join pool created by
+     * this algorithm, which is shut down on {@link #terminate()}.
+     *
+     * @param parallelism the number of worker threads
+     * @param problemFactory creates a problem instance per concurrent evaluation, or
+     *        {@code null} if the problem is thread-safe and can be shared
+     * @throws AlgorithmInitializationException if the algorithm is already initialized
+     * @throws FrameworkException if an execution strategy is set
+     * @see #setAsynchronousExecution(ExecutorService, Supplier)
+     */
+    public void setAsynchronousExecution(int parallelism, Supplier<? extends Problem> problemFactory) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            setAsynchronousExecution(pool, problemFactory);
+        } catch (RuntimeException e) {
+            pool.shutdown();
+            throw e;
+        }
+
+        ownedExecutor = pool;
+    }
+
+    public boolean isAsynchronous() {
+        return completions != null;
+    }
+
+    /**
+     * Enables or disables pipelined generations. When enabled, the local best
+     * particles and the leaders guiding a generation are selected first, then
+     * the previous generation is merged into the personal best archives, the
+     * leaders and the external archive on a separate thread while the
+     * particles of the new generation are moved and evaluated by the
+     * execution strategy. Archive maintenance thus overlaps with evaluation,
+     * at the cost of a one generation staleness: the particles of generation
+     * t + 1 are guided by the archives as they were after generation t - 1.
+     *
+     * The merge only touches the archives, and the particles only read the
+     * local bests and leaders selected before it starts, so seeded runs
+     * remain reproducible. The pending generation is merged before
+     * {@link #getState()} and on {@link #terminate()}, and
+     * {@link #getResult()} includes it.
+     *
+     * @param enabled {@code true} to pipeline the generations
+     * @throws AlgorithmInitializationException if the algorithm is already initialized
+     * @throws FrameworkException if no execution strategy is set
+     */
+    public void setPipelinedGenerations(boolean enabled) {
+        if (isInitialized()) {
+            throw new AlgorithmInitializationException(this,
+                    "algorithm already initialized");
+        }
+
+        if (enabled && execution == null) {
+            throw new FrameworkException("pipelined generations require an execution strategy");
+        }
+
+        this.pipelinedGenerations = enabled;
+    }
+
+    public boolean isPipelinedGenerations() {
+        return pipelinedGenerations;
+    }
+
+    private void setWorkerProblems(Supplier<? extends Problem> problemFactory) {
+        this.problemFactory = problemFactory;
+    }
+
+    public ExecutionStrategy getExecutionStrategy() {
+        return execution;
+    }
+
+    /**
+     * Runs the particles on a fork/join pool, as a {@link ForkJoinExecution}.
+     *
+     * @param pool the pool running the particles, or {@code null} to run them sequentially
+     * @param problemFactory creates a problem instance per concurrent evaluation, or
+     *        {@code null} if the problem is thread-safe and can be shared
+     * @throws AlgorithmInitializationException if the algorithm is already initialized
+     * @throws FrameworkException if the mutation operator is not {@link PM}
+     * @see #setExecutionStrategy(ExecutionStrategy, Supplier)
+     */
+    public void setParallelExecution(ForkJoinPool pool, Supplier<? extends Problem> problemFactory) {
+        setExecutionStrategy(pool == null ? null : new ForkJoinExecution(pool), problemFactory);
+    }
+
+    /**
+     * Returns the fork/join pool running the particles, or {@code null} if
+     * they do not run on a fork/join pool.
+     *
+     * @return the fork/join pool running the particles, or {@code null}
+     */
+    public ForkJoinPool getPool() {
+        return execution instanceof ForkJoinExecution ? ((ForkJoinExecution) execution).getPool() : null;
+    }
+
+    /**
+     * Returns the next random number of particle i, between 0.0 (inclusive)
+     * and 1.0 (exclusive).
+     *
+     * @param i the index of the particle
+     * @return the next random number of particle i
+     */
+    protected double nextDouble(int i) {
+        if (streams != null) {
+            return streams[i].nextDouble();
+        }
+        return PRNG.nextDouble();
+    }
+
+    /**
+     * Returns the next random number of particle i, between {@code min}
+     * (inclusive) and {@code max} (exclusive).
+     *
+     * @param i the index of the particle
+     * @param min the minimum value
+     * @param max the maximum value
+     * @return the next random number of particle i
+     */
+    protected double nextDouble(int i, double min, double max) {
+        if (streams != null) {
+            return min + streams[i].nextDouble() * (max - min);
+        }
+        return PRNG.nextDouble(min, max);
+    }
+
+    /**
+     * Returns the next random integer of particle i, between 0 (inclusive)
+     * and {@code n} (exclusive).
+     *
+     * @param i the index of the particle
+     * @param n the bound
+     * @return the next random integer of particle i
+     */
+    protected int nextInt(int i, int n) {
+        if (streams != null) {
+            return streams[i].nextInt(n);
+        }
+        return PRNG.nextInt(n);
+    }
+
+    /**
+     * Returns the next random boolean of particle i.
+     *
+     * @param i the index of the particle
+     * @return the next random boolean of particle i
+     */
+    protected boolean nextBoolean(int i) {
+        if (streams != null) {
+            return streams[i].nextBoolean();
+        }
+        return PRNG.nextBoolean();
+    }
+
+    /**
+     * Returns the value of variable j of particle i.
+     *
+     * @param i the index of the particle
+     * @param j the index of the variable
+     * @return the value of variable j of particle i
+     */
+    protected double getPosition(int i, int j) {
+        if (swarmState != null) {
+            return swarmState.getPosition(i, j);
+        }
+        return EncodingUtils.getReal(particles[i].getVariable(j));
+    }
+
+    /**
+     * Returns the velocity of variable j of particle i.
+     *
+     * @param i the index of the particle
+     * @param j the index of the variable
+     * @return the velocity of variable j of particle i
+     */
+    protected double getVelocity(int i, int j) {
+        if (swarmState != null) {
+            return swarmState.getVelocity(i, j);
+        }
+        return velocities[i][j];
+    }
+
+    /**
+     * Sets the velocity of variable j of particle i.
+     *
+     * @param i the index of the particle
+     * @param j the index of the variable
+     * @param velocity the new velocity
+     */
+    protected void setVelocity(int i, int j, double velocity) {
+        if (swarmState != null) {
+            swarmState.setVelocity(i, j, velocity);
+        } else {
+            velocities[i][j] = velocity;
+        }
+    }
+
+    /**
+     * Builds the particles from the swarm state, if enabled, so they can be
+     * evaluated and inserted into the archives.
+     */
+    protected void storeParticles() {
+        if (swarmState != null) {
+            for (int i = 0; i < swarmSize; i++) {
+                storeParticle(i);
+            }
+        }
+    }
+
+    /**
+     * Builds particle i from the swarm state.
+     *
+     * @param i the index of the particle
+     */
+    protected void storeParticle(int i) {
+        particles[i] = swarmState.store(i, prototypeSolution.copy());
+    }
+
     /**
      * Update the speeds of all particles.
      */
@@ -133,24 +638,35 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
      * @param i the index of the particle
      */
     protected void updateVelocity(int i) {
-        Solution particle = particles[i];
         Solution localBestParticle = getLocalBestParticle(i);
         Solution leader = selectLeader(i);
 
-        double r1 = PRNG.nextDouble();
-        double r2 = PRNG.nextDouble();
-        double C1 = PRNG.nextDouble(1.5, 2.0);
-        double C2 = PRNG.nextDouble(1.5, 2.0);
-        double W = PRNG.nextDouble(0.1, 0.5);
+        updateVelocity(i, localBestParticle, leader);
+    }
+
+    /**
+     * Update the speed of an individual particle towards its local best
+     * particle and its leader.
+     *
+     * @param i the index of the particle
+     * @param localBestParticle the local best particle
+     * @param leader the leader
+     */
+    protected void updateVelocity(int i, Solution localBestParticle, Solution leader) {
+        double r1 = nextDouble(i);
+        double r2 = nextDouble(i);
+        double C1 = nextDouble(i, 1.5, 2.0);
+        double C2 = nextDouble(i, 1.5, 2.0);
+        double W = nextDouble(i, 0.1, 0.5);
 
         for (int j = 0; j < problem.getNumberOfVariables(); j++) {
-            double particleValue = EncodingUtils.getReal(particle.getVariable(j));
+            double particleValue = getPosition(i, j);
             double localBestValue = EncodingUtils.getReal(localBestParticle.getVariable(j));
             double leaderValue = EncodingUtils.getReal(leader.getVariable(j));
 
-            velocities[i][j] = W * velocities[i][j] +
+            setVelocity(i, j, W * getVelocity(i, j) +
                     C1*r1*(localBestValue - particleValue) +
-                    C2*r2*(leaderValue - particleValue);
+                    C2*r2*(leaderValue - particleValue));
         }
     }
 
@@ -169,6 +685,11 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
      * @param i the index of the particle
      */
     protected void updatePosition(int i) {
+        if (swarmState != null) {
+            swarmState.move(i);
+            return;
+        }
+
         Solution parent = particles[i];
         Solution offspring = parent.copy();
 
@@ -196,23 +717,36 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
      * @return the selected leader
      */
     protected Solution selectLeader(int index) {
-        Solution leader1 = leaders.get(PRNG.nextInt(leaders.size()));
-        Solution leader2 = leaders.get(PRNG.nextInt(leaders.size()));
+        Solution leader1 = leaders.get(nextInt(index, leaders.size()));
+        Solution leader2 = leaders.get(nextInt(index, leaders.size()));
         int flag = leaderComparator.compare(leader1, leader2);
 
         if (flag < 0) {
             return leader1;
         } else if (flag > 0) {
             return leader2;
-        } else if (PRNG.nextBoolean()) {
+        } else if (nextBoolean(index)) {
             return leader1;
         } else {
             return leader2;
         }
     }
 
+    /**
+     * Selects the leader of every particle, as {@link #selectLeader(int)}
+     * would one particle at a time. Subclasses may override this to score
+     * the whole swarm at once.
+     *
+     * @param selected the array receiving the leader of each particle
+     */
+    protected void selectLeaders(Solution[] selected) {
+        for (int i = 0; i < swarmSize; i++) {
+            selected[i] = selectLeader(i);
+        }
+    }
+
     public Solution getLocalBestParticle(int index) {
-        return localBestParticles.get(index).getBest();
+        return localBestParticles.getBest(index);
     }
 
     /**
@@ -220,7 +754,7 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
      */
     protected void updateLocalBest() {
         for (int i = 0; i < swarmSize; i++) {
-            localBestParticles.get(i).add(particles[i]);
+            localBestParticles.add(i, particles[i]);
         }
     }
 
@@ -234,23 +768,56 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
     }
 
     /**
-     * Applies the mutation operator to an individual particle.
+     * Applies the mutation operator to an individual particle. Polynomial
+     * mutation is applied in place, to the particle or to its position in the
+     * swarm state, without copying the particle, drawing from the random
+     * stream of the particle if there is one.
      *
      * @param i the index of the particle
      */
     protected void mutate(int i) {
-        if (mutation != null) {
+        if (mutation == null) {
+            return;
+        }
+
+        if (swarmState == null && mutation instanceof PM) {
+            // the particle is the copy made by updatePosition, not yet in any archive
+            PM pm = (PM)mutation;
+            if (streams != null) {
+                PolynomialMutation.mutate(particles[i], pm.getProbability(), pm.getDistributionIndex(), streams[i]);
+            } else {
+                PolynomialMutation.mutate(particles[i], pm.getProbability(), pm.getDistributionIndex());
+            }
+        } else if (swarmState == null) {
             particles[i] = mutation.evolve(new Solution[] { particles[i] })[0];
+        } else if (mutation instanceof PM) {
+            PM pm = (PM)mutation;
+            if (streams != null) {
+                swarmState.mutate(i, pm.getProbability(), pm.getDistributionIndex(), streams[i]);
+            } else {
+                swarmState.mutate(i, pm.getProbability(), pm.getDistributionIndex());
+            }
+        } else {
+            Solution parent = swarmState.store(i, prototypeSolution.copy());
+            swarmState.load(i, mutation.evolve(new Solution[] { parent })[0]);
         }
     }
 
     @Override
     public NondominatedPopulation getResult() {
+        NondominatedPopulation result;
+
         if (archive == null || TESTING_MODE) {
-            return new NondominatedPopulation(leaders);
+            result = new NondominatedPopulation(leaders);
         } else {
-            return new NondominatedPopulation(archive);
+            result = new NondominatedPopulation(archive);
+        }
+
+        if (pendingParticles != null) {
+            result.addAll(pendingParticles);
         }
+
+        return result;
     }
 
     @Override
@@ -260,36 +827,378 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
         Solution[] initialParticles = new RandomInitialization(problem,
                 swarmSize).initialize();
 
+        // the particles and their copies hold their fitness in primitive fields
+        for (int i = 0; i < swarmSize; i++) {
+            initialParticles[i] = new FitnessSolution(initialParticles[i]);
+        }
+
+        if (execution != null) {
+            initializeStreams();
+        }
+
         evaluateAll(initialParticles);
 
         for (int i = 0; i < swarmSize; i++) {
             particles[i] = initialParticles[i];
+            if (swarmState != null) {
+                swarmState.load(i, initialParticles[i]);
+            }
             initializePersonalBestArchive(i);
-            localBestParticles.get(i).add(initialParticles[i]);
+            localBestParticles.add(i, initialParticles[i]);
         }
 
-        leaders.addAll(initialParticles);
-        leaders.update();
-
-        if (archive != null) {
-            archive.addAll(initialParticles);
-        }
+        updateArchives(initialParticles);
     }
 
     @Override
     protected void iterate() {
-        updateVelocities();
-        updatePositions();
-        mutate();
+        if (completions != null) {
+            iterateAsynchronously();
+            return;
+        }
+
+        if (pipelinedGenerations) {
+            iteratePipelined();
+            return;
+        }
+
+        if (execution == null) {
+            updateVelocities();
+            updatePositions();
+            mutate();
+            storeParticles();
+        } else {
+            updateParticlesInParallel();
+        }
 
         evaluateAll(particles);
 
         updateLocalBest();
-        leaders.addAll(particles);
-        leaders.update();
+        updateArchives(particles);
+    }
+
+    /**
+     * Selects the local best particle and the leader of every particle, then
+     * merges the pending generation into the archives on the merge thread
+     * while the particles are moved and evaluated.
+     */
+    protected void iteratePipelined() {
+        for (int i = 0; i < swarmSize; i++) {
+            selectedLocalBests[i] = getLocalBestParticle(i);
+        }
+        selectLeaders(selectedLeaders);
+
+        Future<?> merge = null;
+        if (pendingParticles != null) {
+            Solution[] merged = pendingParticles;
+            merge = getMergeExecutor().submit(() -> mergeGeneration(merged));
+        }
+
+        try {
+            forEachParticle(swarmSize, i -> {
+                updateVelocity(i, selectedLocalBests[i], selectedLeaders[i]);
+                updatePosition(i);
+                mutate(i);
+                storeParticle(i);
+                evaluateOnWorker(particles[i]);
+            });
+            numberOfEvaluations += swarmSize;
+        } catch (RuntimeException | Error e) {
+            // the merge still runs, but its failure must not hide the one of the workers
+            if (merge != null) {
+                try {
+                    await(merge);
+                } catch (RuntimeException | Error mergeFailure) {
+                    if (mergeFailure != e) {
+                        e.addSuppressed(mergeFailure);
+                    }
+                }
+            }
+            throw e;
+        }
+
+        if (merge != null) {
+            await(merge);
+        }
+
+        pendingParticles = particles.clone();
+    }
+
+    /**
+     * Merges a generation of evaluated particles into the personal best
+     * archives, the leaders and the external archive.
+     *
+     * @param generation the evaluated particles, in particle order
+     */
+    private void mergeGeneration(Solution[] generation) {
+        for (int i = 0; i < swarmSize; i++) {
+            localBestParticles.add(i, generation[i]);
+        }
+        updateArchives(generation);
+    }
+
+    /**
+     * Merges the pending generation, if any, on the calling thread.
+     */
+    private void mergePendingParticles() {
+        if (pendingParticles != null) {
+            Solution[] merged = pendingParticles;
+            pendingParticles = null;
+            mergeGeneration(merged);
+        }
+    }
+
+    private ExecutorService getMergeExecutor() {
+        if (mergeExecutor == null) {
+            mergeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "pso-archive-merge");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return mergeExecutor;
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("interrupted while merging the archives", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+            return (RuntimeException) e.getCause();
+        } else if (e.getCause() instanceof Error) {
+            throw (Error) e.getCause();
+        }
+        return new FrameworkException(e.getCause());
+    }
+
+    /**
+     * Moves and submits the particles not being evaluated, then waits for the
+     * next evaluation to complete and merges its particle into the archives.
+     */
+    protected void iterateAsynchronously() {
+        for (int i = 0; i < swarmSize; i++) {
+            if (!evaluating[i]) {
+                submit(i);
+            }
+        }
+
+        merge(awaitEvaluation());
+    }
+
+    /**
+     * Moves particle i, guided by its local best particle and a leader
+     * selected from the current leaders, and submits it for evaluation.
+     *
+     * @param i the index of the particle
+     */
+    private void submit(int i) {
+        updateVelocity(i);
+        updatePosition(i);
+        mutate(i);
+        if (swarmState != null) {
+            storeParticle(i);
+        }
+
+        evaluating[i] = true;
+        evaluatingCount++;
+        submit(i, particles[i]);
+    }
+
+    private void submit(int i, Solution solution) {
+        completions.submit(() -> {
+            evaluateOnWorker(solution);
+            return i;
+        });
+    }
+
+    /**
+     * Waits for the next asynchronous evaluation to complete.
+     *
+     * @return the index of the evaluated particle
+     */
+    private int awaitEvaluation() {
+        try {
+            Future<Integer> future = completions.take();
+            evaluatingCount--;
+            int i = future.get();
+            evaluating[i] = false;
+            numberOfEvaluations++;
+            return i;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("interrupted while waiting for an evaluation", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Merges the evaluated particle i into its personal best archive, the
+     * leaders and the external archive.
+     *
+     * @param i the index of the particle
+     */
+    private void merge(int i) {
+        localBestParticles.add(i, particles[i]);
+        updateArchives(new Solution[] { particles[i] });
+    }
+
+    /**
+     * Waits for the evaluations in progress and merges their particles, which
+     * are then moved on the next step.
+     */
+    private void drainEvaluations() {
+        while (evaluatingCount > 0) {
+            merge(awaitEvaluation());
+        }
+    }
+
+    /**
+     * Merges the evaluated particles into the leaders and the external archive.
+     *
+     * @param solutions the evaluated particles
+     */
+    protected void updateArchives(Solution[] solutions) {
+        addLeaders(solutions);
 
         if (archive != null) {
-            archive.addAll(particles);
+            archive.addAll(NondominatedFilter.filter(solutions, archive.getComparator()));
+        }
+    }
+
+    /**
+     * Selects the local best particle and the leader of every particle in
+     * particle order, then updates, moves, mutates and builds each particle
+     * as a separate task.
+     */
+    protected void updateParticlesInParallel() {
+        for (int i = 0; i < swarmSize; i++) {
+            selectedLocalBests[i] = getLocalBestParticle(i);
+        }
+        selectLeaders(selectedLeaders);
+
+        forEachParticle(swarmSize, i -> {
+            updateVelocity(i, selectedLocalBests[i], selectedLeaders[i]);
+            updatePosition(i);
+            mutate(i);
+            storeParticle(i);
+        });
+    }
+
+    /**
+     * Evaluates the solutions, with the execution strategy on the worker
+     * problems if one is set.
+     *
+     * @param solutions the solutions to evaluate
+     */
+    @Override
+    public void evaluateAll(Solution[] solutions) {
+        if (completions != null) {
+            // only the initial swarm is evaluated at once, when no evaluation is in progress
+            for (int i = 0; i < solutions.length; i++) {
+                evaluatingCount++;
+                submit(i, solutions[i]);
+            }
+            while (evaluatingCount > 0) {
+                awaitEvaluation();
+            }
+            return;
+        }
+
+        if (execution == null) {
+            super.evaluateAll(solutions);
+            return;
+        }
+
+        forEachParticle(solutions.length, i -> evaluateOnWorker(solutions[i]));
+        numberOfEvaluations += solutions.length;
+    }
+
+    @Override
+    public void terminate() {
+        if (completions != null && isInitialized()) {
+            drainEvaluations();
+        }
+
+        mergePendingParticles();
+
+        if (mergeExecutor != null) {
+            mergeExecutor.shutdown();
+            mergeExecutor = null;
+        }
+
+        super.terminate();
+        leaders.close();
+
+        if (execution != null) {
+            execution.close();
+        }
+
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            ownedExecutor = null;
+        }
+
+        synchronized (workerProblemInstances) {
+            for (Problem workerProblem : workerProblemInstances) {
+                workerProblem.close();
+            }
+            workerProblemInstances.clear();
+        }
+        idleWorkerProblems.clear();
+    }
+
+    /**
+     * Evaluates a solution with an idle problem instance of the workers,
+     * created if every instance is in use, or with the problem if it is shared.
+     *
+     * @param solution the solution being evaluated
+     */
+    private void evaluateOnWorker(Solution solution) {
+        if (problemFactory == null) {
+            problem.evaluate(solution);
+            return;
+        }
+
+        Problem workerProblem = idleWorkerProblems.poll();
+        if (workerProblem == null) {
+            workerProblem = problemFactory.get();
+            workerProblemInstances.add(workerProblem);
+        }
+
+        try {
+            workerProblem.evaluate(solution);
+        } finally {
+            idleWorkerProblems.offer(workerProblem);
+        }
+    }
+
+    /**
+     * Runs the action for every index in {@code [0, size)} with the execution strategy.
+     */
+    private void forEachParticle(int size, IntConsumer action) {
+        if (size > 0) {
+            execution.forEach(size, action);
+        }
+    }
+
+    /**
+     * Splits the random stream of every particle, in particle order, from a
+     * seed drawn from {@link PRNG}.
+     */
+    private void initializeStreams() {
+        SplittableRandom root = new SplittableRandom(PRNG.getRandom().nextLong());
+        streams = new SplittableRandom[swarmSize];
+        for (int i = 0; i < swarmSize; i++) {
+            streams[i] = root.split();
         }
     }
 
@@ -300,11 +1209,16 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
                     "algorithm not initialized");
         }
 
+        if (completions != null) {
+            drainEvaluations();
+        }
+
+        mergePendingParticles();
+
         List<Solution> particlesList = Arrays.asList(particles);
-        HashMap<Integer, AbstractNonDominatedPopulation> localBestParticlesList = localBestParticles;
         List<Solution> leadersList = new ArrayList<Solution>();
         List<Solution> archiveList = new ArrayList<Solution>();
-        double[][] velocitiesClone = new double[velocities.length][];
+        double[][] velocitiesClone = new double[swarmSize][];
 
         for (Solution solution : leaders) {
             leadersList.add(solution);
@@ -316,12 +1230,15 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
             }
         }
 
-        for (int i = 0; i < velocities.length; i++) {
-            velocitiesClone[i] = velocities[i].clone();
+        for (int i = 0; i < swarmSize; i++) {
+            velocitiesClone[i] = new double[problem.getNumberOfVariables()];
+            for (int j = 0; j < problem.getNumberOfVariables(); j++) {
+                velocitiesClone[i][j] = getVelocity(i, j);
+            }
         }
 
         return new AbstractPSO.PSOAlgorithmState(getNumberOfEvaluations(),
-                particlesList, localBestParticlesList, leadersList,
+                particlesList, localBestParticles, leadersList,
                 archiveList, velocitiesClone);
     }
 
@@ -340,10 +1257,15 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
 
         for (int i = 0; i < swarmSize; i++) {
             particles[i] = state.getParticles().get(i);
+            if (swarmState != null) {
+                swarmState.load(i, particles[i]);
+            }
         }
 
-        for (int i = 0; i < swarmSize; i++) {
-            localBestParticles = state.getLocalBestParticles();
+        localBestParticles = state.getLocalBestParticles();
+
+        if (execution != null) {
+            initializeStreams();
         }
 
         leaders.addAll(state.getLeaders());
@@ -355,7 +1277,7 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
 
         for (int i = 0; i < swarmSize; i++) {
             for (int j = 0; j < problem.getNumberOfVariables(); j++) {
-                velocities[i][j] = state.getVelocities()[i][j];
+                setVelocity(i, j, state.getVelocities()[i][j]);
             }
         }
     }
@@ -380,9 +1302,9 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
         private final List<Solution> particles;
 
         /**
-         * The local best particles stored in a serializable list.
+         * The local best particles.
          */
-        private final HashMap<Integer, AbstractNonDominatedPopulation> localBestParticles;
+        private final PersonalBestPool localBestParticles;
 
         /**
          * The leaders stored in a serializable list.
@@ -410,7 +1332,7 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
          */
         public PSOAlgorithmState(int numberOfEvaluations,
                                  List<Solution> particles,
-                                 HashMap<Integer, AbstractNonDominatedPopulation> localBestParticles,
+                                 PersonalBestPool localBestParticles,
                                  List<Solution> leaders,
                                  List<Solution> archive,
                                  double[][] velocities) {
@@ -442,11 +1364,11 @@ public abstract class AbstractPSO extends AbstractAlgorithm {
         }
 
         /**
-         * Returns the local best particles stored in a serializable list.
+         * Returns the local best particles.
          *
-         * @return the local best particles stored in a serializable list
+         * @return the local best particles
          */
-        public HashMap<Integer, AbstractNonDominatedPopulation> getLocalBestParticles() {
+        public PersonalBestPool getLocalBestParticles() {
             return localBestParticles;
         }
 
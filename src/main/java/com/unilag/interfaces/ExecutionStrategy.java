@@ -0,0 +1,32 @@
+package com.unilag.interfaces;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Runs the per-particle phases of an {@link AbstractPSO}: the velocity
+ * update, move, mutation and evaluation of each particle. The action for one
+ * index only touches the state of that particle and draws from its own random
+ * stream, so a strategy may run the indices in any order and on any thread
+ * without changing the result of a seeded run.
+ *
+ * @see AbstractPSO#setExecutionStrategy(ExecutionStrategy, java.util.function.Supplier)
+ */
+public interface ExecutionStrategy {
+
+    /**
+     * Runs the action for every index in {@code [0, size)} and returns once
+     * all of them completed. An exception thrown by the action is rethrown.
+     *
+     * @param size the number of indices
+     * @param action the action run for each index
+     */
+    void forEach(int size, IntConsumer action);
+
+    /**
+     * Shuts down the threads created by this strategy, once the algorithm
+     * using it terminates. Threads supplied by the caller are left to the
+     * caller. Does nothing by default.
+     */
+    default void close() {
+    }
+}
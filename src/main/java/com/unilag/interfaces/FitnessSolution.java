@@ -0,0 +1,233 @@
+package com.unilag.interfaces;
+
+import org.moeaframework.core.Solution;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import static com.unilag.interfaces.SumFitnessEvaluator.WSUM_FITNESS_ATTRIBUTE;
+import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
+
+/**
+ * A solution holding its {@code FITNESS_ATTRIBUTE} and
+ * {@code WSUM_FITNESS_ATTRIBUTE} values in primitive fields instead of the
+ * attribute map, so that evaluators and comparators read and write them
+ * without hashing or boxing. The particles of an {@link AbstractPSO} are
+ * created as fitness solutions.
+ *
+ * The fields stay visible through the attribute methods of {@link Solution}:
+ * {@link #getAttribute(String)} boxes the value of a field when it is asked
+ * for, {@link #setAttribute(String, Serializable)} and
+ * {@link #addAttributes(Map)} store a {@code Double} in the field, and
+ * {@link #getAttributes()} copies the fields into the map before returning
+ * it. Other attributes go straight to the map. The static accessors of this class use the fields of
+ * fitness solutions and the attribute map of other solutions, so evaluators
+ * and comparators accept both.
+ */
+public class FitnessSolution extends Solution {
+
+    private static final long serialVersionUID = 4326981508367342178L;
+
+    /*
+     * The fields have no initializer as the copy constructor of Solution may
+     * set them through setAttribute before the initializers would run.
+     */
+
+    /**
+     * The {@code FITNESS_ATTRIBUTE} value.
+     */
+    private double fitness;
+
+    /**
+     * {@code true} if the {@code FITNESS_ATTRIBUTE} value is set.
+     */
+    private boolean hasFitness;
+
+    /**
+     * The {@code WSUM_FITNESS_ATTRIBUTE} value.
+     */
+    private double wsumFitness;
+
+    /**
+     * {@code true} if the {@code WSUM_FITNESS_ATTRIBUTE} value is set.
+     */
+    private boolean hasWSumFitness;
+
+    /**
+     * Constructs a fitness solution copying the variables, objectives,
+     * constraints and attributes of a solution.
+     *
+     * @param solution the solution being copied
+     */
+    public FitnessSolution(Solution solution) {
+        super(solution);
+
+        if (solution instanceof FitnessSolution) {
+            FitnessSolution fitnessSolution = (FitnessSolution) solution;
+            fitness = fitnessSolution.fitness;
+            hasFitness = fitnessSolution.hasFitness;
+            wsumFitness = fitnessSolution.wsumFitness;
+            hasWSumFitness = fitnessSolution.hasWSumFitness;
+        }
+    }
+
+    /**
+     * Returns the {@code FITNESS_ATTRIBUTE} value of a solution.
+     *
+     * @param solution the solution
+     * @return the fitness of the solution
+     * @throws NullPointerException if the fitness of the solution is not set
+     */
+    public static double getFitness(Solution solution) {
+        if (solution instanceof FitnessSolution && ((FitnessSolution) solution).hasFitness) {
+            return ((FitnessSolution) solution).fitness;
+        }
+        return (Double) solution.getAttribute(FITNESS_ATTRIBUTE);
+    }
+
+    /**
+     * Sets the {@code FITNESS_ATTRIBUTE} value of a solution.
+     *
+     * @param solution the solution
+     * @param fitness the fitness of the solution
+     */
+    public static void setFitness(Solution solution, double fitness) {
+        if (solution instanceof FitnessSolution) {
+            ((FitnessSolution) solution).fitness = fitness;
+            ((FitnessSolution) solution).hasFitness = true;
+        } else {
+            solution.setAttribute(FITNESS_ATTRIBUTE, fitness);
+        }
+    }
+
+    /**
+     * Returns the {@code WSUM_FITNESS_ATTRIBUTE} value of a solution.
+     *
+     * @param solution the solution
+     * @return the weighted sum fitness of the solution
+     * @throws NullPointerException if the weighted sum fitness of the solution is not set
+     */
+    public static double getWSumFitness(Solution solution) {
+        if (solution instanceof FitnessSolution && ((FitnessSolution) solution).hasWSumFitness) {
+            return ((FitnessSolution) solution).wsumFitness;
+        }
+        return (Double) solution.getAttribute(WSUM_FITNESS_ATTRIBUTE);
+    }
+
+    /**
+     * Sets the {@code WSUM_FITNESS_ATTRIBUTE} value of a solution.
+     *
+     * @param solution the solution
+     * @param wsumFitness the weighted sum fitness of the solution
+     */
+    public static void setWSumFitness(Solution solution, double wsumFitness) {
+        if (solution instanceof FitnessSolution) {
+            ((FitnessSolution) solution).wsumFitness = wsumFitness;
+            ((FitnessSolution) solution).hasWSumFitness = true;
+        } else {
+            solution.setAttribute(WSUM_FITNESS_ATTRIBUTE, wsumFitness);
+        }
+    }
+
+    @Override
+    public FitnessSolution copy() {
+        return new FitnessSolution(this);
+    }
+
+    @Override
+    public Serializable getAttribute(String key) {
+        if (hasFitness && FITNESS_ATTRIBUTE.equals(key)) {
+            return fitness;
+        } else if (hasWSumFitness && WSUM_FITNESS_ATTRIBUTE.equals(key)) {
+            return wsumFitness;
+        }
+        return (Serializable) super.getAttribute(key);
+    }
+
+    @Override
+    public Serializable setAttribute(String key, Serializable value) {
+        if (FITNESS_ATTRIBUTE.equals(key)) {
+            Serializable previous = removeAttribute(key);
+            if (value instanceof Double) {
+                fitness = (Double) value;
+                hasFitness = true;
+            } else {
+                super.setAttribute(key, value);
+            }
+            return previous;
+        } else if (WSUM_FITNESS_ATTRIBUTE.equals(key)) {
+            Serializable previous = removeAttribute(key);
+            if (value instanceof Double) {
+                wsumFitness = (Double) value;
+                hasWSumFitness = true;
+            } else {
+                super.setAttribute(key, value);
+            }
+            return previous;
+        }
+
+        return (Serializable) super.setAttribute(key, value);
+    }
+
+    /**
+     * Sets every attribute of the map through {@link #setAttribute(String, Serializable)},
+     * so that the fitness values are stored in the fields.
+     */
+    @Override
+    public void addAttributes(Map<String, Object> attributes) {
+        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+            setAttribute(entry.getKey(), (Serializable) entry.getValue());
+        }
+    }
+
+    @Override
+    public Serializable removeAttribute(String key) {
+        if (FITNESS_ATTRIBUTE.equals(key)) {
+            Serializable previous = (Serializable) super.removeAttribute(key);
+            if (hasFitness) {
+                previous = fitness;
+                hasFitness = false;
+            }
+            return previous;
+        } else if (WSUM_FITNESS_ATTRIBUTE.equals(key)) {
+            Serializable previous = (Serializable) super.removeAttribute(key);
+            if (hasWSumFitness) {
+                previous = wsumFitness;
+                hasWSumFitness = false;
+            }
+            return previous;
+        }
+
+        return (Serializable) super.removeAttribute(key);
+    }
+
+    @Override
+    public boolean hasAttribute(String key) {
+        return (hasFitness && FITNESS_ATTRIBUTE.equals(key))
+                || (hasWSumFitness && WSUM_FITNESS_ATTRIBUTE.equals(key))
+                || super.hasAttribute(key);
+    }
+
+    /**
+     * Returns the attribute map, after copying the fitness fields into it.
+     */
+    @Override
+    public Map<String, Serializable> getAttributes() {
+        Map<String, Serializable> attributes = super.getAttributes();
+
+        if (hasFitness) {
+            attributes.put(FITNESS_ATTRIBUTE, fitness);
+        }
+        if (hasWSumFitness) {
+            attributes.put(WSUM_FITNESS_ATTRIBUTE, wsumFitness);
+        }
+        return attributes;
+    }
+
+    @Override
+    public void clearAttributes() {
+        hasFitness = false;
+        hasWSumFitness = false;
+        super.clearAttributes();
+    }
+}
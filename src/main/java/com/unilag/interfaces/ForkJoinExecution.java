@@ -0,0 +1,96 @@
+package com.unilag.interfaces;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs the particles on a fork/join pool, splitting the indices in halves
+ * so that idle workers steal the remaining particles. A strategy constructed
+ * with a parallelism creates its own pool, which {@link #close()} shuts down.
+ */
+public class ForkJoinExecution implements ExecutionStrategy {
+
+    /**
+     * The pool running the particles.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * {@code true} if the pool was created by this strategy, and is shut down
+     * by {@link #close()}.
+     */
+    private final boolean ownsPool;
+
+    /**
+     * Constructs a strategy running the particles on its own pool.
+     *
+     * @param parallelism the number of worker threads
+     */
+    public ForkJoinExecution(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.ownsPool = true;
+    }
+
+    /**
+     * Constructs a strategy running the particles on a pool owned by the caller.
+     *
+     * @param pool the pool running the particles
+     */
+    public ForkJoinExecution(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool is null");
+        }
+        this.pool = pool;
+        this.ownsPool = false;
+    }
+
+    @Override
+    public void forEach(int size, IntConsumer action) {
+        if (size > 0) {
+            pool.invoke(new ParticleTask(0, size, action));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Runs an action for each particle in {@code [from, to)}, splitting down
+     * to one particle per task as evaluations may be expensive.
+     */
+    private static class ParticleTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -6470366457165203436L;
+
+        private final int from;
+
+        private final int to;
+
+        private final IntConsumer action;
+
+        ParticleTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParticleTask(from, middle, action), new ParticleTask(middle, to, action));
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.unilag.interfaces;
+
+import com.unilag.fitness.WSumScoringKernel;
+import org.moeaframework.core.Solution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable view of a leader archive, published by the archive on every
+ * commit so that any number of threads can sample and score leaders without
+ * locks while a single writer merges new particles into the archive.
+ *
+ * The snapshot keeps references to the leaders, and loads their objectives
+ * once into a {@link WSumScoringKernel}, divided by the sum of the objectives
+ * of each leader, so that scoring a leader is a single dot product. Readers
+ * may read the variables and objectives of these leaders, which never change
+ * once evaluated, but not their attributes, which the writer rewrites when it
+ * evaluates the archive.
+ *
+ * A reader sees the archive as it was at the last commit before it fetched
+ * the snapshot, and keeps seeing it for as long as it holds the snapshot. In
+ * generational mode, where the archive commits once per generation, the
+ * leaders are thus at most one generation stale; when particles are merged
+ * one at a time, they miss at most the merges in progress.
+ *
+ * A snapshot of N leaders with M objectives costs N * M doubles and N
+ * references, besides the leaders themselves. A new snapshot is allocated on
+ * every commit that changed the archive, and the previous one is reclaimed
+ * once no reader holds it.
+ *
+ * @see AbstractNonDominatedPopulation#getSnapshot()
+ */
+public final class LeaderSnapshot {
+
+    /**
+     * The snapshot of an archive that never committed.
+     */
+    public static final LeaderSnapshot EMPTY = new LeaderSnapshot(new Solution[0], -1);
+
+    /**
+     * The leaders.
+     */
+    private final Solution[] leaders;
+
+    /**
+     * The normalized objectives of the leaders, loaded once.
+     */
+    private final WSumScoringKernel kernel;
+
+    /**
+     * The modification count of the archive at the commit.
+     */
+    private final long version;
+
+    /**
+     * Constructs a snapshot of the leaders.
+     *
+     * @param leaders the leaders, which are copied into a new array
+     * @param version the modification count of the archive
+     */
+    public LeaderSnapshot(Iterable<? extends Solution> leaders, long version) {
+        this(toArray(leaders), version);
+    }
+
+    private LeaderSnapshot(Solution[] leaders, long version) {
+        this.leaders = leaders;
+        this.version = version;
+
+        kernel = new WSumScoringKernel();
+        kernel.load(leaders);
+    }
+
+    private static Solution[] toArray(Iterable<? extends Solution> leaders) {
+        List<Solution> list = new ArrayList<Solution>();
+        for (Solution leader : leaders) {
+            list.add(leader);
+        }
+        return list.toArray(new Solution[list.size()]);
+    }
+
+    public int size() {
+        return leaders.length;
+    }
+
+    public Solution get(int k) {
+        return leaders[k];
+    }
+
+    public double getObjective(int k, int j) {
+        return leaders[k].getObjective(j);
+    }
+
+    public int getNumberOfObjectives() {
+        return kernel.getNumberOfObjectives();
+    }
+
+    /**
+     * Returns the modification count of the archive at the commit that
+     * published this snapshot.
+     *
+     * @return the modification count of the archive
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the weighted sum of leader k with respect to a particle, as
+     * {@link com.unilag.fitness.WSumFitnessEvaluator#weightedSum} computes it.
+     *
+     * @param k the index of the leader
+     * @param particle the reference particle
+     * @return the weighted sum of the leader
+     */
+    public double score(int k, Solution particle) {
+        return kernel.score(k, particle);
+    }
+
+    /**
+     * Returns the weighted sum of leader k with respect to a packed particle.
+     *
+     * @param k the index of the leader
+     * @param particles the packed objectives of the particles
+     * @param particleOffset the offset of the particle
+     * @return the weighted sum of the leader
+     */
+    public double score(int k, double[] particles, int particleOffset) {
+        return kernel.score(k, particles, particleOffset);
+    }
+
+    /**
+     * Scores the leaders sampled by each particle, as
+     * {@link WSumScoringKernel#scoreSampled} does.
+     *
+     * @param particles the packed objectives of the particles
+     * @param numberOfParticles the number of particles
+     * @param samples the indices of the leaders sampled by each particle
+     * @param samplesPerParticle the number of leaders sampled by each particle
+     * @param scores the scores, at least as long as the samples
+     */
+    public void scoreSampled(double[] particles, int numberOfParticles, int[] samples, int samplesPerParticle,
+                             double[] scores) {
+        kernel.scoreSampled(particles, numberOfParticles, samples, samplesPerParticle, scores);
+    }
+}
@@ -0,0 +1,397 @@
+package com.unilag.interfaces;
+
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+import java.io.Serializable;
+
+/**
+ * The personal best archives of a whole swarm, stored in flat arrays with a
+ * fixed number of slots per particle instead of one archive object per
+ * particle.
+ *
+ * The archive of particle i occupies the slots {@code i * stride} to
+ * {@code i * stride + size(i) - 1} of the arrays, which hold the solutions,
+ * their objectives, whether they are feasible and their weighted sum with
+ * respect to the reference particle of the archive, computed once when they
+ * are added. Each archive behaves as a
+ * {@link com.unilag.fitness.DoubleComparatorArchive} evaluated by a
+ * {@link com.unilag.fitness.WSumFitnessEvaluator} of its reference particle
+ * and truncated with a {@link com.unilag.comparator.WSumComparator} preferring
+ * smaller values:
+ * <ul>
+ *   <li>a solution is added as {@link org.moeaframework.core.NondominatedPopulation}
+ *       adds it, scanning the archive in order, removing the solutions it
+ *       dominates and stopping at the first solution dominating or
+ *       duplicating it;</li>
+ *   <li>once the archive exceeds its capacity, it is sorted on weighted sum
+ *       by a stable sort and the last solution is removed;</li>
+ *   <li>{@link #getBest(int)} selects the same solution as
+ *       {@link com.unilag.fitness.DoubleComparatorArchive#getBest()}.</li>
+ * </ul>
+ * Feasible solutions are compared on the stored objectives, other solutions
+ * by the dominance comparator.
+ */
+public class PersonalBestPool implements Serializable {
+
+    private static final long serialVersionUID = -2270453624916218405L;
+
+    /**
+     * The default number of personal bests kept for each particle.
+     */
+    public static final int DEFAULT_CAPACITY = 5;
+
+    /**
+     * The number of personal bests kept for each particle.
+     */
+    private final int capacity;
+
+    /**
+     * The number of slots of each particle, one more than the capacity to
+     * hold a new solution until the archive is truncated.
+     */
+    private final int stride;
+
+    /**
+     * The number of objectives.
+     */
+    private final int numberOfObjectives;
+
+    /**
+     * The dominance comparator of solutions violating constraints.
+     */
+    private final DominanceComparator comparator;
+
+    /**
+     * The solution in each slot.
+     */
+    private final Solution[] solutions;
+
+    /**
+     * The objectives of the solution in each slot, {@code numberOfObjectives} values per slot.
+     */
+    private final double[] objectives;
+
+    /**
+     * {@code true} if the solution in a slot does not violate constraints.
+     */
+    private final boolean[] feasible;
+
+    /**
+     * The weighted sum of the solution in each slot.
+     */
+    private final double[] fitness;
+
+    /**
+     * The objectives of the reference particle of each archive.
+     */
+    private final double[] references;
+
+    /**
+     * The number of solutions in each archive.
+     */
+    private final int[] sizes;
+
+    /**
+     * The objectives of the solution being moved by a truncation.
+     */
+    private final double[] movedObjectives;
+
+    /**
+     * Constructs empty personal best archives under Pareto dominance.
+     *
+     * @param swarmSize the number of particles
+     * @param capacity the number of personal bests kept for each particle
+     * @param numberOfObjectives the number of objectives
+     */
+    public PersonalBestPool(int swarmSize, int capacity, int numberOfObjectives) {
+        this(swarmSize, capacity, numberOfObjectives, new ParetoDominanceComparator());
+    }
+
+    /**
+     * Constructs empty personal best archives.
+     *
+     * @param swarmSize the number of particles
+     * @param capacity the number of personal bests kept for each particle
+     * @param numberOfObjectives the number of objectives
+     * @param comparator the dominance comparator, which must be Pareto
+     *        dominance for feasible solutions
+     */
+    public PersonalBestPool(int swarmSize, int capacity, int numberOfObjectives, DominanceComparator comparator) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+
+        this.capacity = capacity;
+        this.stride = capacity + 1;
+        this.numberOfObjectives = numberOfObjectives;
+        this.comparator = comparator;
+
+        solutions = new Solution[swarmSize * stride];
+        objectives = new double[swarmSize * stride * numberOfObjectives];
+        feasible = new boolean[swarmSize * stride];
+        fitness = new double[swarmSize * stride];
+        references = new double[swarmSize * numberOfObjectives];
+        sizes = new int[swarmSize];
+        movedObjectives = new double[numberOfObjectives];
+    }
+
+    /**
+     * Empties the archive of particle i and sets the particle its weighted
+     * sums are computed against.
+     *
+     * @param i the index of the particle
+     * @param reference the reference particle
+     */
+    public void reset(int i, Solution reference) {
+        for (int k = 0; k < sizes[i]; k++) {
+            solutions[i * stride + k] = null;
+        }
+        sizes[i] = 0;
+
+        for (int j = 0; j < numberOfObjectives; j++) {
+            references[i * numberOfObjectives + j] = reference.getObjective(j);
+        }
+    }
+
+    /**
+     * Adds a solution to the archive of particle i unless a solution of the
+     * archive dominates or duplicates it, removing the solutions it
+     * dominates, and truncates the archive if it exceeds its capacity.
+     *
+     * @param i the index of the particle
+     * @param solution the solution being added
+     * @return {@code true} if the solution was added
+     */
+    public boolean add(int i, Solution solution) {
+        int first = i * stride;
+        int end = first + sizes[i];
+        boolean solutionFeasible = !solution.violatesConstraints();
+        int kept = first;
+
+        for (int slot = first; slot < end; slot++) {
+            int flag = solutionFeasible && feasible[slot]
+                    ? compareObjectives(solution, slot)
+                    : comparator.compare(solution, solutions[slot]);
+
+            if (flag > 0 || (flag == 0 && isDuplicate(solution, slot))) {
+                // the scan stops here, keeping the remaining solutions
+                compact(kept, slot, end);
+                sizes[i] = kept - first + (end - slot);
+                return false;
+            } else if (flag == 0) {
+                move(slot, kept++);
+            }
+        }
+
+        for (int slot = kept + 1; slot < end; slot++) {
+            solutions[slot] = null;
+        }
+        store(kept, solution, solutionFeasible, weightedSum(solution, i));
+        sizes[i] = kept - first + 1;
+
+        if (sizes[i] > capacity) {
+            truncate(i);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the personal best of particle i, selected as
+     * {@link com.unilag.fitness.DoubleComparatorArchive#getBest()} selects it.
+     *
+     * @param i the index of the particle
+     * @return the personal best of the particle
+     * @throws IllegalStateException if the archive of the particle is empty
+     */
+    public Solution getBest(int i) {
+        int first = i * stride;
+        if (sizes[i] == 0) {
+            throw new IllegalStateException("Invalid call");
+        }
+
+        int pBest = 0;
+        for (int k = 0; k < sizes[i] - 1; k++) {
+            if (Double.compare(fitness[first + k + 1], fitness[first + pBest]) <= 0) {
+                pBest = k;
+            }
+        }
+        return solutions[first + pBest];
+    }
+
+    /**
+     * Returns the number of solutions in the archive of particle i.
+     *
+     * @param i the index of the particle
+     * @return the number of solutions in the archive
+     */
+    public int size(int i) {
+        return sizes[i];
+    }
+
+    /**
+     * Returns solution k of the archive of particle i.
+     *
+     * @param i the index of the particle
+     * @param k the position of the solution in the archive
+     * @return the solution
+     */
+    public Solution get(int i, int k) {
+        if (k < 0 || k >= sizes[i]) {
+            throw new IndexOutOfBoundsException();
+        }
+        return solutions[i * stride + k];
+    }
+
+    /**
+     * Returns the weighted sum of solution k of the archive of particle i.
+     *
+     * @param i the index of the particle
+     * @param k the position of the solution in the archive
+     * @return the weighted sum of the solution
+     */
+    public double getFitness(int i, int k) {
+        if (k < 0 || k >= sizes[i]) {
+            throw new IndexOutOfBoundsException();
+        }
+        return fitness[i * stride + k];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Compares a feasible solution with the feasible solution in a slot as
+     * {@link org.moeaframework.core.comparator.ParetoObjectiveComparator} does.
+     */
+    private int compareObjectives(Solution solution, int slot) {
+        boolean dominate1 = false;
+        boolean dominate2 = false;
+        int offset = slot * numberOfObjectives;
+
+        for (int j = 0; j < numberOfObjectives; j++) {
+            double objective = solution.getObjective(j);
+            if (objective < objectives[offset + j]) {
+                dominate1 = true;
+                if (dominate2) {
+                    return 0;
+                }
+            } else if (objective > objectives[offset + j]) {
+                dominate2 = true;
+                if (dominate1) {
+                    return 0;
+                }
+            }
+        }
+
+        if (dominate1 == dominate2) {
+            return 0;
+        }
+        return dominate1 ? -1 : 1;
+    }
+
+    /**
+     * Returns {@code true} if the objectives of the solution lie within
+     * {@link Settings#EPS} of those in the slot, as
+     * {@link org.moeaframework.core.NondominatedPopulation} decides by default.
+     */
+    private boolean isDuplicate(Solution solution, int slot) {
+        double distance = 0;
+        int offset = slot * numberOfObjectives;
+        for (int j = 0; j < numberOfObjectives; j++) {
+            double difference = solution.getObjective(j) - objectives[offset + j];
+            distance += difference * difference;
+        }
+        return Math.sqrt(distance) < Settings.EPS;
+    }
+
+    /**
+     * Returns the weighted sum of a solution with respect to the reference
+     * particle of archive i, as
+     * {@link com.unilag.fitness.WSumFitnessEvaluator#weightedSum} computes it.
+     */
+    private double weightedSum(Solution solution, int i) {
+        double weightedAggregate = 0;
+        double objectiveSum = 0;
+        for (int j = 0; j < numberOfObjectives; j++) {
+            objectiveSum += solution.getObjective(j);
+        }
+        for (int j = 0; j < numberOfObjectives; j++) {
+            weightedAggregate += (solution.getObjective(j) / objectiveSum) * references[i * numberOfObjectives + j];
+        }
+        return weightedAggregate;
+    }
+
+    /**
+     * Sorts archive i on weighted sum, keeping the order of equal sums, and
+     * removes its last solution.
+     */
+    private void truncate(int i) {
+        int first = i * stride;
+        int end = first + sizes[i];
+
+        for (int slot = first + 1; slot < end; slot++) {
+            double solutionFitness = fitness[slot];
+
+            int target = slot;
+            while (target > first && Double.compare(fitness[target - 1], solutionFitness) > 0) {
+                target--;
+            }
+
+            if (target != slot) {
+                Solution solution = solutions[slot];
+                boolean solutionFeasible = feasible[slot];
+                System.arraycopy(objectives, slot * numberOfObjectives, movedObjectives, 0, numberOfObjectives);
+
+                for (int k = slot; k > target; k--) {
+                    move(k - 1, k);
+                }
+
+                solutions[target] = solution;
+                feasible[target] = solutionFeasible;
+                fitness[target] = solutionFitness;
+                System.arraycopy(movedObjectives, 0, objectives, target * numberOfObjectives, numberOfObjectives);
+            }
+        }
+
+        sizes[i]--;
+        solutions[first + sizes[i]] = null;
+    }
+
+    private void store(int slot, Solution solution, boolean solutionFeasible, double solutionFitness) {
+        solutions[slot] = solution;
+        feasible[slot] = solutionFeasible;
+        fitness[slot] = solutionFitness;
+        for (int j = 0; j < numberOfObjectives; j++) {
+            objectives[slot * numberOfObjectives + j] = solution.getObjective(j);
+        }
+    }
+
+    private void move(int from, int to) {
+        if (from != to) {
+            solutions[to] = solutions[from];
+            feasible[to] = feasible[from];
+            fitness[to] = fitness[from];
+            System.arraycopy(objectives, from * numberOfObjectives, objectives, to * numberOfObjectives,
+                    numberOfObjectives);
+        }
+    }
+
+    /**
+     * Moves the slots {@code [from, end)} down to {@code to}, clearing the freed slots.
+     */
+    private void compact(int to, int from, int end) {
+        if (to == from) {
+            return;
+        }
+        for (int slot = from; slot < end; slot++) {
+            move(slot, to + slot - from);
+        }
+        for (int slot = to + end - from; slot < end; slot++) {
+            solutions[slot] = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.unilag.interfaces;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Runs the particles one after the other on the calling thread. Unlike an
+ * {@link AbstractPSO} without an execution strategy, the particles still
+ * draw from their own random streams, so the result of a seeded run is the
+ * same as with a parallel strategy.
+ */
+public class SequentialExecution implements ExecutionStrategy {
+
+    @Override
+    public void forEach(int size, IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(i);
+        }
+    }
+}
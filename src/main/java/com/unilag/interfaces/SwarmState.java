@@ -0,0 +1,220 @@
+package com.unilag.interfaces;
+
+import com.unilag.helper.PolynomialMutation;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.RealVariable;
+
+import java.io.Serializable;
+import java.util.SplittableRandom;
+
+/**
+ * Positions and velocities of a swarm of real-valued particles stored in flat
+ * arrays, {@code numberOfVariables} values per particle, next to the bounds of
+ * each variable.
+ *
+ * Velocity updates, moves, clamping and polynomial mutation run directly on
+ * these arrays; {@link Solution} objects are only built by {@link #store} when
+ * the particles are evaluated and inserted into the archives. Every operation
+ * performs the same floating point arithmetic and draws the same random
+ * numbers, in the same order, as its counterpart on {@link Solution} objects
+ * in {@link AbstractPSO} and {@link org.moeaframework.core.operator.real.PM},
+ * so trajectories are identical for a given seed.
+ *
+ * @see AbstractPSO#setSwarmStateEnabled(boolean)
+ */
+public class SwarmState implements Serializable {
+
+    private static final long serialVersionUID = 4915370233837312047L;
+
+    /**
+     * The number of particles.
+     */
+    private final int swarmSize;
+
+    /**
+     * The number of decision variables of each particle.
+     */
+    private final int numberOfVariables;
+
+    /**
+     * The positions; {@code positions[i * numberOfVariables + j]} is variable j of particle i.
+     */
+    private final double[] positions;
+
+    /**
+     * The velocities, laid out as the positions.
+     */
+    private final double[] velocities;
+
+    /**
+     * The lower bound of each variable.
+     */
+    private final double[] lowerBounds;
+
+    /**
+     * The upper bound of each variable.
+     */
+    private final double[] upperBounds;
+
+    /**
+     * Constructs the state of a swarm whose particles are shaped like the prototype.
+     *
+     * @param swarmSize the number of particles
+     * @param prototype a solution of the problem, providing the bounds of each variable
+     * @throws FrameworkException if a decision variable is not a {@link RealVariable}
+     */
+    public SwarmState(int swarmSize, Solution prototype) {
+        this.swarmSize = swarmSize;
+        this.numberOfVariables = prototype.getNumberOfVariables();
+
+        positions = new double[swarmSize * numberOfVariables];
+        velocities = new double[swarmSize * numberOfVariables];
+        lowerBounds = new double[numberOfVariables];
+        upperBounds = new double[numberOfVariables];
+
+        for (int j = 0; j < numberOfVariables; j++) {
+            if (!(prototype.getVariable(j) instanceof RealVariable)) {
+                throw new FrameworkException("unsupported decision variable type");
+            }
+            RealVariable variable = (RealVariable)prototype.getVariable(j);
+            lowerBounds[j] = variable.getLowerBound();
+            upperBounds[j] = variable.getUpperBound();
+        }
+    }
+
+    /**
+     * Copies the position of a solution into particle i.
+     *
+     * @param i the index of the particle
+     * @param solution the solution
+     */
+    public void load(int i, Solution solution) {
+        int offset = i * numberOfVariables;
+        for (int j = 0; j < numberOfVariables; j++) {
+            positions[offset + j] = ((RealVariable)solution.getVariable(j)).getValue();
+        }
+    }
+
+    /**
+     * Copies the position of particle i into a solution.
+     *
+     * @param i the index of the particle
+     * @param solution the solution, whose variables are overwritten
+     * @return the solution
+     */
+    public Solution store(int i, Solution solution) {
+        int offset = i * numberOfVariables;
+        for (int j = 0; j < numberOfVariables; j++) {
+            ((RealVariable)solution.getVariable(j)).setValue(positions[offset + j]);
+        }
+        return solution;
+    }
+
+    /**
+     * Moves particle i by its velocity. A variable leaving its bounds is
+     * clamped and its velocity reversed.
+     *
+     * @param i the index of the particle
+     */
+    public void move(int i) {
+        int offset = i * numberOfVariables;
+        for (int j = 0; j < numberOfVariables; j++) {
+            double value = positions[offset + j] + velocities[offset + j];
+
+            if (value < lowerBounds[j]) {
+                value = lowerBounds[j];
+                velocities[offset + j] *= -1;
+            } else if (value > upperBounds[j]) {
+                value = upperBounds[j];
+                velocities[offset + j] *= -1;
+            }
+
+            positions[offset + j] = value;
+        }
+    }
+
+    /**
+     * Applies polynomial mutation to particle i, as
+     * {@link org.moeaframework.core.operator.real.PM} does.
+     *
+     * @param i the index of the particle
+     * @param probability the probability of mutating each variable
+     * @param distributionIndex the distribution index
+     */
+    public void mutate(int i, double probability, double distributionIndex) {
+        int offset = i * numberOfVariables;
+        for (int j = 0; j < numberOfVariables; j++) {
+            if (PRNG.nextDouble() <= probability) {
+                positions[offset + j] = PolynomialMutation.mutate(positions[offset + j], lowerBounds[j], upperBounds[j],
+                        PRNG.nextDouble(), distributionIndex);
+            }
+        }
+    }
+
+    /**
+     * Applies polynomial mutation to particle i, drawing from the random
+     * stream of the particle instead of {@link PRNG}.
+     *
+     * @param i the index of the particle
+     * @param probability the probability of mutating each variable
+     * @param distributionIndex the distribution index
+     * @param random the random stream of the particle
+     */
+    public void mutate(int i, double probability, double distributionIndex, SplittableRandom random) {
+        int offset = i * numberOfVariables;
+        for (int j = 0; j < numberOfVariables; j++) {
+            if (random.nextDouble() <= probability) {
+                positions[offset + j] = PolynomialMutation.mutate(positions[offset + j], lowerBounds[j], upperBounds[j],
+                        random.nextDouble(), distributionIndex);
+            }
+        }
+    }
+
+    /**
+     * Returns the offset of particle i in the position and velocity arrays.
+     *
+     * @param i the index of the particle
+     * @return the offset of particle i
+     */
+    public int offset(int i) {
+        return i * numberOfVariables;
+    }
+
+    public double getPosition(int i, int j) {
+        return positions[i * numberOfVariables + j];
+    }
+
+    public double getVelocity(int i, int j) {
+        return velocities[i * numberOfVariables + j];
+    }
+
+    public void setVelocity(int i, int j, double velocity) {
+        velocities[i * numberOfVariables + j] = velocity;
+    }
+
+    public double[] getPositions() {
+        return positions;
+    }
+
+    public double[] getVelocities() {
+        return velocities;
+    }
+
+    public double[] getLowerBounds() {
+        return lowerBounds;
+    }
+
+    public double[] getUpperBounds() {
+        return upperBounds;
+    }
+
+    public int getSwarmSize() {
+        return swarmSize;
+    }
+
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+}
@@ -0,0 +1,21 @@
+package com.unilag.interfaces;
+
+import org.moeaframework.core.FitnessEvaluator;
+
+/**
+ * A fitness evaluator whose result depends on inputs other than the
+ * population, such as the reference particle of a
+ * {@link com.unilag.fitness.WSumFitnessEvaluator}. The version changes
+ * whenever those inputs change, so archives can skip evaluations while
+ * neither their contents nor the version changed.
+ * @see com.unilag.fitness.DoubleComparatorArchive
+ */
+public interface VersionedFitnessEvaluator extends FitnessEvaluator {
+
+    /**
+     * Returns the version of the inputs of this evaluator.
+     *
+     * @return the version of the inputs of this evaluator
+     */
+    long getVersion();
+}
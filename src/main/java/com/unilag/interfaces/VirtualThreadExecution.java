@@ -0,0 +1,101 @@
+package com.unilag.interfaces;
+
+import org.moeaframework.core.FrameworkException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs every particle on its own virtual thread, which suits problems whose
+ * evaluation blocks, such as simulations run in another process. Virtual
+ * threads require Java 21; as the project targets Java 8, the executor is
+ * looked up by reflection and {@link #isAvailable()} tells whether the
+ * running JVM provides it.
+ */
+public class VirtualThreadExecution implements ExecutionStrategy {
+
+    /**
+     * The executor starting a virtual thread per task.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a strategy running every particle on its own virtual thread.
+     *
+     * @throws FrameworkException if the running JVM does not support virtual threads
+     */
+    public VirtualThreadExecution() {
+        Method factory = getFactory();
+        if (factory == null) {
+            throw new FrameworkException("virtual threads require Java 21 or later");
+        }
+
+        try {
+            executor = (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new FrameworkException("unable to create a virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the running JVM supports virtual threads.
+     *
+     * @return {@code true} if the running JVM supports virtual threads
+     */
+    public static boolean isAvailable() {
+        return getFactory() != null;
+    }
+
+    @Override
+    public void forEach(int size, IntConsumer action) {
+        List<Future<?>> futures = new ArrayList<Future<?>>(size);
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> action.accept(index)));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            throw new FrameworkException("interrupted while running the particles", e);
+        } catch (ExecutionException e) {
+            cancel(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new FrameworkException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static void cancel(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private static Method getFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
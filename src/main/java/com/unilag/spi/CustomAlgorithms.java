@@ -1,18 +1,38 @@
 package com.unilag.spi;
 
 import com.unilag.algorithm.CSPSO;
+import com.unilag.algorithm.CSPSOIslands;
+import com.unilag.comparator.CDASComparator;
+import com.unilag.comparator.SCDASComparator;
+import com.unilag.comparator.ShiftBasedDensityComparator;
+import com.unilag.fitness.BiObjectiveShiftBasedDensityEvaluator;
+import com.unilag.fitness.DoubleComparatorArchive;
+import com.unilag.fitness.IncrementalShiftBasedDensityEvaluator;
+import com.unilag.fitness.NDTreeArchive;
+import com.unilag.fitness.ParallelShiftBasedDensityEvaluator;
+import com.unilag.fitness.SampledShiftBasedDensityEvaluator;
+import com.unilag.fitness.ShardedArchive;
+import com.unilag.fitness.ShiftBasedDensityEvaluator;
+import com.unilag.interfaces.ExecutionStrategy;
+import com.unilag.interfaces.ForkJoinExecution;
+import com.unilag.interfaces.SequentialExecution;
+import com.unilag.interfaces.VirtualThreadExecution;
 import org.moeaframework.algorithm.pso.SMPSO;
 import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variable;
+import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.spi.AlgorithmProvider;
+import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.core.spi.ProviderNotFoundException;
 import org.moeaframework.core.variable.RealVariable;
 import org.moeaframework.util.TypedProperties;
 
 import java.util.Properties;
+import java.util.function.Supplier;
 
 /**
  * A provider of custom algorithms. The following table contains all
@@ -27,10 +47,121 @@ import java.util.Properties;
  *     <td>CSPSO</td>
  *     <td>Real</td>
  *     <td>{@code populationSize, archiveSize, pm.rate,
- *         pm.distributionIndex, userDefinedParameter}</td>
+ *         pm.distributionIndex, userDefinedParameter, dominance,
+ *         scdas.delta, archive.index, archive.shards, archive.parallelism,
+ *         archive.batch, archive.truncation, sde.mode, sde.parallelism, sde.parallelThreshold, sde.sampleSize,
+ *         swarm.layout, swarm.execution, swarm.asynchronous,
+ *         swarm.pipelined, swarm.parallelism, swarm.shareProblem};
+ *         with the default {@code swarm.shareProblem=true}, parallel
+ *         workers evaluate the same problem, which must be thread-safe</td>
+ *   </tr>
+ *   <tr>
+ *     <td>CSPSO-Islands</td>
+ *     <td>Real</td>
+ *     <td>{@code islands.count, islands.topology, islands.interval,
+ *         islands.migrants, islands.shareProblem, maxEvaluations}, and the properties of
+ *         {@code CSPSO} for every island</td>
  *   </tr>
  * </table>
  *
+ * The {@code sde.mode} property selects how the shift-based density of the
+ * leaders is computed: {@code exact} (the default) recomputes it whenever the
+ * archive is truncated, {@code incremental} maintains it as leaders are added
+ * and removed, {@code sampled} estimates it from {@code sde.sampleSize}
+ * randomly drawn leaders for very large archives, {@code biobjective}
+ * computes it from the leaders sorted on the first objective when there are
+ * two objectives. In {@code exact} mode, an
+ * {@code sde.parallelism} greater than one spreads the computation over that
+ * many fork/join workers for archives of at least {@code sde.parallelThreshold}
+ * solutions.
+ *
+ * The {@code dominance} property selects how the leaders dominate each other:
+ * {@code cdas} (the default) controls the dominance area with the fixed user
+ * defined parameter, {@code scdas} lets every leader control its own
+ * dominance area, with the origin and landmarks offset by {@code scdas.delta}.
+ *
+ * The {@code archive.index} property selects how new leaders are checked
+ * for dominance: {@code list} scans every leader, {@code ndtree} only visits
+ * the leaders an {@link NDTreeArchive} cannot rule out, which suits large
+ * archives and takes a binary search for two objectives. {@code auto} (the
+ * default) selects {@code ndtree} for two objectives and {@code list}
+ * otherwise. All keep the same leaders; the index falls back to the scan for
+ * {@code scdas}, whose geometry changes every generation. {@code sharded}
+ * partitions the leaders into {@code archive.shards} shards of a
+ * {@link ShardedArchive} by reference directions, each with its own index,
+ * and merges the particles into the shards on {@code archive.parallelism}
+ * fork/join workers, which {@code scdas} does not support.
+ *
+ * When {@code archive.batch} is {@code true}, the non-dominated particles of
+ * each generation are merged into the leaders at once and the leaders are
+ * truncated once, instead of after every particle exceeding the capacity.
+ * This changes which leaders survive, so it defaults to {@code false}, unless
+ * the leaders are sharded.
+ *
+ * The {@code archive.truncation} property selects how the leaders removed
+ * from a full archive are chosen: {@code sort} (the default) sorts the
+ * leaders on density, {@code select} picks the same leaders with a heap
+ * without reordering the others, and {@code iterative} removes the least
+ * dense leader one at a time, updating the densities of the others after
+ * each removal.
+ *
+ * The {@code swarm.layout} property selects how the particles are stored:
+ * {@code objects} (the default) as {@link Solution} objects, {@code arrays}
+ * in the flat arrays of a {@link com.unilag.interfaces.SwarmState}, which
+ * suits swarms with many particles and variables.
+ *
+ * The {@code swarm.execution} property selects how the particles are updated
+ * and evaluated: {@code default} runs them in turn, drawing from the
+ * {@link org.moeaframework.core.PRNG}, {@code sequential} runs them in turn
+ * with a random stream per particle, {@code forkjoin} runs them on
+ * {@code swarm.parallelism} fork/join workers and {@code virtual} on a
+ * virtual thread each, which requires Java 21. All but {@code default} use
+ * the {@code arrays} layout and a random stream per particle, so a seeded run
+ * gives the same result for any of them and any parallelism. It defaults to
+ * {@code forkjoin} when {@code swarm.parallelism} is greater than one and to
+ * {@code default} otherwise.
+ *
+ * When {@code swarm.asynchronous} is {@code true}, the particles are instead
+ * evaluated on {@code swarm.parallelism} workers without waiting for each
+ * other: every particle is merged into the archives as soon as its
+ * evaluation completes, then moved and evaluated again. This keeps the
+ * workers busy when evaluations are expensive and of uneven duration, but
+ * seeded runs are no longer reproducible.
+ *
+ * When {@code swarm.pipelined} is {@code true}, each generation is merged
+ * into the archives on a separate thread while the next generation is moved
+ * and evaluated, which guides every generation by the archives of the one
+ * before the previous. It requires an execution strategy, and
+ * {@code swarm.execution} defaults to {@code sequential} then.
+ *
+ * The workers share the problem by default, so a problem evaluated by
+ * several workers, through {@code swarm.execution} or
+ * {@code swarm.asynchronous}, must be thread-safe. When
+ * {@code swarm.shareProblem} is {@code false}, each worker evaluates its own instance of the
+ * problem, created by name through the {@link ProblemFactory}. An instance
+ * is created up front to check that it has the same number of variables,
+ * objectives and constraints as the problem, so a problem that cannot be
+ * created by name, or is created with other settings, is rejected before the
+ * run starts.
+ *
+ * The pools created for {@code swarm.execution}, {@code swarm.asynchronous},
+ * {@code sde.parallelism} and {@code archive.parallelism} are shut down when
+ * the algorithm terminates. The properties are checked before any pool is
+ * created, and the pools are shut down if the algorithm cannot be created.
+ *
+ * {@code CSPSO-Islands} runs {@code islands.count} {@code CSPSO} swarms on
+ * their own threads, see {@link CSPSOIslands}. Every {@code islands.interval}
+ * generations, a swarm sends its {@code islands.migrants} least crowded
+ * leaders to the next swarm in a {@code ring} (the default), to all the
+ * others when fully connected ({@code full}), or to another swarm drawn at
+ * random ({@code random}), as selected by {@code islands.topology}. The
+ * swarms share the budget of {@code maxEvaluations} evaluations. Each swarm
+ * evaluates its own instance of the problem, created by name as for
+ * {@code swarm.shareProblem}, unless {@code islands.shareProblem} is
+ * {@code true}, in which case the swarms share the problem, which must then
+ * be thread-safe. Within a swarm, {@code swarm.shareProblem} applies to the
+ * instance of the swarm.
+ *
  * @see org.moeaframework.algorithm.StandardAlgorithms
  */
 public class CustomAlgorithms extends AlgorithmProvider {
@@ -53,6 +184,9 @@ public class CustomAlgorithms extends AlgorithmProvider {
             } else if(name.equalsIgnoreCase("CDASPSO")) {
                 return newCSPSO(typedProperties, problem, 0.5);
 
+            } else if(name.equalsIgnoreCase("CSPSO-Islands")) {
+                return newCSPSOIslands(typedProperties, problem);
+
             } else {
                 return null;
             }
@@ -69,7 +203,7 @@ public class CustomAlgorithms extends AlgorithmProvider {
      * @param problem the problem
      * @return a new {@code SMPSO} instance
      */
-    private Algorithm newCSPSO(TypedProperties properties, Problem problem, double userDefinedParameter) {
+    private CSPSO newCSPSO(TypedProperties properties, Problem problem, double userDefinedParameter) {
         if (!checkType(RealVariable.class, problem)) {
             throw new FrameworkException("unsupported decision variable type");
         }
@@ -81,8 +215,292 @@ public class CustomAlgorithms extends AlgorithmProvider {
         double distributionIndex = properties.getDouble("pm.distributionIndex",
                 20.0);
 
-        return new CSPSO(problem, populationSize, archiveSize,
-                mutationProbability, distributionIndex, userDefinedParameter);
+        String layout = properties.getString("swarm.layout", "objects");
+
+        if (!layout.equalsIgnoreCase("arrays") && !layout.equalsIgnoreCase("objects")) {
+            throw new FrameworkException("unsupported swarm.layout " + layout);
+        }
+
+        int parallelism = (int)properties.getDouble("swarm.parallelism", 1);
+        boolean asynchronous = properties.getBoolean("swarm.asynchronous", false);
+        boolean pipelined = properties.getBoolean("swarm.pipelined", false);
+        String execution = properties.getString("swarm.execution",
+                parallelism > 1 && !asynchronous ? "forkjoin" : pipelined ? "sequential" : "default");
+        boolean defaultExecution = execution.equalsIgnoreCase("default");
+
+        if (!defaultExecution && !execution.equalsIgnoreCase("sequential") &&
+                !execution.equalsIgnoreCase("forkjoin") && !execution.equalsIgnoreCase("virtual")) {
+            throw new FrameworkException("unsupported swarm.execution " + execution);
+        }
+
+        if (asynchronous && !defaultExecution) {
+            throw new FrameworkException("swarm.asynchronous does not support swarm.execution " + execution);
+        }
+
+        if (pipelined && defaultExecution) {
+            throw new FrameworkException("swarm.pipelined does not support swarm.execution " + execution);
+        }
+
+        Supplier<Problem> problemFactory = null;
+
+        if (!properties.getBoolean("swarm.shareProblem", true) && (!defaultExecution || asynchronous)) {
+            newProblemInstance(problem).close();
+            problemFactory = () -> newProblemInstance(problem);
+        }
+
+        // every property is checked, so only the pools below remain to release on failure
+        DoubleComparatorArchive leaders = newLeaderArchive(properties, problem, archiveSize,
+                newLeaderDominance(properties, userDefinedParameter));
+        ExecutionStrategy strategy = null;
+
+        try {
+            CSPSO algorithm = new CSPSO(problem, populationSize, archiveSize,
+                    mutationProbability, distributionIndex, leaders);
+
+            algorithm.setBatchLeaderUpdates(properties.getBoolean("archive.batch",
+                    properties.getString("archive.index", "auto").equalsIgnoreCase("sharded")));
+
+            if (layout.equalsIgnoreCase("arrays")) {
+                algorithm.setSwarmStateEnabled(true);
+            }
+
+            if (execution.equalsIgnoreCase("sequential")) {
+                strategy = new SequentialExecution();
+            } else if (execution.equalsIgnoreCase("forkjoin")) {
+                strategy = new ForkJoinExecution(parallelism);
+            } else if (execution.equalsIgnoreCase("virtual")) {
+                strategy = new VirtualThreadExecution();
+            }
+
+            if (strategy != null) {
+                algorithm.setExecutionStrategy(strategy, problemFactory);
+            }
+
+            algorithm.setPipelinedGenerations(pipelined);
+
+            if (asynchronous) {
+                algorithm.setAsynchronousExecution(parallelism, problemFactory);
+            }
+
+            return algorithm;
+        } catch (RuntimeException e) {
+            leaders.close();
+
+            if (strategy != null) {
+                strategy.close();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a new {@link CSPSOIslands} instance.
+     *
+     * @param properties the properties for customizing the islands and
+     *        every {@code CSPSO} swarm
+     * @param problem the problem
+     * @return a new {@code CSPSOIslands} instance
+     */
+    private Algorithm newCSPSOIslands(TypedProperties properties, Problem problem) {
+        if (properties.getBoolean("swarm.asynchronous", false)) {
+            throw new FrameworkException("CSPSO-Islands does not support swarm.asynchronous");
+        }
+
+        int count = (int)properties.getDouble("islands.count", 4);
+        int interval = (int)properties.getDouble("islands.interval", CSPSOIslands.DEFAULT_MIGRATION_INTERVAL);
+        int migrants = (int)properties.getDouble("islands.migrants", CSPSOIslands.DEFAULT_MIGRATION_SIZE);
+        long maxEvaluations = (long)properties.getDouble("maxEvaluations", Long.MAX_VALUE);
+        String topology = properties.getString("islands.topology", "ring");
+        boolean shareProblem = properties.getBoolean("islands.shareProblem", false);
+
+        if (count < 1) {
+            throw new FrameworkException("islands.count must be positive");
+        }
+
+        CSPSOIslands.Topology islandTopology;
+
+        try {
+            islandTopology = CSPSOIslands.Topology.valueOf(topology.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new FrameworkException("unsupported islands.topology " + topology, e);
+        }
+
+        CSPSO[] islands = new CSPSO[count];
+        for (int k = 0; k < count; k++) {
+            Problem islandProblem = shareProblem ? problem : null;
+
+            try {
+                if (islandProblem == null) {
+                    islandProblem = newProblemInstance(problem);
+                }
+                islands[k] = newCSPSO(properties, islandProblem, 0.55);
+            } catch (RuntimeException e) {
+                // releases the pools and problem instances of the islands built so far
+                if (islandProblem != null && islandProblem != problem) {
+                    islandProblem.close();
+                }
+                for (int i = 0; i < k; i++) {
+                    islands[i].terminate();
+                    if (islands[i].getProblem() != problem) {
+                        islands[i].getProblem().close();
+                    }
+                }
+                throw e;
+            }
+        }
+
+        return new CSPSOIslands(problem, islands, islandTopology, interval, migrants, maxEvaluations);
+    }
+
+    /**
+     * Returns a new instance of the problem, created by name through the
+     * {@link ProblemFactory}.
+     *
+     * @param problem the problem
+     * @return a new instance of the problem
+     * @throws FrameworkException if the problem cannot be created by name, or
+     *         if the new instance does not have the same number of
+     *         variables, objectives and constraints as the problem
+     */
+    private static Problem newProblemInstance(Problem problem) {
+        Problem instance;
+
+        try {
+            instance = ProblemFactory.getInstance().getProblem(problem.getName());
+        } catch (FrameworkException e) {
+            throw new FrameworkException("unable to create an instance of " + problem.getName() +
+                    " by name, set swarm.shareProblem or islands.shareProblem to true", e);
+        }
+
+        if (instance.getNumberOfVariables() != problem.getNumberOfVariables() ||
+                instance.getNumberOfObjectives() != problem.getNumberOfObjectives() ||
+                instance.getNumberOfConstraints() != problem.getNumberOfConstraints()) {
+            instance.close();
+            throw new FrameworkException("the instance of " + problem.getName() +
+                    " created by name does not match the problem, set swarm.shareProblem or" +
+                    " islands.shareProblem to true");
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns a new, empty leader's archive, truncated by a new density
+     * evaluator. The properties are checked before the pools of the archive
+     * and of the evaluator are created.
+     *
+     * @param properties the properties selecting the {@code archive.index},
+     *        its options, the {@code archive.truncation} and the {@code sde.mode}
+     * @param problem the problem
+     * @param archiveSize the capacity of the archive
+     * @param dominance the dominance comparator of the leaders
+     * @return a new leader's archive
+     */
+    private DoubleComparatorArchive newLeaderArchive(TypedProperties properties, Problem problem, int archiveSize,
+                                                     DominanceComparator dominance) {
+        String index = properties.getString("archive.index", "auto");
+        String truncation = properties.getString("archive.truncation", "sort");
+        int shards = (int)properties.getDouble("archive.shards", ShardedArchive.DEFAULT_NUMBER_OF_SHARDS);
+        int parallelism = (int)properties.getDouble("archive.parallelism", 1);
+        DoubleComparatorArchive.Truncation archiveTruncation;
+
+        if (!index.equalsIgnoreCase("auto") && !index.equalsIgnoreCase("list") &&
+                !index.equalsIgnoreCase("ndtree") && !index.equalsIgnoreCase("sharded")) {
+            throw new FrameworkException("unsupported archive.index " + index);
+        }
+
+        if (index.equalsIgnoreCase("sharded") && shards < 1) {
+            throw new FrameworkException("archive.shards must be positive");
+        }
+
+        if (index.equalsIgnoreCase("sharded") && parallelism > 1 && dominance instanceof SCDASComparator) {
+            throw new FrameworkException("archive.parallelism does not support dominance scdas");
+        }
+
+        try {
+            archiveTruncation = DoubleComparatorArchive.Truncation.valueOf(truncation.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new FrameworkException("unsupported archive.truncation " + truncation, e);
+        }
+
+        FitnessEvaluator evaluator = newDensityEvaluator(properties);
+        DoubleComparatorArchive leaders;
+
+        if (index.equalsIgnoreCase("auto")) {
+            leaders = CSPSO.newLeaders(problem, archiveSize, dominance, evaluator);
+        } else if (index.equalsIgnoreCase("list")) {
+            leaders = new DoubleComparatorArchive(evaluator, archiveSize, dominance, new ShiftBasedDensityComparator(true));
+        } else if (index.equalsIgnoreCase("ndtree")) {
+            leaders = new NDTreeArchive(evaluator, archiveSize, dominance, new ShiftBasedDensityComparator(true));
+        } else {
+            leaders = new ShardedArchive(evaluator, archiveSize, dominance, new ShiftBasedDensityComparator(true),
+                    ShardedArchive.referenceDirections(problem.getNumberOfObjectives(), shards),
+                    parallelism > 1 ? new ForkJoinExecution(parallelism) : new SequentialExecution());
+        }
+
+        try {
+            leaders.setTruncation(archiveTruncation);
+        } catch (IllegalArgumentException e) {
+            // the truncation may not suit the evaluator, which is only known now
+            leaders.close();
+            throw new FrameworkException("unsupported archive.truncation " + truncation, e);
+        }
+
+        return leaders;
+    }
+
+    /**
+     * Returns a new dominance comparator for the leaders.
+     *
+     * @param properties the properties selecting the {@code dominance} and
+     *        its options
+     * @param userDefinedParameter the CDAS user defined parameter
+     * @return a new dominance comparator
+     */
+    private DominanceComparator newLeaderDominance(TypedProperties properties, double userDefinedParameter) {
+        String dominance = properties.getString("dominance", "cdas");
+
+        if (dominance.equalsIgnoreCase("cdas")) {
+            return new CDASComparator(userDefinedParameter);
+        } else if (dominance.equalsIgnoreCase("scdas")) {
+            return new SCDASComparator(properties.getDouble("scdas.delta", 0.01));
+        } else {
+            throw new FrameworkException("unsupported dominance " + dominance);
+        }
+    }
+
+    /**
+     * Returns a new shift-based density evaluator for the leaders.
+     *
+     * @param properties the properties selecting the {@code sde.mode} and
+     *        its options
+     * @return a new shift-based density evaluator
+     */
+    private FitnessEvaluator newDensityEvaluator(TypedProperties properties) {
+        String mode = properties.getString("sde.mode", "exact");
+
+        if (mode.equalsIgnoreCase("exact")) {
+            int parallelism = (int)properties.getDouble("sde.parallelism", 1);
+
+            if (parallelism > 1) {
+                int threshold = (int)properties.getDouble("sde.parallelThreshold",
+                        ParallelShiftBasedDensityEvaluator.DEFAULT_THRESHOLD);
+                return new ParallelShiftBasedDensityEvaluator(parallelism, threshold);
+            } else {
+                return new ShiftBasedDensityEvaluator();
+            }
+        } else if (mode.equalsIgnoreCase("incremental")) {
+            return new IncrementalShiftBasedDensityEvaluator();
+        } else if (mode.equalsIgnoreCase("biobjective")) {
+            return new BiObjectiveShiftBasedDensityEvaluator();
+        } else if (mode.equalsIgnoreCase("sampled")) {
+            int sampleSize = (int)properties.getDouble("sde.sampleSize",
+                    SampledShiftBasedDensityEvaluator.DEFAULT_SAMPLE_SIZE);
+            return new SampledShiftBasedDensityEvaluator(sampleSize);
+        } else {
+            throw new FrameworkException("unsupported sde.mode " + mode);
+        }
     }
 
     /**
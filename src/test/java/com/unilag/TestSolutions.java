@@ -0,0 +1,95 @@
+package com.unilag;
+
+import org.moeaframework.core.Solution;
+
+import java.util.Random;
+
+/**
+ * Random solutions shared by the unit tests. The solutions have objectives
+ * only, and are drawn from the supplied random stream so the tests stay
+ * reproducible.
+ */
+public final class TestSolutions {
+
+    private TestSolutions() {
+        super();
+    }
+
+    /**
+     * Returns a solution on the unit sphere in the positive orthant.
+     *
+     * @param random the random stream
+     * @param numberOfObjectives the number of objectives
+     * @return a solution on the unit sphere in the positive orthant
+     */
+    public static Solution frontSolution(Random random, int numberOfObjectives) {
+        double[] objectives = new double[numberOfObjectives];
+        double norm = 0;
+        for (int j = 0; j < numberOfObjectives; j++) {
+            objectives[j] = Math.abs(random.nextGaussian());
+            norm += objectives[j] * objectives[j];
+        }
+        for (int j = 0; j < numberOfObjectives; j++) {
+            objectives[j] /= Math.sqrt(norm);
+        }
+        return new Solution(objectives);
+    }
+
+    /**
+     * Returns a solution on the unit sphere in the positive orthant, with
+     * each objective moved off the front by up to {@code offset} with the
+     * given probability.
+     *
+     * @param random the random stream
+     * @param numberOfObjectives the number of objectives
+     * @param probability the probability of moving an objective
+     * @param offset the largest move of an objective
+     * @return a solution near the unit sphere in the positive orthant
+     */
+    public static Solution nearFrontSolution(Random random, int numberOfObjectives, double probability,
+                                             double offset) {
+        Solution solution = frontSolution(random, numberOfObjectives);
+        for (int j = 0; j < numberOfObjectives; j++) {
+            if (random.nextDouble() < probability) {
+                solution.setObjective(j, solution.getObjective(j) + offset * random.nextDouble());
+            }
+        }
+        return solution;
+    }
+
+    /**
+     * Returns a batch of solutions near the unit sphere in the positive
+     * orthant, drawn by {@link #nearFrontSolution(Random, int, double, double)}.
+     *
+     * @param random the random stream
+     * @param numberOfObjectives the number of objectives
+     * @param size the number of solutions
+     * @param probability the probability of moving an objective
+     * @param offset the largest move of an objective
+     * @return a batch of solutions near the unit sphere in the positive orthant
+     */
+    public static Solution[] nearFrontBatch(Random random, int numberOfObjectives, int size, double probability,
+                                            double offset) {
+        Solution[] batch = new Solution[size];
+        for (int k = 0; k < size; k++) {
+            batch[k] = nearFrontSolution(random, numberOfObjectives, probability, offset);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns a solution with objectives drawn uniformly from the unit
+     * hypercube.
+     *
+     * @param random the random stream
+     * @param numberOfObjectives the number of objectives
+     * @return a solution with uniformly drawn objectives
+     */
+    public static Solution uniformSolution(Random random, int numberOfObjectives) {
+        double[] objectives = new double[numberOfObjectives];
+        for (int j = 0; j < numberOfObjectives; j++) {
+            objectives[j] = random.nextDouble();
+        }
+        return new Solution(objectives);
+    }
+}
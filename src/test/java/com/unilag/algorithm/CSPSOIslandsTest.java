@@ -0,0 +1,210 @@
+package com.unilag.algorithm;
+
+import com.unilag.spi.CustomAlgorithms;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Tests the {@link CSPSOIslands} class.
+ */
+public class CSPSOIslandsTest {
+
+    /**
+     * Tests that the islands stop once the shared budget cannot cover a generation
+     */
+    @Test
+    public void testSharedBudget() {
+        PRNG.setSeed(1);
+        CSPSOIslands algorithm = newIslands(3, CSPSOIslands.Topology.RING, 1010);
+
+        while (!algorithm.isTerminated()) {
+            algorithm.step();
+        }
+
+        //Assert that the islands evaluated the budget, less than a generation short
+        Assert.assertTrue(algorithm.getNumberOfEvaluations() <= 1010);
+        Assert.assertTrue(algorithm.getNumberOfEvaluations() > 1010 - 20);
+
+        int evaluations = 0;
+        for (int k = 0; k < algorithm.getNumberOfIslands(); k++) {
+            evaluations += algorithm.getIsland(k).getNumberOfEvaluations();
+        }
+
+        //Assert that the evaluations of all the islands are counted
+        Assert.assertEquals(evaluations, algorithm.getNumberOfEvaluations());
+
+        assertNondominated(algorithm.getResult());
+        algorithm.terminate();
+    }
+
+    /**
+     * Tests that the islands merge migrants for every topology
+     */
+    @Test
+    public void testMigration() {
+        for (CSPSOIslands.Topology topology : CSPSOIslands.Topology.values()) {
+            PRNG.setSeed(2);
+            CSPSOIslands algorithm = newIslands(3, topology, 3000);
+
+            while (!algorithm.isTerminated()) {
+                algorithm.step();
+            }
+
+            //Assert that migrants were merged
+            Assert.assertTrue(topology.toString(), algorithm.getNumberOfImmigrants() > 0);
+
+            NondominatedPopulation result = algorithm.getResult();
+            assertNondominated(result);
+
+            //Assert that the result holds the leaders of all the islands
+            for (int k = 0; k < algorithm.getNumberOfIslands(); k++) {
+                for (Solution leader : algorithm.getIsland(k).getResult()) {
+                    Assert.assertFalse(new NondominatedPopulation(result).add(leader.copy()));
+                }
+            }
+            algorithm.terminate();
+        }
+    }
+
+    /**
+     * Tests the neighbours of the islands in every topology
+     */
+    @Test
+    public void testNeighbours() {
+        PRNG.setSeed(3);
+
+        CSPSOIslands ring = newIslands(4, CSPSOIslands.Topology.RING, 0);
+        CSPSOIslands full = newIslands(4, CSPSOIslands.Topology.FULL, 0);
+        CSPSOIslands random = newIslands(4, CSPSOIslands.Topology.RANDOM, 0);
+
+        for (int k = 0; k < 4; k++) {
+            //Assert that a ring sends the migrants to the next island
+            Assert.assertArrayEquals(new int[] {(k + 1) % 4}, ring.getNeighbours(k));
+
+            //Assert that a fully connected topology sends the migrants to all the other islands
+            Set<Integer> neighbours = new HashSet<>();
+            for (int neighbour : full.getNeighbours(k)) {
+                neighbours.add(neighbour);
+            }
+            Assert.assertEquals(3, full.getNeighbours(k).length);
+            Assert.assertEquals(3, neighbours.size());
+            Assert.assertFalse(neighbours.contains(k));
+
+            //Assert that a random topology sends the migrants to every other island over time
+            Set<Integer> drawn = new HashSet<>();
+            for (int n = 0; n < 100; n++) {
+                int[] randomNeighbours = random.getNeighbours(k);
+                Assert.assertEquals(1, randomNeighbours.length);
+                drawn.add(randomNeighbours[0]);
+            }
+            Assert.assertEquals(neighbours, drawn);
+        }
+
+        //Assert that a single island has no neighbour
+        Assert.assertEquals(0, newIslands(1, CSPSOIslands.Topology.FULL, 0).getNeighbours(0).length);
+    }
+
+    /**
+     * Tests that the islands are provided by {@link CustomAlgorithms}
+     */
+    @Test
+    public void testProvider() {
+        Properties properties = new Properties();
+        properties.setProperty("populationSize", "20");
+        properties.setProperty("archiveSize", "20");
+        properties.setProperty("islands.count", "2");
+        properties.setProperty("islands.topology", "full");
+        properties.setProperty("islands.interval", "2");
+        properties.setProperty("maxEvaluations", "500");
+        properties.setProperty("islands.shareProblem", "true");
+
+        Algorithm algorithm = new CustomAlgorithms().getAlgorithm("CSPSO-Islands", properties, new DTLZ2(3));
+
+        //Assert that the properties are applied
+        Assert.assertTrue(algorithm instanceof CSPSOIslands);
+        Assert.assertEquals(2, ((CSPSOIslands) algorithm).getNumberOfIslands());
+        Assert.assertEquals(CSPSOIslands.Topology.FULL, ((CSPSOIslands) algorithm).getTopology());
+
+        while (!algorithm.isTerminated()) {
+            algorithm.step();
+        }
+
+        //Assert that the budget is shared
+        Assert.assertEquals(500, algorithm.getNumberOfEvaluations());
+        algorithm.terminate();
+    }
+
+    /**
+     * Tests that the provider gives each island its own instance of the problem unless sharing is requested
+     */
+    @Test
+    public void testProviderProblems() {
+        Properties properties = new Properties();
+        properties.setProperty("populationSize", "20");
+        properties.setProperty("archiveSize", "20");
+        properties.setProperty("islands.count", "3");
+
+        // a problem the factory creates by name
+        Problem problem = new DTLZ2(3) {
+            @Override
+            public String getName() {
+                return "DTLZ2_3";
+            }
+        };
+
+        CSPSOIslands islands = (CSPSOIslands) new CustomAlgorithms().getAlgorithm("CSPSO-Islands", properties,
+                problem);
+
+        //Assert that every island has its own instance
+        Set<Problem> problems = Collections.newSetFromMap(new IdentityHashMap<Problem, Boolean>());
+        for (int k = 0; k < islands.getNumberOfIslands(); k++) {
+            problems.add(islands.getIsland(k).getProblem());
+        }
+        Assert.assertEquals(3, problems.size());
+        Assert.assertFalse(problems.contains(problem));
+        islands.terminate();
+
+        properties.setProperty("islands.shareProblem", "true");
+        islands = (CSPSOIslands) new CustomAlgorithms().getAlgorithm("CSPSO-Islands", properties, problem);
+
+        //Assert that the islands share the problem when requested
+        for (int k = 0; k < islands.getNumberOfIslands(); k++) {
+            Assert.assertSame(problem, islands.getIsland(k).getProblem());
+        }
+        islands.terminate();
+    }
+
+    private static CSPSOIslands newIslands(int count, CSPSOIslands.Topology topology, long maxEvaluations) {
+        Problem problem = new DTLZ2(3);
+        CSPSO[] islands = new CSPSO[count];
+        for (int k = 0; k < count; k++) {
+            islands[k] = new CSPSO(new DTLZ2(3), 20, 20, 1.0 / 12, 20.0, 0.55);
+        }
+        return new CSPSOIslands(problem, islands, topology, 2, 3, maxEvaluations);
+    }
+
+    private static void assertNondominated(NondominatedPopulation result) {
+        Assert.assertFalse(result.isEmpty());
+        ParetoDominanceComparator comparator = new ParetoDominanceComparator();
+        for (Solution first : result) {
+            for (Solution second : result) {
+                Assert.assertTrue(Arrays.toString(first.getObjectives()),
+                        first == second || comparator.compare(first, second) == 0);
+            }
+        }
+    }
+}
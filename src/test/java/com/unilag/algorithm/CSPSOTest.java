@@ -8,14 +8,18 @@ import com.unilag.interfaces.AbstractPSO;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Solution;
+import org.moeaframework.problem.DTLZ.DTLZ2;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static com.unilag.interfaces.SumFitnessEvaluator.WSUM_FITNESS_ATTRIBUTE;
+
 /**
  * Tests the {@link CSPSO} class.
  */
@@ -74,4 +78,71 @@ public class CSPSOTest extends AlgorithmTest {
         Assert.assertEquals(leadersList.get(0), solutionD);
 
     }
+
+    /**
+     * Tests that {@link CSPSO#selectLeader(int)} selects the same leaders as sorting the sampled leaders
+     * by their weighted sums, without writing the weighted sums onto the leaders
+     */
+    @Test
+    public void selectLeaderTest() {
+        PRNG.setSeed(17);
+        LeaderProbe algorithm = new LeaderProbe();
+        for (int step = 0; step < 5; step++) {
+            algorithm.step();
+        }
+
+        for (Solution leader : algorithm.getLeaders()) {
+            leader.removeAttribute(WSUM_FITNESS_ATTRIBUTE);
+        }
+
+        for (int index = 0; index < 30; index++) {
+            long seed = PRNG.nextInt();
+
+            PRNG.setSeed(seed);
+            Solution expected = algorithm.sortedSelection(index);
+
+            for (Solution leader : algorithm.getLeaders()) {
+                leader.removeAttribute(WSUM_FITNESS_ATTRIBUTE);
+            }
+
+            PRNG.setSeed(seed);
+            Solution actual = algorithm.selectLeader(index);
+
+            //Assert that the same leader is selected
+            Assert.assertSame(expected, actual);
+
+            for (Solution leader : algorithm.getLeaders()) {
+                //Assert that the leaders are left untouched
+                Assert.assertFalse(leader.hasAttribute(WSUM_FITNESS_ATTRIBUTE));
+            }
+        }
+    }
+
+    /**
+     * Exposes the leaders and the former, sorting based, leader selection of {@link CSPSO}.
+     */
+    private static class LeaderProbe extends CSPSO {
+
+        LeaderProbe() {
+            super(new DTLZ2(3), 30, 30, 1.0 / 12, 20.0, 0.55);
+        }
+
+        Iterable<Solution> getLeaders() {
+            return leaders;
+        }
+
+        Solution sortedSelection(int index) {
+            Solution leaderOne = leaders.get(PRNG.nextInt(leaders.size()));
+            Solution leaderTwo = leaders.get(PRNG.nextInt(leaders.size()));
+            Solution leaderThree = leaders.get(PRNG.nextInt(leaders.size()));
+
+            Solution[] solutions = {leaderOne, leaderTwo, leaderThree};
+            new WSumFitnessEvaluator(particles[index]).evaluate(new Population(solutions));
+
+            List<Solution> leadersList = new ArrayList<>(Arrays.asList(solutions));
+            leadersList.sort(new WSumComparator(true));
+
+            return leadersList.get(0);
+        }
+    }
 }
@@ -199,6 +199,44 @@ public class CDASObjectiveComparatorTest {
         Assert.assertTrue(paretoComparator.compare(solutionB, solutionD) == 0);
     }
 
+    /**
+     * Tests that the closed-form transformation matches the values documented in {@link #testCDAS()}
+     * and that cached values follow the user defined parameter and the objectives
+     */
+    @Test
+    public void testModifiedFitnessValue() {
+        CDASObjectiveComparator increase = new CDASObjectiveComparator(0.25);
+        CDASObjectiveComparator decrease = new CDASObjectiveComparator(0.75);
+        double DELTA = 1e-6;
+
+        //Assert the transformed values of A for both user defined parameters
+        Assert.assertArrayEquals(increase.getModifiedFitnessValue(solutionA), new double[] {27, 27}, DELTA);
+        Assert.assertArrayEquals(decrease.getModifiedFitnessValue(solutionA), new double[] {-7, 7}, DELTA);
+
+        //Assert that comparing does not cache anything on the solutions
+        increase.compare(solutionD, solutionA);
+        Assert.assertNull(solutionD.getAttribute(CDASObjectiveComparator.CDAS_OBJECTIVES_ATTRIBUTE));
+        Assert.assertNotSame(increase.getModifiedFitnessValue(solutionD), increase.getModifiedFitnessValue(solutionD));
+
+        //Assert that the cached values are reused while nothing changes
+        double[] cached = increase.cacheModifiedFitnessValue(solutionD);
+        Assert.assertSame(cached, increase.getModifiedFitnessValue(solutionD));
+        Assert.assertSame(cached, increase.cacheModifiedFitnessValue(solutionD));
+
+        //Assert that changing the objectives invalidates the cached values
+        increase.cacheModifiedFitnessValue(solutionB);
+        Assert.assertTrue(increase.compare(solutionA, solutionB) > 0);
+        solutionB.setObjectives(new double[] {100, 100});
+        Assert.assertTrue(increase.compare(solutionA, solutionB) < 0);
+
+        //Assert that a copy with new objectives does not alter the cached values of the original
+        double[] original = increase.cacheModifiedFitnessValue(solutionC);
+        Solution copy = solutionC.copy();
+        copy.setObjectives(new double[] {1, 1});
+        Assert.assertArrayEquals(increase.cacheModifiedFitnessValue(copy), new double[] {2, 2}, DELTA);
+        Assert.assertSame(original, increase.getModifiedFitnessValue(solutionC));
+    }
+
     /**
      * Conduct integration tests with {@link com.unilag.fitness.ShiftBasedDensityEvaluator} and
      * {@link com.unilag.fitness.DoubleComparatorArchive}
@@ -222,6 +260,10 @@ public class CDASObjectiveComparatorTest {
         //Reducing the area of dominance results in selection-pressure loss and SDE plays major role
         Assert.assertThat(doubleComparatorArchive, containsInAnyOrder(solutionB, solutionD));
 
+        //Assert the archive cached the transformed objectives when adding the solutions
+        Assert.assertSame(areaDecreaseComparator.getModifiedObjectives(solutionB),
+                areaDecreaseComparator.getModifiedObjectives(solutionB));
+
         DoubleComparatorArchive doubleComparatorArchiveIncrease = new DoubleComparatorArchive(evaluator,
                 2, areaIncreaseComparator, new FitnessComparator(evaluator.areLargerValuesPreferred()));
 
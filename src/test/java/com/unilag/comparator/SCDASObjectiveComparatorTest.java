@@ -0,0 +1,175 @@
+package com.unilag.comparator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+import java.util.Random;
+
+/**
+ * Tests the {@link SCDASObjectiveComparator} class.
+ */
+public class SCDASObjectiveComparatorTest {
+
+    private static final double DELTA = 0.01;
+
+    /**
+     * Tests that the comparator behaves as Pareto dominance until its geometry is refreshed
+     */
+    @Test
+    public void testParetoBeforeUpdate() {
+        SCDASObjectiveComparator comparator = new SCDASObjectiveComparator(DELTA);
+        ParetoDominanceComparator dominanceComparator = new ParetoDominanceComparator();
+        Solution[] solutions = {
+                new Solution(new double[] {10, 17}),
+                new Solution(new double[] {1, 18}),
+                new Solution(new double[] {11, 6}),
+                new Solution(new double[] {1, 2})
+        };
+
+        for (Solution first : solutions) {
+            for (Solution second : solutions) {
+                //Assert that the comparator agrees with Pareto dominance
+                Assert.assertEquals(dominanceComparator.compare(first, second), comparator.compare(first, second));
+            }
+        }
+    }
+
+    /**
+     * Tests that the closed form agrees with the CDAS transformation
+     * f′(i) = r * sin(ω(i) + φ(i)) / sin(φ(i)) computed from the angles
+     */
+    @Test
+    public void testAgreesWithAngles() {
+        Random random = new Random(7);
+        Population population = new Population();
+        for (int n = 0; n < 60; n++) {
+            population.add(new Solution(new double[] {random.nextDouble(), random.nextDouble(), random.nextDouble()}));
+        }
+
+        SCDASObjectiveComparator comparator = new SCDASObjectiveComparator(DELTA);
+        comparator.update(population);
+
+        int dominated = 0;
+        for (Solution first : population) {
+            for (Solution second : population) {
+                int expected = compareWithAngles(population, first, second);
+
+                //Assert that the comparator agrees with the angle based transformation
+                Assert.assertEquals(expected, comparator.compare(first, second));
+
+                //Assert that the relation is antisymmetric
+                Assert.assertEquals(-expected, comparator.compare(second, first));
+
+                if (expected != 0) {
+                    dominated++;
+                }
+            }
+        }
+
+        //Assert that the test is not vacuous
+        Assert.assertTrue(dominated > 0);
+    }
+
+    /**
+     * Tests that solutions not seen by the last update are compared against the current geometry
+     */
+    @Test
+    public void testUnseenSolutions() {
+        Random random = new Random(11);
+        Population population = new Population();
+        for (int n = 0; n < 20; n++) {
+            population.add(new Solution(new double[] {random.nextDouble(), random.nextDouble(), random.nextDouble()}));
+        }
+
+        SCDASObjectiveComparator comparator = new SCDASObjectiveComparator(DELTA);
+        comparator.update(population);
+
+        for (Solution first : population) {
+            for (Solution second : population) {
+                //Assert that copies, which were not seen, compare as the originals
+                Assert.assertEquals(comparator.compare(first, second), comparator.compare(first.copy(), second));
+                Assert.assertEquals(comparator.compare(first, second), comparator.compare(first, second.copy()));
+                Assert.assertEquals(comparator.compare(first, second), comparator.compare(first.copy(), second.copy()));
+            }
+        }
+    }
+
+    /**
+     * Compares two solutions from the angles φ(i, x), measured with trigonometry
+     * in the triangle formed by the modified origin, x and the landmark of objective i.
+     */
+    private int compareWithAngles(Population population, Solution first, Solution second) {
+        boolean firstDominates = dominatesWithAngles(population, first, second);
+        boolean secondDominates = dominatesWithAngles(population, second, first);
+
+        if (firstDominates == secondDominates) {
+            return 0;
+        } else if (firstDominates) {
+            return -1;
+        } else {
+            return 1;
+        }
+    }
+
+    private boolean dominatesWithAngles(Population population, Solution x, Solution y) {
+        int numberOfObjectives = x.getNumberOfObjectives();
+        double[] origin = new double[numberOfObjectives];
+        double[] landmark = new double[numberOfObjectives];
+        for (int i = 0; i < numberOfObjectives; i++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (Solution solution : population) {
+                min = Math.min(min, solution.getObjective(i));
+                max = Math.max(max, solution.getObjective(i));
+            }
+            origin[i] = min - DELTA;
+            landmark[i] = max - DELTA - origin[i];
+        }
+
+        boolean strictly = false;
+        for (int i = 0; i < numberOfObjectives; i++) {
+            double[] shiftedX = shift(x, origin);
+            double xi = shiftedX[i];
+            double heightX = Math.sqrt(norm(shiftedX) * norm(shiftedX) - xi * xi);
+
+            // the angle at x between the direction of the axis and the landmark
+            double phi = Math.atan2(heightX, landmark[i] - xi);
+
+            double own = transform(shiftedX, i, phi);
+            double other = transform(shift(y, origin), i, phi);
+            if (Math.abs(own - other) < 1e-9) {
+                continue;
+            } else if (own > other) {
+                return false;
+            } else {
+                strictly = true;
+            }
+        }
+        return strictly;
+    }
+
+    private double transform(double[] shifted, int i, double phi) {
+        double r = norm(shifted);
+        double omega = Math.acos(shifted[i] / r);
+        return r * Math.sin(omega + phi) / Math.sin(phi);
+    }
+
+    private double[] shift(Solution solution, double[] origin) {
+        double[] shifted = new double[origin.length];
+        for (int i = 0; i < origin.length; i++) {
+            shifted[i] = solution.getObjective(i) - origin[i];
+        }
+        return shifted;
+    }
+
+    private double norm(double[] vector) {
+        double sum = 0;
+        for (double value : vector) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+}
@@ -0,0 +1,66 @@
+package com.unilag.fitness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+
+import java.util.Random;
+
+import static com.unilag.TestSolutions.uniformSolution;
+
+/**
+ * Tests the {@link BiObjectiveShiftBasedDensityEvaluator} class.
+ */
+public class BiObjectiveShiftBasedDensityEvaluatorTest {
+
+    /**
+     * Tests that the densities of a two-objective front agree with {@link ShiftBasedDensityEvaluator}
+     */
+    @Test
+    public void testAgreesOnFront() {
+        Random random = new Random(17);
+        Population population = new Population();
+
+        for (int i = 0; i < 200; i++) {
+            double angle = 0.5 * Math.PI * random.nextDouble();
+            population.add(new Solution(new double[] {Math.cos(angle), Math.sin(angle)}));
+        }
+
+        assertAgrees(population);
+    }
+
+    /**
+     * Tests that populations which are not fronts, or have more objectives, are evaluated exactly
+     */
+    @Test
+    public void testFallback() {
+        Random random = new Random(19);
+        Population dominated = new Population();
+        Population threeObjectives = new Population();
+
+        for (int i = 0; i < 50; i++) {
+            dominated.add(uniformSolution(random, 2));
+            threeObjectives.add(uniformSolution(random, 3));
+        }
+
+        assertAgrees(dominated);
+        assertAgrees(threeObjectives);
+    }
+
+    private void assertAgrees(Population population) {
+        new ShiftBasedDensityEvaluator().evaluate(population);
+        double[] expected = new double[population.size()];
+        for (int i = 0; i < population.size(); i++) {
+            expected[i] = (Double) population.get(i).getAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE);
+        }
+
+        new BiObjectiveShiftBasedDensityEvaluator().evaluate(population);
+        for (int i = 0; i < population.size(); i++) {
+            //Assert that the densities agree up to rounding
+            Assert.assertEquals(expected[i], (Double) population.get(i).getAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE),
+                    1e-9 * Math.max(1.0, expected[i]));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.unilag.fitness;
+
+import com.unilag.comparator.WSumComparator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+
+/**
+ * Tests the {@link DoubleComparatorArchive} class.
+ */
+public class DoubleComparatorArchiveTest {
+
+    private CountingWSumFitnessEvaluator evaluator;
+
+    private DoubleComparatorArchive archive;
+
+    private Solution solutionA;
+    private Solution solutionB;
+    private Solution solutionC;
+    private Solution solutionD;
+
+    /**
+     * Setup the archive for use by all test methods.
+     */
+    @Before
+    public void setUp() {
+        solutionA = new Solution(new double[] {10, 17});
+        solutionB = new Solution(new double[] {1, 18});
+        solutionC = new Solution(new double[] {11, 6});
+        solutionD = new Solution(new double[] {18, 2});
+
+        evaluator = new CountingWSumFitnessEvaluator(new Solution(new double[] {8, 1}));
+        archive = new DoubleComparatorArchive(evaluator, 3);
+    }
+
+    /**
+     * Tests that repeated calls to getBest evaluate the archive once
+     */
+    @Test
+    public void testGetBestIsCached() {
+        archive.add(solutionA);
+        archive.add(solutionB);
+        archive.add(solutionC);
+
+        Solution best = archive.getBest();
+        int evaluations = evaluator.evaluations;
+
+        for (int i = 0; i < 10; i++) {
+            //Assert that the same best solution is returned
+            Assert.assertSame(best, archive.getBest());
+            archive.update();
+        }
+
+        //Assert that no further evaluation took place
+        Assert.assertEquals(evaluations, evaluator.evaluations);
+        Assert.assertFalse(archive.isStale());
+    }
+
+    /**
+     * Tests that adding, removing and truncating solutions and replacing the reference particle evaluate again
+     */
+    @Test
+    public void testRecomputesWhenChanged() {
+        archive.add(solutionA);
+        archive.add(solutionC);
+        archive.getBest();
+        int evaluations = evaluator.evaluations;
+
+        archive.add(solutionB);
+
+        //Assert that an addition makes the archive stale
+        Assert.assertTrue(archive.isStale());
+        Assert.assertSame(expectedBest(), archive.getBest());
+        Assert.assertEquals(evaluations + 1, evaluator.evaluations);
+
+        archive.remove(solutionB);
+
+        //Assert that a removal makes the archive stale
+        Assert.assertTrue(archive.isStale());
+        Assert.assertSame(expectedBest(), archive.getBest());
+
+        archive.add(solutionB);
+        archive.add(solutionD);
+
+        //Assert that the archive was truncated and the best solution found again
+        Assert.assertEquals(3, archive.size());
+        Assert.assertSame(expectedBest(), archive.getBest());
+
+        evaluations = evaluator.evaluations;
+        evaluator.setParticle(new Solution(new double[] {1, 8}));
+
+        //Assert that a new reference particle makes the archive stale
+        Assert.assertTrue(archive.isStale());
+        Assert.assertSame(expectedBest(), archive.getBest());
+        Assert.assertEquals(evaluations + 1, evaluator.evaluations);
+    }
+
+    /**
+     * Tests that rejected solutions do not make the archive stale
+     */
+    @Test
+    public void testRejectedSolution() {
+        archive.add(solutionB);
+        archive.getBest();
+        long modifications = archive.getModifications();
+
+        //Assert that a dominated solution is rejected
+        Assert.assertFalse(archive.add(new Solution(new double[] {2, 19})));
+
+        Assert.assertEquals(modifications, archive.getModifications());
+        Assert.assertFalse(archive.isStale());
+    }
+
+    /**
+     * Tests that the performed and skipped recomputations are counted
+     */
+    @Test
+    public void testRecomputationCounters() {
+        archive.add(solutionA);
+        archive.add(solutionC);
+
+        archive.update();
+        archive.update();
+        archive.getBest();
+        archive.getBest();
+
+        //Assert that the later updates, including those of getBest, and the second search were skipped
+        Assert.assertEquals(1, archive.getEvaluations());
+        Assert.assertEquals(3, archive.getSkippedEvaluations());
+        Assert.assertEquals(1, archive.getBestSearches());
+        Assert.assertEquals(1, archive.getSkippedBestSearches());
+        Assert.assertEquals(evaluator.evaluations, archive.getEvaluations());
+
+        archive.add(solutionB);
+        archive.getBest();
+
+        //Assert that a modification forces both again
+        Assert.assertEquals(2, archive.getEvaluations());
+        Assert.assertEquals(2, archive.getBestSearches());
+    }
+
+    /**
+     * Tests that a batch merges its non-dominated solutions and truncates the archive once
+     */
+    @Test
+    public void testAddBatch() {
+        Solution dominated = new Solution(new double[] {12, 7});
+
+        //Assert that the batch was added
+        Assert.assertTrue(archive.addBatch(new Solution[] {solutionA, dominated, solutionB, solutionC, solutionD}));
+
+        //Assert that the dominated solution was filtered and the archive truncated to its capacity
+        Assert.assertEquals(3, archive.size());
+        Assert.assertFalse(archive.contains(dominated));
+        Assert.assertSame(expectedBest(), archive.getBest());
+
+        long modifications = archive.getModifications();
+
+        //Assert that a batch of dominated solutions is rejected
+        Assert.assertFalse(archive.addBatch(new Solution[] {new Solution(new double[] {20, 20}), new Solution(new double[] {19, 19})}));
+        Assert.assertEquals(modifications, archive.getModifications());
+    }
+
+    /**
+     * Returns the best solution as found by evaluating the archive from scratch.
+     */
+    private Solution expectedBest() {
+        Population population = new Population(archive);
+        new WSumFitnessEvaluator(evaluator.getParticle()).evaluate(population);
+
+        Solution pBest = population.get(0);
+        for (int i = 0; i < population.size() - 1; i++) {
+            if (new WSumComparator(false).compare(population.get(i + 1), pBest) <= 0) {
+                pBest = population.get(i);
+            }
+        }
+        return pBest;
+    }
+
+    /**
+     * Counts the calls to evaluate.
+     */
+    private static class CountingWSumFitnessEvaluator extends WSumFitnessEvaluator {
+
+        private static final long serialVersionUID = 1L;
+
+        private int evaluations;
+
+        CountingWSumFitnessEvaluator(Solution particle) {
+            super(particle);
+        }
+
+        @Override
+        public void evaluate(Population population) {
+            evaluations++;
+            super.evaluate(population);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.unilag.fitness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.fitness.FitnessBasedArchive;
+
+import java.util.Random;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
+
+/**
+ * Tests the {@link IncrementalShiftBasedDensityEvaluator} class.
+ */
+public class IncrementalShiftBasedDensityEvaluatorTest {
+
+    /**
+     * Tests that the incremental densities agree with
+     * {@link ShiftBasedDensityEvaluator} as solutions are added, removed and changed
+     */
+    @Test
+    public void testAgreesWithExact() {
+        Random random = new Random(42);
+        IncrementalShiftBasedDensityEvaluator incremental = new IncrementalShiftBasedDensityEvaluator();
+        ShiftBasedDensityEvaluator exact = new ShiftBasedDensityEvaluator();
+        Population population = new Population();
+
+        for (int step = 0; step < 300; step++) {
+            int action = random.nextInt(4);
+            if (action < 2 || population.size() < 3) {
+                population.add(newSolution(random, 5));
+            } else if (action == 2) {
+                population.remove(random.nextInt(population.size()));
+            } else {
+                population.get(random.nextInt(population.size())).setObjective(0, random.nextDouble());
+            }
+
+            incremental.evaluate(population);
+            double[] densities = new double[population.size()];
+            for (int i = 0; i < population.size(); i++) {
+                densities[i] = (Double) population.get(i).getAttribute(FITNESS_ATTRIBUTE);
+            }
+
+            exact.evaluate(population);
+            for (int i = 0; i < population.size(); i++) {
+                double expected = (Double) population.get(i).getAttribute(FITNESS_ATTRIBUTE);
+
+                //Assert that the incremental density matches the exact density
+                Assert.assertEquals(expected, densities[i], 1e-9 * Math.max(1, expected));
+            }
+
+            //Assert that only the solutions of the population are held
+            Assert.assertEquals(population.size(), incremental.size());
+        }
+    }
+
+    /**
+     * Tests that {@link IncrementalShiftBasedDensityEvaluator} prunes a {@link FitnessBasedArchive} the same way as
+     * {@link ShiftBasedDensityEvaluatorTest#testShiftBasedDensityEstimator()}
+     */
+    @Test
+    public void testFitnessBasedArchive() {
+        Solution solutionA = new Solution(new double[] {10, 17});
+        Solution solutionB = new Solution(new double[] {1, 18});
+        Solution solutionC = new Solution(new double[] {11, 6});
+        Solution solutionD = new Solution(new double[] {18, 2});
+
+        FitnessBasedArchive fitnessBasedArchive = new FitnessBasedArchive(new IncrementalShiftBasedDensityEvaluator(), 2);
+        fitnessBasedArchive.add(solutionA);
+        fitnessBasedArchive.add(solutionB);
+        fitnessBasedArchive.add(solutionC);
+
+        //Assert that A is truncated as it has the least shift-based value
+        Assert.assertThat(fitnessBasedArchive, containsInAnyOrder(solutionB, solutionC));
+
+        fitnessBasedArchive.add(solutionD);
+
+        //Assert that C is truncated as it has the least shift-based value
+        Assert.assertThat(fitnessBasedArchive, containsInAnyOrder(solutionB, solutionD));
+    }
+
+    private Solution newSolution(Random random, int numberOfObjectives) {
+        double[] objectives = new double[numberOfObjectives];
+        for (int i = 0; i < numberOfObjectives; i++) {
+            objectives[i] = random.nextDouble();
+        }
+        return new Solution(objectives);
+    }
+}
@@ -0,0 +1,237 @@
+package com.unilag.fitness;
+
+import com.unilag.algorithm.CSPSO;
+import com.unilag.comparator.CDASComparator;
+import com.unilag.comparator.SCDASComparator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.FitnessComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.unilag.TestSolutions.frontSolution;
+import static com.unilag.TestSolutions.nearFrontSolution;
+
+/**
+ * Tests the {@link NDTreeArchive} class.
+ */
+public class NDTreeArchiveTest {
+
+    /**
+     * Tests that the indexed archive keeps the same solutions as the linear scan under Pareto dominance
+     */
+    @Test
+    public void testAgreesWithLinearScanPareto() {
+        assertAgrees(new ParetoDominanceComparator(), 3, 5000, 0);
+        assertAgrees(new ParetoDominanceComparator(), 3, 40, 0);
+    }
+
+    /**
+     * Tests that the indexed archive keeps the same solutions as the linear scan under CDAS dominance
+     */
+    @Test
+    public void testAgreesWithLinearScanCDAS() {
+        assertAgrees(new CDASComparator(0.55), 3, 5000, 0);
+        assertAgrees(new CDASComparator(0.45), 3, 40, 0);
+    }
+
+    /**
+     * Tests that solutions violating constraints fall back to the linear scan
+     */
+    @Test
+    public void testAgreesWithLinearScanConstrained() {
+        assertAgrees(new ParetoDominanceComparator(), 3, 5000, 0.1);
+        assertAgrees(new ParetoDominanceComparator(), 2, 5000, 0.1);
+    }
+
+    /**
+     * Tests that the sorted two-objective front keeps the same solutions as the linear scan
+     */
+    @Test
+    public void testAgreesWithLinearScanBiObjective() {
+        assertAgrees(new ParetoDominanceComparator(), 2, 5000, 0);
+        assertAgrees(new ParetoDominanceComparator(), 2, 40, 0);
+        assertAgrees(new CDASComparator(0.55), 2, 5000, 0);
+        assertAgrees(new CDASComparator(0.45), 2, 40, 0);
+    }
+
+    /**
+     * Tests that {@link CSPSO} finds the same leaders with and without the index
+     */
+    @Test
+    public void testIdenticalCSPSORun() {
+        NondominatedPopulation expected = run(new DoubleComparatorArchive(new ShiftBasedDensityEvaluator(),
+                50, new CDASComparator(0.55), new FitnessComparator(true)));
+        NondominatedPopulation actual = run(new NDTreeArchive(new ShiftBasedDensityEvaluator(),
+                50, new CDASComparator(0.55), new FitnessComparator(true)));
+
+        //Assert that the leaders are identical
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals(expected.get(i).getObjectives(), actual.get(i).getObjectives(), 0.0);
+        }
+    }
+
+    /**
+     * Tests that duplicates are rejected as the linear scan rejects them
+     */
+    @Test
+    public void testDuplicates() {
+        NDTreeArchive archive = new NDTreeArchive(new ShiftBasedDensityEvaluator(), 100,
+                new ParetoDominanceComparator(), new FitnessComparator(true));
+
+        Solution solution = new Solution(new double[] {0.5, 0.5});
+
+        Assert.assertTrue(archive.add(solution));
+
+        //Assert that a copy with the same objectives is rejected
+        Assert.assertFalse(archive.add(solution.copy()));
+        Assert.assertEquals(1, archive.size());
+    }
+
+    /**
+     * Tests that only comparators with a spatial key are indexed
+     */
+    @Test
+    public void testIsIndexed() {
+        Assert.assertTrue(new NDTreeArchive(new ShiftBasedDensityEvaluator(), 10,
+                new ParetoDominanceComparator(), new FitnessComparator(true)).isIndexed());
+        Assert.assertTrue(new NDTreeArchive(new ShiftBasedDensityEvaluator(), 10,
+                new CDASComparator(0.5), new FitnessComparator(true)).isIndexed());
+        Assert.assertFalse(new NDTreeArchive(new ShiftBasedDensityEvaluator(), 10,
+                new SCDASComparator(0.01), new FitnessComparator(true)).isIndexed());
+    }
+
+    /**
+     * Tests that querying a large front compares the solution with a fraction of the tree
+     */
+    @Test
+    public void testQueryVisitsFewSolutions() {
+        NDTree tree = new NDTree(Solution::getObjectives, NDTree.DEFAULT_MAX_LEAF_SIZE);
+        Random random = new Random(3);
+
+        for (int i = 0; i < 5000; i++) {
+            tree.add(frontSolution(random, 3));
+        }
+
+        CountingComparator comparator = new CountingComparator();
+        List<Solution> dominated = new ArrayList<>();
+        List<Solution> duplicates = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            Solution solution = frontSolution(random, 3);
+            tree.query(solution, comparator, (a, b) -> false, dominated, duplicates);
+        }
+
+        //Assert that fewer than a tenth of the solutions were compared on average
+        Assert.assertTrue(comparator.comparisons / 100 < tree.size() / 10);
+    }
+
+    /**
+     * Tests that querying a large two-objective front compares the solution with few solutions
+     */
+    @Test
+    public void testBiObjectiveQueryVisitsFewSolutions() {
+        BiObjectiveFront front = new BiObjectiveFront(Solution::getObjectives, true);
+        Random random = new Random(3);
+
+        for (int i = 0; i < 5000; i++) {
+            double angle = 0.5 * Math.PI * i / 5000;
+            front.add(new Solution(new double[] {Math.cos(angle), Math.sin(angle)}));
+        }
+
+        CountingComparator comparator = new CountingComparator();
+        List<Solution> dominated = new ArrayList<>();
+        List<Solution> duplicates = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            front.query(frontSolution(random, 2), comparator, (a, b) -> false, dominated, duplicates);
+        }
+
+        //Assert that a handful of solutions were compared on average
+        Assert.assertTrue(comparator.comparisons / 100 < 10);
+
+        Solution[] sorted = front.toArray();
+        for (int i = 1; i < sorted.length; i++) {
+            //Assert that the front is sorted on the first objective
+            Assert.assertTrue(sorted[i - 1].getObjective(0) < sorted[i].getObjective(0));
+        }
+    }
+
+    /**
+     * Adds and removes the same random solutions to a linear and an indexed
+     * archive, asserting that they agree after each step.
+     */
+    private void assertAgrees(DominanceComparator comparator, int numberOfObjectives, int capacity,
+                              double infeasibleRate) {
+        Random random = new Random(capacity);
+        DoubleComparatorArchive expected = new DoubleComparatorArchive(new ShiftBasedDensityEvaluator(),
+                capacity, comparator, new FitnessComparator(true));
+        NDTreeArchive actual = new NDTreeArchive(new ShiftBasedDensityEvaluator(),
+                capacity, comparator, new FitnessComparator(true));
+
+        for (int step = 0; step < 3000; step++) {
+            if (step % 500 == 499) {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                actual.remove(index);
+            } else {
+                Solution solution = new Solution(0, numberOfObjectives, 1);
+                // move some solutions off the front, and repeat some previous ones
+                double[] objectives = nearFrontSolution(random, numberOfObjectives, 0.3, 0.2).getObjectives();
+                if (step > 0 && random.nextDouble() < 0.02) {
+                    objectives = expected.get(random.nextInt(expected.size())).getObjectives();
+                }
+                solution.setObjectives(objectives);
+
+                if (random.nextDouble() < infeasibleRate) {
+                    solution.setConstraint(0, random.nextDouble());
+                }
+
+                //Assert that the same solutions are accepted
+                Assert.assertEquals(expected.add(solution), actual.add(solution));
+            }
+
+            //Assert that the archives hold the same solutions in the same order
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertSame(expected.get(i), actual.get(i));
+            }
+            Assert.assertEquals(expected.getModifications(), actual.getModifications());
+        }
+    }
+
+    private NondominatedPopulation run(DoubleComparatorArchive leaders) {
+        PRNG.setSeed(1234);
+        CSPSO algorithm = new CSPSO(new DTLZ2(3), 50, 50, 1.0 / 12, 20.0, leaders);
+
+        while (algorithm.getNumberOfEvaluations() < 2000) {
+            algorithm.step();
+        }
+        return algorithm.getResult();
+    }
+
+    /**
+     * Pareto dominance counting its comparisons.
+     */
+    private static class CountingComparator extends ParetoDominanceComparator {
+
+        private static final long serialVersionUID = 1L;
+
+        private int comparisons;
+
+        @Override
+        public int compare(Solution solution1, Solution solution2) {
+            comparisons++;
+            return super.compare(solution1, solution2);
+        }
+    }
+}
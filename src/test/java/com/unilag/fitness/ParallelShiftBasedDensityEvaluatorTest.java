@@ -0,0 +1,105 @@
+package com.unilag.fitness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.unilag.TestSolutions.uniformSolution;
+import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
+
+/**
+ * Tests the {@link ParallelShiftBasedDensityEvaluator} class.
+ */
+public class ParallelShiftBasedDensityEvaluatorTest {
+
+    /**
+     * Tests that the parallel and sequential paths assign exactly the values of
+     * {@link ShiftBasedDensityEvaluator} on a DTLZ2_10 sized archive
+     */
+    @Test
+    public void testSameAsSequential() {
+        Population population = randomPopulation(new Random(2017), 400);
+
+        new ShiftBasedDensityEvaluator().evaluate(population);
+        double[] expected = new double[population.size()];
+        for (int i = 0; i < population.size(); i++) {
+            expected[i] = (Double) population.get(i).getAttribute(FITNESS_ATTRIBUTE);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int threshold : new int[] {0, population.size() + 1}) {
+                Population copy = copyWithoutFitness(population);
+                new ParallelShiftBasedDensityEvaluator(pool, threshold).evaluate(copy);
+                assertFitness(expected, copy);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that closing the evaluator only shuts down the pool it created, and that it then evaluates sequentially
+     */
+    @Test
+    public void testClose() {
+        Population population = randomPopulation(new Random(7), 200);
+
+        new ShiftBasedDensityEvaluator().evaluate(population);
+        double[] expected = new double[population.size()];
+        for (int i = 0; i < population.size(); i++) {
+            expected[i] = (Double) population.get(i).getAttribute(FITNESS_ATTRIBUTE);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            new ParallelShiftBasedDensityEvaluator(pool, 0).close();
+
+            //Assert that a pool supplied by the caller is left running
+            Assert.assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+
+        ParallelShiftBasedDensityEvaluator evaluator = new ParallelShiftBasedDensityEvaluator(2, 0);
+        evaluator.close();
+
+        //Assert that the pool created by the evaluator is shut down
+        Assert.assertTrue(evaluator.getPool().isShutdown());
+
+        Population copy = copyWithoutFitness(population);
+        evaluator.evaluate(copy);
+        assertFitness(expected, copy);
+    }
+
+    private static Population randomPopulation(Random random, int size) {
+        Population population = new Population();
+        for (int i = 0; i < size; i++) {
+            population.add(uniformSolution(random, 10));
+        }
+        return population;
+    }
+
+    /**
+     * Returns new solutions with the same objectives, so that the fitness they are assigned is not left over.
+     */
+    private static Population copyWithoutFitness(Population population) {
+        Population copy = new Population();
+        for (Solution solution : population) {
+            copy.add(new Solution(solution.getObjectives()));
+        }
+        return copy;
+    }
+
+    private static void assertFitness(double[] expected, Population population) {
+        for (int i = 0; i < population.size(); i++) {
+            //Assert that exactly the same value is assigned
+            Assert.assertEquals(Double.doubleToLongBits(expected[i]),
+                    Double.doubleToLongBits((Double) population.get(i).getAttribute(FITNESS_ATTRIBUTE)));
+        }
+    }
+}
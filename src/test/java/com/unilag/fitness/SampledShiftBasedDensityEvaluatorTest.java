@@ -0,0 +1,110 @@
+package com.unilag.fitness;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.FitnessComparator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
+
+/**
+ * Tests the {@link SampledShiftBasedDensityEvaluator} class.
+ */
+public class SampledShiftBasedDensityEvaluatorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SampledShiftBasedDensityEvaluatorTest.class);
+
+    /**
+     * Setup the seed for use by all test methods.
+     */
+    @Before
+    public void setUp() {
+        PRNG.setSeed(1337);
+    }
+
+    /**
+     * Tests that populations no larger than the sample are evaluated exactly
+     */
+    @Test
+    public void testSmallPopulationIsExact() {
+        Solution solutionA = new Solution(new double[] {10, 17});
+        Solution solutionB = new Solution(new double[] {1, 18});
+        Solution solutionC = new Solution(new double[] {11, 6});
+        Population population = new Population(new Solution[] {solutionA, solutionB, solutionC});
+
+        new SampledShiftBasedDensityEvaluator(2).evaluate(population);
+
+        //Assert the shift-based values A = 1 + 1, B = 9 + 10 and C = 11 + 12
+        Assert.assertEquals((Double) solutionA.getAttribute(FITNESS_ATTRIBUTE), 2, 0);
+        Assert.assertEquals((Double) solutionB.getAttribute(FITNESS_ATTRIBUTE), 19, 0);
+        Assert.assertEquals((Double) solutionC.getAttribute(FITNESS_ATTRIBUTE), 23, 0);
+    }
+
+    /**
+     * Benchmarks the sampled evaluator against {@link ShiftBasedDensityEvaluator} on a
+     * 3-objective front of 4000 solutions truncated to 3600, reporting the speed-up and the
+     * fraction of truncated solutions both evaluators agree on
+     */
+    @Test
+    public void testBenchmark() {
+        Population population = new Population();
+        for (int i = 0; i < 4000; i++) {
+            double[] objectives = new double[3];
+            double norm = 0;
+            for (int j = 0; j < objectives.length; j++) {
+                objectives[j] = Math.abs(PRNG.nextGaussian());
+                norm += objectives[j] * objectives[j];
+            }
+            for (int j = 0; j < objectives.length; j++) {
+                objectives[j] /= Math.sqrt(norm);
+            }
+            population.add(new Solution(objectives));
+        }
+        int capacity = 3600;
+        int sampleSize = SampledShiftBasedDensityEvaluator.getSampleSize(0.1, 0.05);
+
+        long start = System.nanoTime();
+        Set<Solution> exactTruncated = truncated(new ShiftBasedDensityEvaluator(), population, capacity);
+        long exactTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Set<Solution> sampledTruncated = truncated(new SampledShiftBasedDensityEvaluator(sampleSize), population, capacity);
+        long sampledTime = System.nanoTime() - start;
+
+        int agreed = 0;
+        for (Solution solution : sampledTruncated) {
+            if (exactTruncated.contains(solution)) {
+                agreed++;
+            }
+        }
+        double agreement = (double) agreed / exactTruncated.size();
+
+        log.info("Sampled SDE with {} samples: speed-up {}, truncation agreement {}",
+                sampleSize, (double) exactTime / sampledTime, agreement);
+
+        //Assert that most of the solutions truncated by the exact evaluator are also truncated
+        Assert.assertTrue(agreement > 0.75);
+    }
+
+    private Set<Solution> truncated(FitnessEvaluator evaluator, Population population, int capacity) {
+        Population copy = new Population(population);
+        evaluator.evaluate(copy);
+        copy.sort(new FitnessComparator(evaluator.areLargerValuesPreferred()));
+
+        Set<Solution> truncated = Collections.newSetFromMap(new IdentityHashMap<Solution, Boolean>());
+        for (int i = capacity; i < copy.size(); i++) {
+            truncated.add(copy.get(i));
+        }
+        return truncated;
+    }
+}
@@ -0,0 +1,271 @@
+package com.unilag.fitness;
+
+import com.unilag.algorithm.CSPSO;
+import com.unilag.comparator.CDASComparator;
+import com.unilag.comparator.SCDASComparator;
+import com.unilag.comparator.ShiftBasedDensityComparator;
+import com.unilag.interfaces.ForkJoinExecution;
+import com.unilag.spi.CustomAlgorithms;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.spi.ProviderNotFoundException;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.unilag.TestSolutions.nearFrontBatch;
+
+/**
+ * Tests the {@link ShardedArchive} class.
+ */
+public class ShardedArchiveTest {
+
+    /**
+     * Tests that the shards keep the same solutions as the linear scan under Pareto dominance
+     */
+    @Test
+    public void testAgreesWithLinearScanPareto() {
+        assertAgrees(new ParetoDominanceComparator(), 3, 5);
+        assertAgrees(new ParetoDominanceComparator(), 2, 4);
+    }
+
+    /**
+     * Tests that the shards keep the same solutions as the linear scan under CDAS dominance
+     */
+    @Test
+    public void testAgreesWithLinearScanCDAS() {
+        assertAgrees(new CDASComparator(0.55), 3, 6);
+        assertAgrees(new CDASComparator(0.45), 2, 3);
+    }
+
+    /**
+     * Tests that the capacity is enforced over all the shards
+     */
+    @Test
+    public void testCapacity() {
+        Random random = new Random(3);
+        ShardedArchive archive = new ShardedArchive(new ShiftBasedDensityEvaluator(), 30,
+                new ParetoDominanceComparator(), new ShiftBasedDensityComparator(true),
+                ShardedArchive.referenceDirections(3, 4), new ForkJoinExecution(4));
+
+        for (int step = 0; step < 20; step++) {
+            archive.addBatch(nearFrontBatch(random, 3, 40, 0.3, 0.2));
+
+            //Assert that the archive is within capacity
+            Assert.assertTrue(archive.size() <= 30);
+
+            //Assert that the shards hold the solutions of the archive
+            int size = 0;
+            for (int s = 0; s < archive.getNumberOfShards(); s++) {
+                size += archive.getShardSize(s);
+            }
+            Assert.assertEquals(archive.size(), size);
+
+            //Assert that the solutions do not dominate each other
+            for (Solution first : archive) {
+                for (Solution second : archive) {
+                    Assert.assertTrue(first == second || new ParetoDominanceComparator().compare(first, second) == 0);
+                }
+            }
+        }
+        archive.close();
+    }
+
+    /**
+     * Tests that SCDAS dominance, whose comparator keeps scratch arrays, is only run on sequential shards
+     */
+    @Test
+    public void testSCDASRequiresSequentialShards() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            new ShardedArchive(new ShiftBasedDensityEvaluator(), 30, new SCDASComparator(0.01),
+                    new ShiftBasedDensityComparator(true), ShardedArchive.referenceDirections(3, 4),
+                    new ForkJoinExecution(pool));
+            Assert.fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            //Assert that the comparator cannot be shared by parallel shards
+        } finally {
+            pool.shutdown();
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty("archive.index", "sharded");
+        properties.setProperty("archive.parallelism", "2");
+        properties.setProperty("dominance", "scdas");
+
+        try {
+            new CustomAlgorithms().getAlgorithm("CSPSO", properties, new DTLZ2(3));
+            Assert.fail("expected a ProviderNotFoundException");
+        } catch (ProviderNotFoundException e) {
+            //Assert that the provider rejects it before creating the pools
+        }
+
+        PRNG.setSeed(1234);
+        properties.setProperty("archive.parallelism", "1");
+        CSPSO algorithm = (CSPSO) new CustomAlgorithms().getAlgorithm("CSPSO", properties, new DTLZ2(3));
+
+        while (algorithm.getNumberOfEvaluations() < 1000) {
+            algorithm.step();
+        }
+
+        //Assert that the sequential shards run
+        Assert.assertFalse(algorithm.getResult().isEmpty());
+        algorithm.terminate();
+    }
+
+    /**
+     * Tests that a solution is kept once when duplicated within a batch or by a later batch
+     */
+    @Test
+    public void testDuplicates() {
+        ShardedArchive archive = new ShardedArchive(new ShiftBasedDensityEvaluator(), 100,
+                new ParetoDominanceComparator(), new ShiftBasedDensityComparator(true),
+                ShardedArchive.referenceDirections(2, 4));
+
+        Solution solution = new Solution(new double[] {0.5, 0.5});
+        Solution other = new Solution(new double[] {0.1, 0.9});
+
+        //Assert that the first copy of a duplicated solution is kept
+        Assert.assertTrue(archive.addBatch(new Solution[] {solution, other, solution.copy()}));
+        Assert.assertEquals(2, archive.size());
+        Assert.assertSame(solution, archive.get(0));
+
+        //Assert that a later copy is rejected
+        Assert.assertFalse(archive.add(other.copy()));
+        Assert.assertEquals(2, archive.size());
+    }
+
+    /**
+     * Tests that the reference directions are distinct points of the objective space
+     */
+    @Test
+    public void testReferenceDirections() {
+        for (int numberOfObjectives = 1; numberOfObjectives <= 4; numberOfObjectives++) {
+            for (int numberOfShards = 1; numberOfShards <= 12; numberOfShards++) {
+                double[][] directions = ShardedArchive.referenceDirections(numberOfObjectives, numberOfShards);
+
+                //Assert that there is a direction per shard, with a value per objective
+                Assert.assertEquals(numberOfShards, directions.length);
+                for (double[] direction : directions) {
+                    Assert.assertEquals(numberOfObjectives, direction.length);
+                }
+
+                //Assert that the directions are distinct when there is more than one objective
+                for (int s = 0; s < numberOfShards && numberOfObjectives > 1; s++) {
+                    for (int t = s + 1; t < numberOfShards; t++) {
+                        Assert.assertFalse(Arrays.equals(directions[s], directions[t]));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that {@link CSPSO} runs on a sharded leader's archive
+     */
+    @Test
+    public void testCSPSORun() {
+        PRNG.setSeed(1234);
+        ForkJoinExecution execution = new ForkJoinExecution(2);
+        ShardedArchive leaders = new ShardedArchive(new ShiftBasedDensityEvaluator(), 50,
+                new CDASComparator(0.55), new ShiftBasedDensityComparator(true),
+                ShardedArchive.referenceDirections(3, 4), execution);
+        CSPSO algorithm = new CSPSO(new DTLZ2(3), 50, 50, 1.0 / 12, 20.0, leaders);
+        algorithm.setBatchLeaderUpdates(true);
+
+        while (algorithm.getNumberOfEvaluations() < 2000) {
+            algorithm.step();
+        }
+        NondominatedPopulation result = algorithm.getResult();
+
+        //Assert that the leaders are within capacity and published
+        Assert.assertTrue(leaders.size() <= 50);
+        Assert.assertEquals(leaders.size(), leaders.getSnapshot().size());
+        Assert.assertFalse(result.isEmpty());
+
+        algorithm.terminate();
+
+        //Assert that the pool running the shards is released with the algorithm
+        Assert.assertTrue(execution.getPool().isShutdown());
+    }
+
+    /**
+     * Adds the same random batches to the linear scan and to a sharded
+     * archive without capacity, asserting that they hold the same solutions.
+     */
+    private void assertAgrees(DominanceComparator comparator, int numberOfObjectives, int numberOfShards) {
+        Random random = new Random(numberOfShards);
+        NondominatedPopulation expected = new NondominatedPopulation(comparator);
+        ShardedArchive actual = new ShardedArchive(new ShiftBasedDensityEvaluator(), Integer.MAX_VALUE,
+                comparator, new ShiftBasedDensityComparator(true),
+                ShardedArchive.referenceDirections(numberOfObjectives, numberOfShards),
+                new ForkJoinExecution(4));
+        ShardedArchive single = new ShardedArchive(new ShiftBasedDensityEvaluator(), Integer.MAX_VALUE,
+                comparator, new ShiftBasedDensityComparator(true),
+                ShardedArchive.referenceDirections(numberOfObjectives, numberOfShards));
+
+        for (int step = 0; step < 40; step++) {
+            Solution[] batch = nearFrontBatch(random, numberOfObjectives, 50, 0.3, 0.2);
+            for (int k = 0; k < batch.length && step > 0; k++) {
+                // repeat some previous solutions
+                if (random.nextDouble() < 0.05) {
+                    batch[k] = expected.get(random.nextInt(expected.size())).copy();
+                }
+            }
+
+            for (Solution solution : batch) {
+                Assert.assertEquals(expected.add(solution), single.add(solution));
+            }
+            actual.addBatch(batch);
+
+            //Assert that the archives hold the same solutions
+            Assert.assertEquals(objectives(expected), objectives(actual));
+
+            //Assert that single solutions are added as the linear scan adds them, each to a shard
+            Assert.assertEquals(objectives(expected), objectives(single));
+            int size = 0;
+            for (int s = 0; s < single.getNumberOfShards(); s++) {
+                size += single.getShardSize(s);
+            }
+            Assert.assertEquals(single.size(), size);
+        }
+        actual.close();
+    }
+
+    private static List<String> objectives(Iterable<Solution> solutions) {
+        List<double[]> objectives = new ArrayList<>();
+        for (Solution solution : solutions) {
+            objectives.add(solution.getObjectives());
+        }
+        objectives.sort(new Comparator<double[]>() {
+            @Override
+            public int compare(double[] first, double[] second) {
+                for (int j = 0; j < first.length; j++) {
+                    int flag = Double.compare(first[j], second[j]);
+                    if (flag != 0) {
+                        return flag;
+                    }
+                }
+                return 0;
+            }
+        });
+
+        List<String> values = new ArrayList<>();
+        for (double[] objective : objectives) {
+            values.add(Arrays.toString(objective));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,80 @@
+package com.unilag.fitness;
+
+import com.unilag.helper.Utils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
+
+/**
+ * Tests the {@link ShiftBasedDensityKernel} class.
+ */
+public class ShiftBasedDensityKernelTest {
+
+    /**
+     * Tests the kernel against the shift-based values of
+     * {@link ShiftBasedDensityEvaluatorTest#testShiftBasedDensityEstimator()}
+     * Shift-based value of D = 15 + 16 + 4 = 35
+     */
+    @Test
+    public void testDensity() {
+        Population population = new Population(new Solution[] {
+                new Solution(new double[] {10, 17}),
+                new Solution(new double[] {1, 18}),
+                new Solution(new double[] {11, 6}),
+                new Solution(new double[] {18, 2})});
+
+        ShiftBasedDensityKernel kernel = new ShiftBasedDensityKernel();
+        kernel.load(population);
+
+        //Assert that the shifted distance of B from A is |(10, 18) - (10, 17)|
+        Assert.assertEquals(kernel.shiftedDistance(0, 1), 1, 0);
+
+        //Assert the densities of A, B, C and D
+        Assert.assertEquals(kernel.density(0), 10, 0);
+        Assert.assertEquals(kernel.density(1), 36, 0);
+        Assert.assertEquals(kernel.density(2), 30, 0);
+        Assert.assertEquals(kernel.density(3), 35, 0);
+    }
+
+    /**
+     * Tests that the kernel is bit-identical to the solution based shifted
+     * populations, including when the matrix is reused for populations of
+     * different sizes
+     */
+    @Test
+    public void testBitIdentical() {
+        Random random = new Random(1234);
+        ShiftBasedDensityEvaluator evaluator = new ShiftBasedDensityEvaluator();
+
+        for (int size : new int[] {50, 7, 120, 1}) {
+            Population population = new Population();
+            for (int i = 0; i < size; i++) {
+                double[] objectives = new double[8];
+                for (int j = 0; j < objectives.length; j++) {
+                    objectives[j] = random.nextDouble() * 10;
+                }
+                population.add(new Solution(objectives));
+            }
+
+            evaluator.evaluate(population);
+
+            for (Solution individual : population) {
+                List<Solution> shifts = evaluator.getShiftedPopulationForIndividual(individual, population);
+                double expected = 0;
+                for (Solution shift : shifts) {
+                    expected += Utils.euclideanDistance(individual, shift);
+                }
+
+                //Assert that exactly the same value is assigned
+                Assert.assertEquals(Double.doubleToLongBits(expected),
+                        Double.doubleToLongBits((Double) individual.getAttribute(FITNESS_ATTRIBUTE)));
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.unilag.fitness;
+
+import com.unilag.comparator.ShiftBasedDensityComparator;
+import com.unilag.comparator.WSumComparator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.FitnessComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.unilag.TestSolutions.uniformSolution;
+import static com.unilag.interfaces.SumFitnessEvaluator.WSUM_FITNESS_ATTRIBUTE;
+import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
+
+/**
+ * Tests the {@link TruncationSelector} class and the truncations of the
+ * {@link DoubleComparatorArchive}.
+ */
+public class TruncationSelectorTest {
+
+    /**
+     * Tests that the heap selects the solutions a sort followed by truncation removes, ties included
+     */
+    @Test
+    public void testSelectWorstMatchesSort() {
+        Random random = new Random(7);
+
+        for (int trial = 0; trial < 200; trial++) {
+            int size = 1 + random.nextInt(60);
+            int count = random.nextInt(size + 1);
+            boolean largerValuesPreferred = random.nextBoolean();
+
+            Population population = new Population();
+            for (int i = 0; i < size; i++) {
+                Solution solution = new Solution(0, 0);
+                // few distinct values, so that ties are frequent
+                solution.setAttribute(WSUM_FITNESS_ATTRIBUTE, (double) random.nextInt(8));
+                population.add(solution);
+            }
+
+            WSumComparator comparator = new WSumComparator(largerValuesPreferred);
+            Population sorted = new Population(population);
+            sorted.truncate(size - count, comparator);
+
+            int[] removed = TruncationSelector.forComparator(comparator).selectWorst(population, count);
+
+            //Assert that the indices are decreasing
+            for (int i = 1; i < removed.length; i++) {
+                Assert.assertTrue(removed[i - 1] > removed[i]);
+            }
+
+            List<Solution> survivors = new ArrayList<>();
+            for (Solution solution : population) {
+                survivors.add(solution);
+            }
+            for (int index : removed) {
+                survivors.remove(index);
+            }
+
+            //Assert that the same solutions survive
+            Assert.assertEquals(sorted.size(), survivors.size());
+            for (Solution solution : sorted) {
+                Assert.assertTrue(survivors.contains(solution));
+            }
+        }
+    }
+
+    /**
+     * Tests that only comparators of a single fitness attribute have a selector
+     */
+    @Test
+    public void testForComparator() {
+        Assert.assertTrue(TruncationSelector.forComparator(new FitnessComparator(true)).isDensity());
+        Assert.assertFalse(TruncationSelector.forComparator(new FitnessComparator(false)).isDensity());
+        Assert.assertTrue(TruncationSelector.forComparator(new ShiftBasedDensityComparator(true)).isDensity());
+        Assert.assertFalse(TruncationSelector.forComparator(new ShiftBasedDensityComparator(false)).isDensity());
+        Assert.assertFalse(TruncationSelector.forComparator(new WSumComparator(true)).isDensity());
+        Assert.assertNull(TruncationSelector.forComparator((Solution a, Solution b) -> 0));
+    }
+
+    /**
+     * Tests that the iterative truncation removes the least dense solution and re-evaluates after each removal
+     */
+    @Test
+    public void testIterativeTruncation() {
+        Random random = new Random(11);
+        DoubleComparatorArchive archive = new DoubleComparatorArchive(new ShiftBasedDensityEvaluator(), 20,
+                new ParetoDominanceComparator(), new FitnessComparator(true));
+        archive.setTruncation(DoubleComparatorArchive.Truncation.ITERATIVE);
+
+        ShiftBasedDensityEvaluator evaluator = new ShiftBasedDensityEvaluator();
+
+        for (int step = 0; step < 200; step++) {
+            double angle = 0.5 * Math.PI * random.nextDouble();
+            Solution solution = new Solution(new double[] {Math.cos(angle), Math.sin(angle), random.nextDouble()});
+            boolean full = archive.size() == 20;
+
+            if (archive.add(solution) && full) {
+                //Assert that the truncation left the archive evaluated
+                Assert.assertFalse(archive.isStale());
+            }
+
+            //Assert that the archive is within capacity
+            Assert.assertTrue(archive.size() <= 20);
+        }
+
+        //Assert that the densities left by the truncation are those of the survivors
+        Population survivors = new Population(archive);
+        List<Double> densities = new ArrayList<>();
+        for (Solution solution : survivors) {
+            densities.add((Double) solution.getAttribute(FITNESS_ATTRIBUTE));
+        }
+        evaluator.evaluate(survivors);
+        for (int i = 0; i < survivors.size(); i++) {
+            Assert.assertEquals((Double) survivors.get(i).getAttribute(FITNESS_ATTRIBUTE), densities.get(i), 1e-9);
+        }
+    }
+
+    /**
+     * Tests that removing the worst solutions one at a time agrees with evaluating again after each removal
+     */
+    @Test
+    public void testSelectIterativelyMatchesReevaluation() {
+        Random random = new Random(13);
+        ShiftBasedDensityEvaluator evaluator = new ShiftBasedDensityEvaluator();
+
+        for (int trial = 0; trial < 20; trial++) {
+            Population population = new Population();
+            for (int i = 0; i < 40; i++) {
+                population.add(uniformSolution(random, 3));
+            }
+            int count = 1 + random.nextInt(20);
+
+            // remove the least dense solution, evaluating the rest again each time
+            Population expected = new Population(population);
+            for (int k = 0; k < count; k++) {
+                evaluator.evaluate(expected);
+                int worst = 0;
+                for (int i = 1; i < expected.size(); i++) {
+                    if ((Double) expected.get(i).getAttribute(FITNESS_ATTRIBUTE)
+                            <= (Double) expected.get(worst).getAttribute(FITNESS_ATTRIBUTE)) {
+                        worst = i;
+                    }
+                }
+                expected.remove(worst);
+            }
+            evaluator.evaluate(expected);
+            List<Double> expectedDensities = new ArrayList<>();
+            for (Solution solution : expected) {
+                expectedDensities.add((Double) solution.getAttribute(FITNESS_ATTRIBUTE));
+            }
+
+            evaluator.evaluate(population);
+            int[] removed = TruncationSelector.forComparator(new FitnessComparator(true))
+                    .selectIteratively(population, count);
+            for (int index : removed) {
+                population.remove(index);
+            }
+
+            //Assert that the same solutions survive with the same densities
+            Assert.assertEquals(expected.size(), population.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertSame(expected.get(i), population.get(i));
+                Assert.assertEquals(expectedDensities.get(i),
+                        (Double) population.get(i).getAttribute(FITNESS_ATTRIBUTE), 1e-9);
+            }
+        }
+    }
+
+    /**
+     * Tests that the selected truncation keeps the same leaders as the sort
+     */
+    @Test
+    public void testSelectTruncationKeepsSameLeaders() {
+        Random random = new Random(17);
+        DoubleComparatorArchive sorted = new DoubleComparatorArchive(new ShiftBasedDensityEvaluator(), 30,
+                new ParetoDominanceComparator(), new FitnessComparator(true));
+        DoubleComparatorArchive selected = new DoubleComparatorArchive(new ShiftBasedDensityEvaluator(), 30,
+                new ParetoDominanceComparator(), new FitnessComparator(true));
+        selected.setTruncation(DoubleComparatorArchive.Truncation.SELECT);
+
+        for (int step = 0; step < 300; step++) {
+            double angle = 0.5 * Math.PI * random.nextDouble();
+            Solution solution = new Solution(new double[] {Math.cos(angle), Math.sin(angle)});
+
+            //Assert that the same solutions are accepted
+            Assert.assertEquals(sorted.add(solution), selected.add(solution));
+
+            //Assert that the archives hold the same solutions
+            Assert.assertEquals(sorted.size(), selected.size());
+            for (Solution member : selected) {
+                Assert.assertTrue(sorted.contains(member));
+            }
+        }
+    }
+
+    /**
+     * Tests that truncations the comparator or evaluator cannot support are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testIterativeRequiresDensity() {
+        new DoubleComparatorArchive(new WSumFitnessEvaluator(new Solution(new double[] {1, 1})), 5)
+                .setTruncation(DoubleComparatorArchive.Truncation.ITERATIVE);
+    }
+}
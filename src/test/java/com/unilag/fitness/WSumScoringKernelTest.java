@@ -0,0 +1,115 @@
+package com.unilag.fitness;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+
+import java.util.Random;
+
+/**
+ * Tests the {@link WSumScoringKernel} class.
+ */
+public class WSumScoringKernelTest {
+
+    private Population candidates;
+
+    private Solution[] particles;
+
+    private double[] packedParticles;
+
+    private WSumScoringKernel kernel;
+
+    /**
+     * Setup random candidates and particles for use by all test methods.
+     */
+    @Before
+    public void setUp() {
+        Random random = new Random(7);
+
+        candidates = new Population();
+        for (int k = 0; k < 25; k++) {
+            candidates.add(new Solution(new double[] {random.nextDouble(), random.nextDouble(), random.nextDouble()}));
+        }
+
+        particles = new Solution[10];
+        packedParticles = new double[particles.length * 3];
+        for (int p = 0; p < particles.length; p++) {
+            particles[p] = new Solution(new double[] {random.nextDouble(), random.nextDouble(), random.nextDouble()});
+            System.arraycopy(particles[p].getObjectives(), 0, packedParticles, p * 3, 3);
+        }
+
+        kernel = new WSumScoringKernel();
+        kernel.load(candidates);
+    }
+
+    /**
+     * Tests that the kernel scores are bit-identical to {@link WSumFitnessEvaluator#weightedSum}
+     */
+    @Test
+    public void testScoreAgreesWithWeightedSum() {
+        for (Solution particle : particles) {
+            for (int k = 0; k < candidates.size(); k++) {
+                //Assert that the weighted sums are identical
+                Assert.assertEquals(WSumFitnessEvaluator.weightedSum(candidates.get(k), particle),
+                        kernel.score(k, particle), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Tests scoring every particle against every candidate
+     */
+    @Test
+    public void testScoreAll() {
+        double[] scores = new double[particles.length * candidates.size()];
+        kernel.scoreAll(packedParticles, particles.length, scores);
+
+        for (int p = 0; p < particles.length; p++) {
+            for (int k = 0; k < candidates.size(); k++) {
+                //Assert that the weighted sums are identical
+                Assert.assertEquals(WSumFitnessEvaluator.weightedSum(candidates.get(k), particles[p]),
+                        scores[p * candidates.size() + k], 0.0);
+            }
+        }
+    }
+
+    /**
+     * Tests scoring the candidates sampled by each particle
+     */
+    @Test
+    public void testScoreSampled() {
+        Random random = new Random(11);
+        int[] samples = new int[particles.length * 3];
+        for (int s = 0; s < samples.length; s++) {
+            samples[s] = random.nextInt(candidates.size());
+        }
+
+        double[] scores = new double[samples.length];
+        kernel.scoreSampled(packedParticles, particles.length, samples, 3, scores);
+
+        for (int s = 0; s < samples.length; s++) {
+            //Assert that the weighted sums are identical
+            Assert.assertEquals(WSumFitnessEvaluator.weightedSum(candidates.get(samples[s]), particles[s / 3]),
+                    scores[s], 0.0);
+        }
+    }
+
+    /**
+     * Tests that loading a smaller population reuses the matrix
+     */
+    @Test
+    public void testReload() {
+        Population smaller = new Population();
+        smaller.add(candidates.get(3));
+        smaller.add(candidates.get(8));
+        kernel.load(smaller);
+
+        //Assert that only the new candidates are loaded
+        Assert.assertEquals(2, kernel.size());
+        Assert.assertEquals(3, kernel.getNumberOfObjectives());
+        Assert.assertEquals(WSumFitnessEvaluator.weightedSum(candidates.get(8), particles[0]),
+                kernel.score(1, particles[0]), 0.0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.unilag.helper;
+
+import com.unilag.comparator.CDASComparator;
+import com.unilag.comparator.SCDASComparator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.unilag.TestSolutions.nearFrontSolution;
+
+/**
+ * Tests the {@link NondominatedFilter} class.
+ */
+public class NondominatedFilterTest {
+
+    /**
+     * Tests that the filter keeps the solutions no other solution dominates under Pareto dominance
+     */
+    @Test
+    public void testFilterPareto() {
+        assertFirstFront(new ParetoDominanceComparator(), 2, 0);
+        assertFirstFront(new ParetoDominanceComparator(), 3, 0);
+        assertFirstFront(new ParetoDominanceComparator(), 5, 0);
+    }
+
+    /**
+     * Tests that the filter keeps the solutions no other solution dominates under CDAS dominance
+     */
+    @Test
+    public void testFilterCDAS() {
+        assertFirstFront(new CDASComparator(0.45), 2, 0);
+        assertFirstFront(new CDASComparator(0.55), 3, 0);
+    }
+
+    /**
+     * Tests that constrained batches and comparators without a key fall back to a non-dominated population
+     */
+    @Test
+    public void testFilterFallback() {
+        assertFirstFront(new ParetoDominanceComparator(), 3, 0.2);
+        assertFirstFront(new SCDASComparator(0.01), 3, 0);
+    }
+
+    /**
+     * Tests that merging the filtered batch gives the same population as merging the whole batch
+     */
+    @Test
+    public void testMergeIsUnchanged() {
+        Random random = new Random(5);
+        NondominatedPopulation expected = new NondominatedPopulation();
+        NondominatedPopulation actual = new NondominatedPopulation();
+
+        for (int generation = 0; generation < 20; generation++) {
+            Solution[] batch = newBatch(random, 3, 100, 0);
+
+            expected.addAll(batch);
+            actual.addAll(NondominatedFilter.filter(batch, actual.getComparator()));
+
+            //Assert that the populations hold the same solutions
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertSame(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    /**
+     * Filters random batches and asserts that the result is the set of
+     * solutions that no other solution of the batch dominates, in batch order.
+     */
+    private void assertFirstFront(DominanceComparator comparator, int numberOfObjectives, double infeasibleRate) {
+        Random random = new Random(numberOfObjectives);
+
+        for (int trial = 0; trial < 20; trial++) {
+            Solution[] batch = newBatch(random, numberOfObjectives, 200, infeasibleRate);
+            List<Solution> actual = NondominatedFilter.filter(batch, comparator);
+
+            List<Solution> expected = new ArrayList<>();
+            for (Solution solution : batch) {
+                boolean dominated = false;
+                for (Solution other : batch) {
+                    if (comparator.compare(solution, other) > 0) {
+                        dominated = true;
+                        break;
+                    }
+                }
+                if (!dominated) {
+                    expected.add(solution);
+                }
+            }
+
+            if (infeasibleRate > 0 || comparator instanceof SCDASComparator) {
+                //Assert that the fallback keeps a subset of the first front
+                Assert.assertTrue(expected.containsAll(actual));
+            } else {
+                //Assert that the first front is kept in batch order
+                Assert.assertEquals(expected, actual);
+            }
+        }
+    }
+
+    /**
+     * Returns random solutions near the unit sphere, some moved off it and some repeated.
+     */
+    private static Solution[] newBatch(Random random, int numberOfObjectives, int size, double infeasibleRate) {
+        Solution[] batch = new Solution[size];
+
+        for (int i = 0; i < size; i++) {
+            double[] objectives = nearFrontSolution(random, numberOfObjectives, 0.5, 1.0).getObjectives();
+            if (i > 0 && random.nextDouble() < 0.05) {
+                objectives = batch[random.nextInt(i)].getObjectives();
+            }
+
+            batch[i] = new Solution(0, numberOfObjectives, 1);
+            batch[i].setObjectives(objectives);
+            if (random.nextDouble() < infeasibleRate) {
+                batch[i].setConstraint(0, random.nextDouble());
+            }
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,147 @@
+package com.unilag.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.operator.real.PM;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Tests the {@link PolynomialMutation} class.
+ */
+public class PolynomialMutationTest {
+
+    /**
+     * The number of mutated values drawn from each operator.
+     */
+    private static final int SAMPLES = 20000;
+
+    /**
+     * The critical value of the two-sample Kolmogorov-Smirnov statistic at
+     * the 0.001 significance level, for samples of equal size.
+     */
+    private static final double CRITICAL_VALUE = 1.949 * Math.sqrt(2.0 / SAMPLES);
+
+    /**
+     * Tests that mutating in place draws the same numbers and gives the same values as {@link PM}
+     */
+    @Test
+    public void testInPlaceAgreesWithPM() {
+        Problem problem = new DTLZ2(3);
+        Random random = new Random(3);
+
+        for (int n = 0; n < 100; n++) {
+            Solution parent = problem.newSolution();
+            for (int j = 0; j < parent.getNumberOfVariables(); j++) {
+                EncodingUtils.setReal(parent.getVariable(j), n % 3 == 0 ? j % 2 : random.nextDouble());
+            }
+            Solution particle = parent.copy();
+
+            PRNG.setSeed(n);
+            Solution offspring = new PM(0.5, 20.0).evolve(new Solution[] {parent})[0];
+            double expectedNext = PRNG.nextDouble();
+
+            PRNG.setSeed(n);
+            PolynomialMutation.mutate(particle, 0.5, 20.0);
+            double actualNext = PRNG.nextDouble();
+
+            //Assert that the mutated values are identical
+            Assert.assertArrayEquals(EncodingUtils.getReal(offspring), EncodingUtils.getReal(particle), 0.0);
+
+            //Assert that the same numbers were drawn
+            Assert.assertEquals(expectedNext, actualNext, 0.0);
+        }
+    }
+
+    /**
+     * Tests with a two-sample Kolmogorov-Smirnov test that mutating from a
+     * particle stream follows the distribution of {@link PM}, for values in
+     * the middle and near the bounds of the variables
+     */
+    @Test
+    public void testStreamFollowsPMDistribution() {
+        SplittableRandom stream = new SplittableRandom(11);
+        PRNG.setSeed(12);
+
+        for (double distributionIndex : new double[] {5.0, 20.0}) {
+            for (double value : new double[] {0.0, 0.02, 0.5, 0.97}) {
+                double[] expected = samplePM(value, distributionIndex);
+                double[] actual = sampleStream(value, distributionIndex, stream);
+
+                //Assert that the samples are not distinguishable
+                Assert.assertTrue("value " + value + ", distribution index " + distributionIndex,
+                        kolmogorovSmirnov(expected, actual) < CRITICAL_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Tests that the Kolmogorov-Smirnov test tells distribution indices apart
+     */
+    @Test
+    public void testDistributionIndexIsDetected() {
+        PRNG.setSeed(13);
+        double[] expected = samplePM(0.5, 20.0);
+        double[] actual = sampleStream(0.5, 15.0, new SplittableRandom(14));
+
+        //Assert that the samples are distinguishable
+        Assert.assertTrue(kolmogorovSmirnov(expected, actual) > CRITICAL_VALUE);
+    }
+
+    private static double[] samplePM(double value, double distributionIndex) {
+        Solution parent = new DTLZ2(3).newSolution();
+        EncodingUtils.setReal(parent.getVariable(0), value);
+        PM pm = new PM(1.0, distributionIndex);
+
+        double[] samples = new double[SAMPLES];
+        for (int n = 0; n < SAMPLES; n++) {
+            samples[n] = EncodingUtils.getReal(pm.evolve(new Solution[] {parent})[0].getVariable(0));
+        }
+        return samples;
+    }
+
+    private static double[] sampleStream(double value, double distributionIndex, SplittableRandom stream) {
+        Solution particle = new DTLZ2(3).newSolution();
+
+        double[] samples = new double[SAMPLES];
+        for (int n = 0; n < SAMPLES; n++) {
+            EncodingUtils.setReal(particle.getVariable(0), value);
+            PolynomialMutation.mutate(particle, 1.0, distributionIndex, stream);
+            samples[n] = EncodingUtils.getReal(particle.getVariable(0));
+        }
+        return samples;
+    }
+
+    /**
+     * Returns the largest distance between the empirical distribution functions of two samples.
+     */
+    private static double kolmogorovSmirnov(double[] first, double[] second) {
+        double[] x = first.clone();
+        double[] y = second.clone();
+        Arrays.sort(x);
+        Arrays.sort(y);
+
+        double statistic = 0.0;
+        int i = 0;
+        int j = 0;
+        while (i < x.length && j < y.length) {
+            double value = Math.min(x[i], y[j]);
+            // step over every sample equal to the value, as the bounds are drawn repeatedly
+            while (i < x.length && x[i] == value) {
+                i++;
+            }
+            while (j < y.length && y[j] == value) {
+                j++;
+            }
+            statistic = Math.max(statistic, Math.abs((double) i / x.length - (double) j / y.length));
+        }
+        return statistic;
+    }
+}
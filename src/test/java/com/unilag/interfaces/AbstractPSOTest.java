@@ -0,0 +1,520 @@
+package com.unilag.interfaces;
+
+import com.unilag.algorithm.CSPSO;
+import com.unilag.spi.CustomAlgorithms;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.spi.ProviderNotFoundException;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Tests the parallel and asynchronous execution of the {@link AbstractPSO} class.
+ */
+public class AbstractPSOTest {
+
+    /**
+     * Tests that a seeded run gives the same result whatever the parallelism
+     */
+    @Test
+    public void testReproducibleParallelism() {
+        NondominatedPopulation expected = run(new ForkJoinExecution(new ForkJoinPool(1)));
+
+        for (int parallelism : new int[] {2, 4}) {
+            assertIdentical(expected, run(new ForkJoinExecution(new ForkJoinPool(parallelism))));
+        }
+    }
+
+    /**
+     * Tests that a seeded run gives the same result whatever the execution strategy
+     */
+    @Test
+    public void testReproducibleStrategies() {
+        NondominatedPopulation expected = run(new SequentialExecution());
+
+        assertIdentical(expected, run(new ForkJoinExecution(new ForkJoinPool(3))));
+
+        if (VirtualThreadExecution.isAvailable()) {
+            assertIdentical(expected, run(new VirtualThreadExecution()));
+        }
+    }
+
+    /**
+     * Tests that the virtual thread strategy is rejected on JVMs without virtual threads
+     */
+    @Test
+    public void testVirtualThreadsUnavailable() {
+        Assume.assumeFalse(VirtualThreadExecution.isAvailable());
+
+        try {
+            new VirtualThreadExecution();
+            Assert.fail("expected a FrameworkException");
+        } catch (FrameworkException e) {
+            //Assert that the strategy cannot be created
+        }
+    }
+
+    /**
+     * Tests that an exception thrown while running a particle reaches the caller
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testStrategyRethrows() {
+        new ForkJoinExecution(new ForkJoinPool(2)).forEach(8, i -> {
+            if (i == 5) {
+                throw new IllegalStateException();
+            }
+        });
+    }
+
+    /**
+     * Tests that each worker evaluates its own problem instance and that the evaluations are counted
+     */
+    @Test
+    public void testWorkerProblems() {
+        AtomicInteger instances = new AtomicInteger();
+        Set<GuardedDTLZ2> problems = Collections.synchronizedSet(
+                Collections.newSetFromMap(new IdentityHashMap<GuardedDTLZ2, Boolean>()));
+
+        PRNG.setSeed(99);
+        CSPSO algorithm = new CSPSO(new DTLZ2(3), 40, 40, 1.0 / 12, 20.0, 0.55);
+        algorithm.setParallelExecution(new ForkJoinPool(4), () -> {
+            instances.incrementAndGet();
+            GuardedDTLZ2 problem = new GuardedDTLZ2();
+            problems.add(problem);
+            return problem;
+        });
+
+        for (int step = 0; step < 10; step++) {
+            algorithm.step();
+        }
+
+        //Assert that every evaluation is counted
+        Assert.assertEquals(400, algorithm.getNumberOfEvaluations());
+
+        //Assert that no more instances than workers were created, and that none was used concurrently
+        Assert.assertTrue(instances.get() >= 1 && instances.get() <= 5);
+        int evaluations = 0;
+        for (GuardedDTLZ2 problem : problems) {
+            evaluations += problem.evaluations.get();
+        }
+        Assert.assertEquals(400, evaluations);
+
+        algorithm.terminate();
+
+        for (GuardedDTLZ2 problem : problems) {
+            //Assert that the worker problems are closed on termination
+            Assert.assertTrue(problem.closed);
+        }
+    }
+
+    /**
+     * Tests that worker problems are reused when every particle runs on a new thread
+     */
+    @Test
+    public void testWorkerProblemsThreadPerTask() {
+        AtomicInteger instances = new AtomicInteger();
+        Set<GuardedDTLZ2> problems = Collections.synchronizedSet(
+                Collections.newSetFromMap(new IdentityHashMap<GuardedDTLZ2, Boolean>()));
+
+        PRNG.setSeed(98);
+        CSPSO algorithm = new CSPSO(new DTLZ2(3), 40, 40, 1.0 / 12, 20.0, 0.55);
+        algorithm.setExecutionStrategy(new ThreadPerTaskExecution(), () -> {
+            instances.incrementAndGet();
+            GuardedDTLZ2 problem = new GuardedDTLZ2();
+            problems.add(problem);
+            return problem;
+        });
+
+        for (int step = 0; step < 10; step++) {
+            algorithm.step();
+        }
+
+        //Assert that every evaluation is counted and evaluated by a worker problem
+        Assert.assertEquals(400, algorithm.getNumberOfEvaluations());
+        int evaluations = 0;
+        for (GuardedDTLZ2 problem : problems) {
+            evaluations += problem.evaluations.get();
+        }
+        Assert.assertEquals(400, evaluations);
+
+        //Assert that no more instances than concurrent evaluations were created
+        Assert.assertTrue(instances.get() >= 1 && instances.get() <= 40);
+
+        algorithm.terminate();
+
+        for (GuardedDTLZ2 problem : problems) {
+            //Assert that the worker problems are closed on termination
+            Assert.assertTrue(problem.closed);
+        }
+    }
+
+    /**
+     * Tests that the pools created by a strategy or an algorithm are shut down on termination, unlike those of the caller
+     */
+    @Test
+    public void testOwnedPools() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        new ForkJoinExecution(pool).close();
+
+        //Assert that a pool supplied by the caller is left running
+        Assert.assertFalse(pool.isShutdown());
+        pool.shutdown();
+
+        Properties properties = new Properties();
+        properties.setProperty("populationSize", "20");
+        properties.setProperty("archiveSize", "20");
+        properties.setProperty("swarm.parallelism", "2");
+
+        CSPSO algorithm = (CSPSO) new CustomAlgorithms().getAlgorithm("CSPSO", properties, new DTLZ2(3));
+        algorithm.step();
+        algorithm.step();
+        algorithm.terminate();
+
+        //Assert that the pool created for the algorithm is shut down
+        Assert.assertTrue(algorithm.getPool().isShutdown());
+    }
+
+    /**
+     * Tests that invalid or conflicting swarm properties are rejected when the algorithm is created
+     */
+    @Test
+    public void testProviderRejectsSwarmProperties() {
+        String[][] rejected = {
+                {"swarm.layout", "rows"},
+                {"swarm.execution", "threads"},
+                {"swarm.asynchronous", "true", "swarm.execution", "forkjoin"},
+                {"swarm.pipelined", "true", "swarm.execution", "default"}
+        };
+
+        for (String[] settings : rejected) {
+            Properties properties = new Properties();
+            properties.setProperty("swarm.parallelism", "2");
+            properties.setProperty("sde.parallelism", "2");
+            for (int i = 0; i < settings.length; i += 2) {
+                properties.setProperty(settings[i], settings[i + 1]);
+            }
+
+            try {
+                new CustomAlgorithms().getAlgorithm("CSPSO", properties, new DTLZ2(3));
+                Assert.fail("expected a ProviderNotFoundException for " + properties);
+            } catch (ProviderNotFoundException e) {
+                //Assert that the properties are rejected when the algorithm is created
+            }
+        }
+    }
+
+    /**
+     * Tests that the workers share the problem by default, and that a problem not matching its instance created by
+     * name is rejected before the run
+     */
+    @Test
+    public void testProviderWorkerProblems() {
+        Properties properties = new Properties();
+        properties.setProperty("populationSize", "20");
+        properties.setProperty("archiveSize", "20");
+        properties.setProperty("swarm.execution", "sequential");
+
+        // DTLZ2 has 12 variables with 3 objectives unless told otherwise
+        CountingDTLZ2 problem = new CountingDTLZ2(5, -1, null);
+        CSPSO algorithm = (CSPSO) new CustomAlgorithms().getAlgorithm("CSPSO", properties, problem);
+        algorithm.step();
+        algorithm.step();
+
+        //Assert that the supplied problem evaluated the particles
+        Assert.assertEquals(40, problem.evaluations.get());
+        algorithm.terminate();
+
+        properties.setProperty("swarm.shareProblem", "false");
+
+        try {
+            new CustomAlgorithms().getAlgorithm("CSPSO", properties, new DTLZ2(5, 3));
+            Assert.fail("expected a ProviderNotFoundException");
+        } catch (ProviderNotFoundException e) {
+            //Assert that the problem is rejected when the algorithm is created
+        }
+    }
+
+    /**
+     * Tests that pipelined generations are reproducible and merge the last generation before a checkpoint
+     */
+    @Test
+    public void testPipelinedGenerations() throws Exception {
+        CSPSO sequential = runPipelined(new SequentialExecution());
+        CSPSO parallel = runPipelined(new ForkJoinExecution(new ForkJoinPool(3)));
+
+        //Assert that the evaluations are counted
+        Assert.assertEquals(1000, parallel.getNumberOfEvaluations());
+
+        //Assert that the result, including the pending generation, is the same for any strategy
+        assertIdentical(sequential.getResult(), parallel.getResult());
+
+        parallel.getState();
+
+        //Assert that the checkpoint merged the pending generation into the leaders
+        assertIdentical(new NondominatedPopulation(parallel.leaders), parallel.getResult());
+
+        sequential.terminate();
+        parallel.terminate();
+    }
+
+    /**
+     * Tests that a failing merge of the pending generation does not hide the failure of the workers
+     */
+    @Test
+    public void testPipelinedFailures() {
+        AtomicBoolean failing = new AtomicBoolean();
+        DTLZ2 problem = new DTLZ2(3) {
+            @Override
+            public void evaluate(Solution solution) {
+                if (failing.get()) {
+                    throw new IllegalStateException("evaluation failed");
+                }
+                super.evaluate(solution);
+            }
+        };
+        CSPSO algorithm = new CSPSO(problem, 20, 20, 1.0 / 12, 20.0, 0.55) {
+            @Override
+            protected void updateArchives(Solution[] solutions) {
+                if (failing.get()) {
+                    throw new IllegalArgumentException("merge failed");
+                }
+                super.updateArchives(solutions);
+            }
+        };
+        algorithm.setExecutionStrategy(new SequentialExecution(), null);
+        algorithm.setPipelinedGenerations(true);
+        algorithm.step();
+        algorithm.step();
+        failing.set(true);
+
+        try {
+            algorithm.step();
+            Assert.fail("expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            //Assert that the failure of the merge is attached to the failure of the workers
+            Assert.assertEquals(1, e.getSuppressed().length);
+            Assert.assertTrue(e.getSuppressed()[0] instanceof IllegalArgumentException);
+        }
+    }
+
+    private static CSPSO runPipelined(ExecutionStrategy execution) {
+        PRNG.setSeed(4321);
+        CSPSO algorithm = new CSPSO(new DTLZ2(3), 50, 50, 1.0 / 12, 20.0, 0.55);
+        algorithm.setExecutionStrategy(execution, () -> new DTLZ2(3));
+        algorithm.setPipelinedGenerations(true);
+
+        for (int step = 0; step < 20; step++) {
+            algorithm.step();
+        }
+        return algorithm;
+    }
+
+    /**
+     * Tests that asynchronous evaluation keeps moving the swarm while an evaluation is slow
+     */
+    @Test
+    public void testAsynchronousEvaluation() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch gate = new CountDownLatch(1);
+        // the first evaluation after initialization waits for the gate
+        CountingDTLZ2 problem = new CountingDTLZ2(41, gate);
+
+        PRNG.setSeed(7);
+        CSPSO algorithm = new CSPSO(problem, 40, 40, 1.0 / 12, 20.0, 0.55);
+        algorithm.setAsynchronousExecution(executor, null);
+
+        for (int step = 0; step < 201; step++) {
+            algorithm.step();
+        }
+
+        //Assert that the other particles were evaluated and counted while the slow one was pending
+        Assert.assertEquals(240, algorithm.getNumberOfEvaluations());
+        Assert.assertEquals(1, gate.getCount());
+        Assert.assertTrue(problem.evaluations.get() >= 241);
+
+        gate.countDown();
+        algorithm.terminate();
+
+        //Assert that the pending evaluation was merged on termination
+        Assert.assertEquals(problem.evaluations.get(), algorithm.getNumberOfEvaluations());
+        Assert.assertFalse(algorithm.getResult().isEmpty());
+
+        executor.shutdown();
+    }
+
+    /**
+     * Tests that an asynchronous run can be checkpointed and resumed
+     */
+    @Test
+    public void testAsynchronousCheckpoint() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountingDTLZ2 problem = new CountingDTLZ2(-1, null);
+
+        PRNG.setSeed(8);
+        CSPSO algorithm = new CSPSO(problem, 40, 40, 1.0 / 12, 20.0, 0.55);
+        algorithm.setAsynchronousExecution(executor, null);
+
+        while (algorithm.getNumberOfEvaluations() < 300) {
+            algorithm.step();
+        }
+
+        Serializable state = algorithm.getState();
+
+        //Assert that the checkpoint waited for the evaluations in progress
+        Assert.assertEquals(problem.evaluations.get(), algorithm.getNumberOfEvaluations());
+
+        CSPSO resumed = new CSPSO(problem, 40, 40, 1.0 / 12, 20.0, 0.55);
+        resumed.setAsynchronousExecution(executor, null);
+        resumed.setState(state);
+
+        //Assert that the resumed run holds the same leaders
+        Assert.assertEquals(algorithm.getResult().size(), resumed.getResult().size());
+
+        int evaluations = resumed.getNumberOfEvaluations();
+        for (int step = 0; step < 100; step++) {
+            resumed.step();
+        }
+
+        //Assert that the resumed run continues counting its evaluations
+        Assert.assertEquals(evaluations + 100, resumed.getNumberOfEvaluations());
+
+        resumed.terminate();
+        algorithm.terminate();
+        executor.shutdown();
+    }
+
+    private static void assertIdentical(NondominatedPopulation expected, NondominatedPopulation actual) {
+        //Assert that the leaders are identical
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals(EncodingUtils.getReal(expected.get(i)),
+                    EncodingUtils.getReal(actual.get(i)), 0.0);
+            Assert.assertArrayEquals(expected.get(i).getObjectives(), actual.get(i).getObjectives(), 0.0);
+        }
+    }
+
+    private NondominatedPopulation run(ExecutionStrategy execution) {
+        PRNG.setSeed(1234);
+        CSPSO algorithm = new CSPSO(new DTLZ2(3), 50, 50, 1.0 / 12, 20.0, 0.55);
+        algorithm.setExecutionStrategy(execution, () -> new DTLZ2(3));
+
+        while (algorithm.getNumberOfEvaluations() < 2000) {
+            algorithm.step();
+        }
+        return algorithm.getResult();
+    }
+
+    /**
+     * Runs every particle on a new thread, as a virtual thread per task
+     * executor does, without requiring Java 21.
+     */
+    private static class ThreadPerTaskExecution implements ExecutionStrategy {
+
+        @Override
+        public void forEach(int size, IntConsumer action) {
+            Thread[] threads = new Thread[size];
+            for (int i = 0; i < size; i++) {
+                int index = i;
+                threads[i] = new Thread(() -> action.accept(index));
+                threads[i].start();
+            }
+
+            try {
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FrameworkException(e);
+            }
+        }
+    }
+
+    /**
+     * A thread-safe DTLZ2 instance counting its evaluations, one of which may
+     * wait for a gate.
+     */
+    private static class CountingDTLZ2 extends DTLZ2 {
+
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        private final int gatedEvaluation;
+
+        private final CountDownLatch gate;
+
+        CountingDTLZ2(int gatedEvaluation, CountDownLatch gate) {
+            this(12, gatedEvaluation, gate);
+        }
+
+        CountingDTLZ2(int numberOfVariables, int gatedEvaluation, CountDownLatch gate) {
+            super(numberOfVariables, 3);
+            this.gatedEvaluation = gatedEvaluation;
+            this.gate = gate;
+        }
+
+        @Override
+        public void evaluate(Solution solution) {
+            if (evaluations.incrementAndGet() == gatedEvaluation) {
+                try {
+                    gate.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.evaluate(solution);
+        }
+    }
+
+    /**
+     * A DTLZ2 instance that fails when it is used by two threads at once.
+     */
+    private static class GuardedDTLZ2 extends DTLZ2 {
+
+        private final AtomicBoolean inUse = new AtomicBoolean();
+
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        private volatile boolean closed;
+
+        GuardedDTLZ2() {
+            super(3);
+        }
+
+        @Override
+        public void evaluate(Solution solution) {
+            if (!inUse.compareAndSet(false, true)) {
+                throw new IllegalStateException("problem used concurrently");
+            }
+            try {
+                evaluations.incrementAndGet();
+                super.evaluate(solution);
+            } finally {
+                inUse.set(false);
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.unilag.interfaces;
+
+import com.unilag.comparator.ShiftBasedDensityComparator;
+import com.unilag.comparator.WSumComparator;
+import com.unilag.fitness.ShiftBasedDensityEvaluator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.FitnessComparator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.unilag.interfaces.SumFitnessEvaluator.WSUM_FITNESS_ATTRIBUTE;
+import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
+
+/**
+ * Tests the {@link FitnessSolution} class.
+ */
+public class FitnessSolutionTest {
+
+    /**
+     * Tests that the fitness fields are read and written through the attribute methods
+     */
+    @Test
+    public void testAttributes() {
+        FitnessSolution solution = new FitnessSolution(new Solution(new double[] {1, 2}));
+
+        //Assert that no fitness is set
+        Assert.assertFalse(solution.hasAttribute(FITNESS_ATTRIBUTE));
+        Assert.assertNull(solution.getAttribute(FITNESS_ATTRIBUTE));
+
+        FitnessSolution.setFitness(solution, 3.5);
+        FitnessSolution.setWSumFitness(solution, -1.5);
+
+        //Assert that the fields are visible as attributes, and only copied to the map when asked for
+        Assert.assertTrue(solution.hasAttribute(FITNESS_ATTRIBUTE));
+        Assert.assertEquals(3.5, (Double) solution.getAttribute(FITNESS_ATTRIBUTE), 0.0);
+        Assert.assertEquals(-1.5, (Double) solution.getAttribute(WSUM_FITNESS_ATTRIBUTE), 0.0);
+        Assert.assertEquals(3.5, (Double) solution.getAttributes().get(FITNESS_ATTRIBUTE), 0.0);
+
+        solution.setAttribute(FITNESS_ATTRIBUTE, 4.5);
+
+        //Assert that an attribute set through the map is read from the field
+        Assert.assertEquals(4.5, FitnessSolution.getFitness(solution), 0.0);
+        Assert.assertEquals(4.5, (Double) solution.getAttributes().get(FITNESS_ATTRIBUTE), 0.0);
+
+        //Assert that removing the attribute clears the field
+        Assert.assertEquals(4.5, (Double) solution.removeAttribute(FITNESS_ATTRIBUTE), 0.0);
+        Assert.assertFalse(solution.hasAttribute(FITNESS_ATTRIBUTE));
+        Assert.assertNull(solution.getAttribute(FITNESS_ATTRIBUTE));
+
+        solution.clearAttributes();
+
+        //Assert that clearing the attributes clears the fields
+        Assert.assertFalse(solution.hasAttribute(WSUM_FITNESS_ATTRIBUTE));
+    }
+
+    /**
+     * Tests that attributes added from a map reach the fitness fields, and that other attributes stay in the map
+     */
+    @Test
+    public void testAddAttributes() {
+        FitnessSolution solution = new FitnessSolution(new Solution(new double[] {1, 2}));
+        FitnessSolution.setFitness(solution, 1.0);
+        FitnessSolution.setWSumFitness(solution, 2.0);
+
+        Map<String, Object> attributes = new HashMap<String, Object>();
+        attributes.put(FITNESS_ATTRIBUTE, 5.0);
+        attributes.put(WSUM_FITNESS_ATTRIBUTE, 6.0);
+        attributes.put("other", 7);
+        solution.addAttributes(attributes);
+
+        //Assert that the added fitness values replace those of the fields
+        Assert.assertEquals(5.0, FitnessSolution.getFitness(solution), 0.0);
+        Assert.assertEquals(6.0, FitnessSolution.getWSumFitness(solution), 0.0);
+        Assert.assertEquals(5.0, (Double) solution.getAttribute(FITNESS_ATTRIBUTE), 0.0);
+
+        //Assert that other attributes are set and removed in the map
+        Assert.assertEquals(7, solution.getAttribute("other"));
+        Assert.assertEquals(7, solution.setAttribute("other", 8));
+        Assert.assertEquals(8, solution.removeAttribute("other"));
+        Assert.assertFalse(solution.hasAttribute("other"));
+    }
+
+    /**
+     * Tests that copies hold the fitness of the original solution
+     */
+    @Test
+    public void testCopy() {
+        Solution plain = new Solution(new double[] {1, 2});
+        plain.setAttribute(FITNESS_ATTRIBUTE, 2.0);
+
+        FitnessSolution solution = new FitnessSolution(plain);
+
+        //Assert that the attributes of a plain solution are copied
+        Assert.assertEquals(2.0, FitnessSolution.getFitness(solution), 0.0);
+
+        FitnessSolution.setWSumFitness(solution, 7.0);
+        FitnessSolution copy = solution.copy();
+        FitnessSolution.setFitness(solution, 3.0);
+
+        //Assert that the copy holds the values at the time of the copy
+        Assert.assertEquals(2.0, FitnessSolution.getFitness(copy), 0.0);
+        Assert.assertEquals(7.0, FitnessSolution.getWSumFitness(copy), 0.0);
+        Assert.assertArrayEquals(solution.getObjectives(), copy.getObjectives(), 0.0);
+    }
+
+    /**
+     * Tests that evaluators and comparators give the same order to fitness and plain solutions
+     */
+    @Test
+    public void testComparatorsAgree() {
+        Population plain = new Population();
+        Population fitness = new Population();
+        double[][] objectives = {{10, 17}, {1, 18}, {11, 6}, {18, 2}};
+
+        for (double[] objective : objectives) {
+            plain.add(new Solution(objective));
+            fitness.add(new FitnessSolution(new Solution(objective)));
+        }
+
+        new ShiftBasedDensityEvaluator().evaluate(plain);
+        new ShiftBasedDensityEvaluator().evaluate(fitness);
+
+        for (int i = 0; i < objectives.length; i++) {
+            //Assert that the plain solution holds its density in the map and the fitness solution in its field
+            Assert.assertTrue(plain.get(i).getAttributes().containsKey(FITNESS_ATTRIBUTE));
+            Assert.assertEquals(FitnessSolution.getFitness(plain.get(i)), FitnessSolution.getFitness(fitness.get(i)), 0.0);
+
+            FitnessSolution.setWSumFitness(plain.get(i), objectives[i][0]);
+            FitnessSolution.setWSumFitness(fitness.get(i), objectives[i][0]);
+        }
+
+        for (int i = 0; i < objectives.length; i++) {
+            for (int j = 0; j < objectives.length; j++) {
+                //Assert that the comparators agree with the MOEA Framework comparator
+                Assert.assertEquals(new FitnessComparator(true).compare(plain.get(i), plain.get(j)),
+                        new ShiftBasedDensityComparator(true).compare(fitness.get(i), fitness.get(j)));
+                Assert.assertEquals(new FitnessComparator(true).compare(fitness.get(i), fitness.get(j)),
+                        new ShiftBasedDensityComparator(true).compare(fitness.get(i), fitness.get(j)));
+                Assert.assertEquals(new WSumComparator(false).compare(plain.get(i), plain.get(j)),
+                        new WSumComparator(false).compare(fitness.get(i), fitness.get(j)));
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.unilag.interfaces;
+
+import com.unilag.comparator.ShiftBasedDensityComparator;
+import com.unilag.fitness.DoubleComparatorArchive;
+import com.unilag.fitness.ShiftBasedDensityEvaluator;
+import com.unilag.fitness.WSumFitnessEvaluator;
+import com.unilag.fitness.WSumScoringKernel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.unilag.TestSolutions.frontSolution;
+
+/**
+ * Tests the {@link LeaderSnapshot} class and its publication by the
+ * {@link DoubleComparatorArchive}.
+ */
+public class LeaderSnapshotTest {
+
+    /**
+     * Tests that a snapshot is published on commit only, and is left unchanged by later modifications
+     */
+    @Test
+    public void testPublishedOnCommit() {
+        DoubleComparatorArchive archive = newArchive(3);
+        archive.add(new Solution(new double[] {10, 17}));
+        archive.add(new Solution(new double[] {1, 18}));
+
+        //Assert that nothing is published before the first commit
+        Assert.assertSame(LeaderSnapshot.EMPTY, archive.getSnapshot());
+
+        archive.update();
+        LeaderSnapshot snapshot = archive.getSnapshot();
+
+        //Assert that the snapshot holds the leaders in order
+        assertMatches(archive, snapshot);
+        Assert.assertEquals(archive.getModifications(), snapshot.getVersion());
+
+        archive.update();
+
+        //Assert that a commit without modifications publishes nothing
+        Assert.assertSame(snapshot, archive.getSnapshot());
+
+        archive.add(new Solution(new double[] {11, 6}));
+        archive.add(new Solution(new double[] {18, 2}));
+
+        //Assert that the additions and the truncation are not published before the commit
+        Assert.assertSame(snapshot, archive.getSnapshot());
+        Assert.assertEquals(2, snapshot.size());
+        Assert.assertEquals(1.0, snapshot.getObjective(1, 0), 0.0);
+
+        archive.update();
+
+        //Assert that the commit publishes the truncated archive
+        Assert.assertNotSame(snapshot, archive.getSnapshot());
+        assertMatches(archive, archive.getSnapshot());
+    }
+
+    /**
+     * Tests that the snapshot scores leaders as the {@link WSumScoringKernel} and the {@link WSumFitnessEvaluator} do
+     */
+    @Test
+    public void testScoreMatchesWeightedSum() {
+        Random random = new Random(5);
+        DoubleComparatorArchive archive = newArchive(50);
+        for (int n = 0; n < 200; n++) {
+            archive.add(frontSolution(random, 3));
+        }
+        archive.update();
+
+        LeaderSnapshot snapshot = archive.getSnapshot();
+        WSumScoringKernel kernel = new WSumScoringKernel();
+        kernel.load(archive);
+
+        Solution particle = new Solution(new double[] {0.3, 1.2, 0.7});
+        double[] packed = {9.0, 0.3, 1.2, 0.7};
+
+        for (int k = 0; k < snapshot.size(); k++) {
+            //Assert that the scores are bit-identical
+            Assert.assertEquals(kernel.score(k, particle), snapshot.score(k, particle), 0.0);
+            Assert.assertEquals(WSumFitnessEvaluator.weightedSum(archive.get(k), particle),
+                    snapshot.score(k, particle), 0.0);
+            Assert.assertEquals(snapshot.score(k, particle), snapshot.score(k, packed, 1), 0.0);
+        }
+
+        double[] particles = {0.3, 1.2, 0.7, 1.1, 0.2, 0.4};
+        int[] samples = new int[6];
+        for (int s = 0; s < samples.length; s++) {
+            samples[s] = random.nextInt(snapshot.size());
+        }
+        double[] scores = new double[6];
+        snapshot.scoreSampled(particles, 2, samples, 3, scores);
+
+        for (int s = 0; s < samples.length; s++) {
+            //Assert that the sampled leaders of each particle are scored against that particle
+            Assert.assertEquals(snapshot.score(samples[s], particles, s / 3 * 3), scores[s], 0.0);
+        }
+    }
+
+    /**
+     * Tests that readers sampling leaders while a single writer merges solutions always see a consistent archive
+     */
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        DoubleComparatorArchive archive = newArchive(20);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        List<Thread> readers = new ArrayList<Thread>();
+        for (int r = 0; r < 4; r++) {
+            Random random = new Random(r);
+            readers.add(new Thread(() -> {
+                try {
+                    long version = -1;
+                    while (!done.get()) {
+                        LeaderSnapshot snapshot = archive.getSnapshot();
+
+                        //Assert that the versions seen by a reader never decrease
+                        Assert.assertTrue(snapshot.getVersion() >= version);
+                        version = snapshot.getVersion();
+
+                        //Assert that the snapshot is within capacity and agrees with its leaders
+                        Assert.assertTrue(snapshot.size() <= 20);
+                        for (int k = 0; k < snapshot.size(); k++) {
+                            for (int j = 0; j < snapshot.getNumberOfObjectives(); j++) {
+                                Assert.assertEquals(snapshot.get(k).getObjective(j), snapshot.getObjective(k, j), 0.0);
+                            }
+                        }
+                        if (snapshot.size() > 0) {
+                            snapshot.score(random.nextInt(snapshot.size()), snapshot.get(0));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+
+        for (Thread reader : readers) {
+            reader.start();
+        }
+
+        Random random = new Random(7);
+        for (int n = 0; n < 2000; n++) {
+            archive.add(frontSolution(random, 3));
+            if (n % 10 == 9) {
+                archive.update();
+            }
+        }
+        archive.update();
+        done.set(true);
+
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        //Assert that no reader failed
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+
+        //Assert that the last commit is published
+        assertMatches(archive, archive.getSnapshot());
+    }
+
+    private static DoubleComparatorArchive newArchive(int capacity) {
+        return new DoubleComparatorArchive(new ShiftBasedDensityEvaluator(), capacity,
+                new ParetoDominanceComparator(), new ShiftBasedDensityComparator(true));
+    }
+
+    private static void assertMatches(DoubleComparatorArchive archive, LeaderSnapshot snapshot) {
+        Assert.assertEquals(archive.size(), snapshot.size());
+        for (int k = 0; k < archive.size(); k++) {
+            Assert.assertSame(archive.get(k), snapshot.get(k));
+            for (int j = 0; j < snapshot.getNumberOfObjectives(); j++) {
+                Assert.assertEquals(archive.get(k).getObjective(j), snapshot.getObjective(k, j), 0.0);
+            }
+        }
+    }
+}
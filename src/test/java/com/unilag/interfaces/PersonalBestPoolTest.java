@@ -0,0 +1,105 @@
+package com.unilag.interfaces;
+
+import com.unilag.fitness.DoubleComparatorArchive;
+import com.unilag.fitness.WSumFitnessEvaluator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Solution;
+
+import java.util.Random;
+
+/**
+ * Tests the {@link PersonalBestPool} class.
+ */
+public class PersonalBestPoolTest {
+
+    /**
+     * Tests that each archive of the pool holds and selects the same solutions as a weighted sum archive
+     */
+    @Test
+    public void testMatchesDoubleComparatorArchive() {
+        Random random = new Random(5);
+        int swarmSize = 6;
+
+        for (int numberOfObjectives = 2; numberOfObjectives <= 4; numberOfObjectives++) {
+            PersonalBestPool pool = new PersonalBestPool(swarmSize, PersonalBestPool.DEFAULT_CAPACITY, numberOfObjectives);
+            DoubleComparatorArchive[] archives = new DoubleComparatorArchive[swarmSize];
+
+            for (int i = 0; i < swarmSize; i++) {
+                Solution reference = newSolution(random, numberOfObjectives);
+                pool.reset(i, reference);
+                archives[i] = new DoubleComparatorArchive(new WSumFitnessEvaluator(reference), PersonalBestPool.DEFAULT_CAPACITY);
+            }
+
+            Solution previous = newSolution(random, numberOfObjectives);
+            for (int step = 0; step < 2000; step++) {
+                int i = random.nextInt(swarmSize);
+                // repeat solutions now and then to exercise duplicates
+                Solution solution = random.nextInt(10) == 0 ? previous.copy() : newSolution(random, numberOfObjectives);
+                previous = solution;
+
+                //Assert that the same solutions are accepted
+                Assert.assertEquals(archives[i].add(solution), pool.add(i, solution));
+
+                //Assert that the archives hold the same solutions in the same order
+                Assert.assertEquals(archives[i].size(), pool.size(i));
+                for (int k = 0; k < pool.size(i); k++) {
+                    Assert.assertSame(archives[i].get(k), pool.get(i, k));
+                }
+
+                //Assert that the same personal best is selected
+                Assert.assertSame(archives[i].getBest(), pool.getBest(i));
+            }
+        }
+    }
+
+    /**
+     * Tests that resetting an archive empties it and changes its reference particle
+     */
+    @Test
+    public void testReset() {
+        PersonalBestPool pool = new PersonalBestPool(2, 3, 2);
+        pool.reset(0, new Solution(new double[] {1, 0}));
+        pool.reset(1, new Solution(new double[] {1, 0}));
+
+        Solution first = new Solution(new double[] {1, 3});
+        Solution second = new Solution(new double[] {3, 1});
+        pool.add(0, first);
+        pool.add(0, second);
+        pool.add(1, first);
+
+        //Assert that the weighted sum follows the reference particle
+        Assert.assertEquals(0.25, pool.getFitness(0, 0), 1e-12);
+        Assert.assertEquals(0.75, pool.getFitness(0, 1), 1e-12);
+
+        pool.reset(0, new Solution(new double[] {0, 1}));
+
+        //Assert that only the reset archive was emptied
+        Assert.assertEquals(0, pool.size(0));
+        Assert.assertEquals(1, pool.size(1));
+
+        pool.add(0, first);
+
+        //Assert that the new reference particle is used
+        Assert.assertEquals(0.75, pool.getFitness(0, 0), 1e-12);
+    }
+
+    /**
+     * Tests that the personal best of an empty archive cannot be selected
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testEmptyArchive() {
+        PersonalBestPool pool = new PersonalBestPool(1, 5, 2);
+        pool.reset(0, new Solution(new double[] {1, 1}));
+        pool.getBest(0);
+    }
+
+    private static Solution newSolution(Random random, int numberOfObjectives) {
+        double[] objectives = new double[numberOfObjectives];
+        for (int j = 0; j < numberOfObjectives; j++) {
+            // coarse values, so that weighted sums tie and solutions dominate one another
+            objectives[j] = 0.1 + random.nextInt(6);
+        }
+        return new Solution(objectives);
+    }
+}
@@ -0,0 +1,90 @@
+package com.unilag.interfaces;
+
+import com.unilag.algorithm.CSPSO;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.operator.real.PM;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+import java.util.Random;
+
+/**
+ * Tests the {@link SwarmState} class.
+ */
+public class SwarmStateTest {
+
+    /**
+     * Tests that mutating the swarm state draws the same numbers and gives the same values as {@link PM}
+     */
+    @Test
+    public void testMutateAgreesWithPM() {
+        Problem problem = new DTLZ2(3);
+        SwarmState swarmState = new SwarmState(1, problem.newSolution());
+        Random random = new Random(5);
+
+        for (int n = 0; n < 100; n++) {
+            Solution parent = problem.newSolution();
+            for (int j = 0; j < parent.getNumberOfVariables(); j++) {
+                // include values on the bounds
+                double value = n % 3 == 0 ? j % 2 : random.nextDouble();
+                EncodingUtils.setReal(parent.getVariable(j), value);
+            }
+            swarmState.load(0, parent);
+
+            PRNG.setSeed(n);
+            Solution offspring = new PM(0.5, 20.0).evolve(new Solution[] {parent})[0];
+            double expectedNext = PRNG.nextDouble();
+
+            PRNG.setSeed(n);
+            swarmState.mutate(0, 0.5, 20.0);
+            double actualNext = PRNG.nextDouble();
+
+            for (int j = 0; j < parent.getNumberOfVariables(); j++) {
+                //Assert that the mutated values are identical
+                Assert.assertEquals(EncodingUtils.getReal(offspring.getVariable(j)), swarmState.getPosition(0, j), 0.0);
+            }
+
+            //Assert that the same numbers were drawn
+            Assert.assertEquals(expectedNext, actualNext, 0.0);
+        }
+    }
+
+    /**
+     * Tests that {@link CSPSO} follows the same trajectory with and without the swarm state
+     */
+    @Test
+    public void testIdenticalTrajectories() {
+        CSPSO objects = run(false);
+        CSPSO arrays = run(true);
+
+        //Assert that the same number of evaluations took place
+        Assert.assertEquals(objects.getNumberOfEvaluations(), arrays.getNumberOfEvaluations());
+
+        //Assert that the leaders are identical
+        Assert.assertEquals(objects.getResult().size(), arrays.getResult().size());
+
+        for (int i = 0; i < objects.getResult().size(); i++) {
+            Solution expected = objects.getResult().get(i);
+            Solution actual = arrays.getResult().get(i);
+
+            //Assert that the leaders are identical
+            Assert.assertArrayEquals(EncodingUtils.getReal(expected), EncodingUtils.getReal(actual), 0.0);
+            Assert.assertArrayEquals(expected.getObjectives(), actual.getObjectives(), 0.0);
+        }
+    }
+
+    private CSPSO run(boolean swarmStateEnabled) {
+        PRNG.setSeed(1234);
+        CSPSO algorithm = new CSPSO(new DTLZ2(3), 50, 50, 1.0 / 12, 20.0, 0.55);
+        algorithm.setSwarmStateEnabled(swarmStateEnabled);
+
+        while (algorithm.getNumberOfEvaluations() < 2000) {
+            algorithm.step();
+        }
+        return algorithm;
+    }
+}